@@ -0,0 +1,71 @@
+package com.r4intellij.debugger.executor;
+
+import com.r4intellij.debugger.exception.RDebuggerException;
+import com.r4intellij.debugger.mock.RTranscriptExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.r4intellij.debugger.data.RCommands.EXECUTE_AND_STEP_COMMAND;
+import static com.r4intellij.debugger.data.RLanguageConstants.LINE_SEPARATOR;
+import static com.r4intellij.debugger.data.RResponseConstants.DEBUG_AT_LINE_PREFIX;
+
+/**
+ * Classification of large outputs: a printed value and a step which prints before stopping at the next statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RExecutionResultCalculatorBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int lines;
+
+    private String myOutput;
+
+    private RExecutor myExecutor;
+
+
+    @Setup
+    public void setUp() {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < lines; i++) {
+            if (i != 0) {
+                sb.append(LINE_SEPARATOR);
+            }
+
+            sb.append("[").append(i * 10 + 1).append("] ").append(i).append(" 0.5 \"abc\" TRUE NA");
+        }
+
+        myOutput = sb.toString();
+
+        myExecutor = new RTranscriptExecutor() {
+            @NotNull
+            @Override
+            protected String respond(@NotNull final String command) {
+                if (command.equals(EXECUTE_AND_STEP_COMMAND)) {
+                    return myOutput + LINE_SEPARATOR + DEBUG_AT_LINE_PREFIX + "3: x <- c(1)";
+                }
+
+                return myOutput;
+            }
+        };
+    }
+
+
+    @Benchmark
+    public RExecutionResult response() throws RDebuggerException {
+        return myExecutor.execute("print(x)");
+    }
+
+
+    @Benchmark
+    public RExecutionResult debugAt() throws RDebuggerException {
+        return myExecutor.execute(EXECUTE_AND_STEP_COMMAND);
+    }
+}
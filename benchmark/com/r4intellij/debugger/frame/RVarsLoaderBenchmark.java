@@ -0,0 +1,111 @@
+package com.r4intellij.debugger.frame;
+
+import com.r4intellij.debugger.exception.RDebuggerException;
+import com.r4intellij.debugger.mock.IllegalRValueModifier;
+import com.r4intellij.debugger.mock.RTranscriptExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.r4intellij.debugger.data.RCommands.elementsCommand;
+import static com.r4intellij.debugger.data.RCommands.frameVarExpression;
+import static com.r4intellij.debugger.data.RLanguageConstants.LINE_SEPARATOR;
+
+/**
+ * Loading of frames with many variables and paging through the elements of a large vector.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RVarsLoaderBenchmark {
+
+    private static final int MAX_VALUE_LENGTH = 1024;
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10", "1000", "10000"})
+    public int vars;
+
+    private RVarsLoader myLoader;
+
+    private RVar myVector;
+
+
+    @Setup
+    public void setUp() throws RDebuggerException {
+        final String frame = calculateFrame(vars);
+        final String page = calculatePage(PAGE_SIZE);
+        final String pageCommand = elementsCommand(1, frameVarExpression("v"), 0, PAGE_SIZE, MAX_VALUE_LENGTH);
+
+        myLoader = new RVarsLoaderImpl(
+                new RTranscriptExecutor() {
+                    @NotNull
+                    @Override
+                    protected String respond(@NotNull final String command) {
+                        return command.equals(pageCommand) ? page : frame;
+                    }
+                },
+                RTranscriptExecutor.NULL_RECEIVER,
+                new IllegalRValueModifier(),
+                1,
+                MAX_VALUE_LENGTH
+        );
+
+        myVector = myLoader.load().get(0);
+    }
+
+
+    @Benchmark
+    public List<RVar> load() throws RDebuggerException {
+        return myLoader.load();
+    }
+
+
+    @Benchmark
+    public List<RVar> loadElements() throws RDebuggerException {
+        return myLoader.loadElements(myVector, 0, PAGE_SIZE);
+    }
+
+
+    // records of frameVarsCommand: name, type, size, class, dim, length, is value loaded, value
+    @NotNull
+    private static String calculateFrame(final int count) {
+        final StringBuilder sb = new StringBuilder();
+
+        sb.append("v\tdouble\t8000048\tnumeric\t1000000\t1000000\t0\t");
+
+        for (int i = 1; i < count; i++) {
+            sb.append(LINE_SEPARATOR);
+
+            if (i % 2 == 0) {
+                sb.append("x").append(i).append("\tinteger\t64\tinteger\t3\t3\t1\t[1] 1 2 3");
+            } else {
+                sb.append("f").append(i).append("\tclosure\t4504\tfunction\t1\t0\t1\tfunction(x) {\\n    x ^ 2\\n}");
+            }
+        }
+
+        return sb.toString();
+    }
+
+
+    // records of elementsCommand are prefixed by the accessor
+    @NotNull
+    private static String calculatePage(final int count) {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int i = 1; i <= count; i++) {
+            if (i != 1) {
+                sb.append(LINE_SEPARATOR);
+            }
+
+            sb.append("[[").append(i).append("]]\t[[").append(i).append("]]\tdouble\t56\tnumeric\t1\t0\t1\t[1] ").append(i * 0.5);
+        }
+
+        return sb.toString();
+    }
+}
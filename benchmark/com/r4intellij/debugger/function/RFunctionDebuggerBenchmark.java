@@ -0,0 +1,83 @@
+package com.r4intellij.debugger.function;
+
+import com.r4intellij.debugger.exception.RDebuggerException;
+import com.r4intellij.debugger.mock.IllegalRFunctionDebuggerHandler;
+import com.r4intellij.debugger.mock.MockRFunctionDebuggerFactory;
+import com.r4intellij.debugger.mock.RTranscriptExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.r4intellij.debugger.data.RCommands.EXECUTE_AND_STEP_COMMAND;
+import static com.r4intellij.debugger.data.RCommands.TRACE_AND_DEBUG_FUNCTIONS_COMMAND;
+import static com.r4intellij.debugger.data.RLanguageConstants.LINE_SEPARATOR;
+import static com.r4intellij.debugger.data.RResponseConstants.DEBUG_AT_LINE_PREFIX;
+
+/**
+ * Stepping over the statements of a braced function, each step prints <code>outputLines</code> lines. A step consists
+ * of the step itself and of the instrumentation of the functions of the frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RFunctionDebuggerBenchmark {
+
+    private static final int STATEMENTS = 100;
+
+    @Param({"0", "100"})
+    public int outputLines;
+
+    private RFunctionDebugger myDebugger;
+
+
+    @Setup
+    public void setUp() throws RDebuggerException {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < outputLines; i++) {
+            sb.append("[1] \"step ").append(i).append("\"").append(LINE_SEPARATOR);
+        }
+
+        final String output = sb.toString();
+
+        myDebugger = new RBraceFunctionDebugger(
+                new RTranscriptExecutor() {
+
+                    private int myStatement = 0;
+
+
+                    @NotNull
+                    @Override
+                    protected String respond(@NotNull final String command) {
+                        if (command.equals(EXECUTE_AND_STEP_COMMAND)) {
+                            myStatement = myStatement % STATEMENTS + 1;
+
+                            return output + DEBUG_AT_LINE_PREFIX + (myStatement + 1) + ": x" + myStatement + " <- " + myStatement;
+                        }
+
+                        if (command.equals(TRACE_AND_DEBUG_FUNCTIONS_COMMAND)) {
+                            return "[1] 0";
+                        }
+
+                        throw new IllegalStateException("Unexpected command: " + command);
+                    }
+                },
+                new MockRFunctionDebuggerFactory(null),
+                new IllegalRFunctionDebuggerHandler(),
+                RTranscriptExecutor.NULL_RECEIVER,
+                "f"
+        );
+    }
+
+
+    @Benchmark
+    public int step() throws RDebuggerException {
+        myDebugger.advance();
+
+        return myDebugger.getLocation().getLine();
+    }
+}
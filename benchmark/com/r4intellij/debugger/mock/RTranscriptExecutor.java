@@ -0,0 +1,78 @@
+package com.r4intellij.debugger.mock;
+
+import com.r4intellij.debugger.ROutputReceiver;
+import com.r4intellij.debugger.exception.RDebuggerException;
+import com.r4intellij.debugger.executor.RExecutionResult;
+import com.r4intellij.debugger.executor.RExecutionResultCalculator;
+import com.r4intellij.debugger.executor.RExecutionResultCalculatorImpl;
+import com.r4intellij.debugger.executor.RExecutor;
+import com.r4intellij.debugger.executor.ROutputBuffer;
+import org.jetbrains.annotations.NotNull;
+
+import static com.r4intellij.debugger.data.RLanguageConstants.LINE_SEPARATOR;
+import static com.r4intellij.debugger.data.RResponseConstants.BROWSE_PREFIX;
+import static com.r4intellij.debugger.data.RResponseConstants.BROWSE_SUFFIX;
+
+/**
+ * Replays a transcript of the interpreter. The response to a command is wrapped into the echoed command and the prompt
+ * the way the interpreter prints them, appended to an {@link ROutputBuffer} in chunks and passed through
+ * {@link RExecutionResultCalculatorImpl}, so that the whole way of a response except for the process is measured.
+ */
+public abstract class RTranscriptExecutor implements RExecutor {
+
+    @NotNull
+    public static final ROutputReceiver NULL_RECEIVER = new ROutputReceiver() {
+        @Override
+        public void receiveOutput(@NotNull final String output) {
+        }
+
+
+        @Override
+        public void receiveError(@NotNull final String error) {
+        }
+    };
+
+    // size of the chunks which are read from the process at once
+    private static final int CHUNK_SIZE = 8192;
+
+    @NotNull
+    private static final String PROMPT = BROWSE_PREFIX + "2" + BROWSE_SUFFIX;
+
+    @NotNull
+    private final RExecutionResultCalculator myCalculator;
+
+    @NotNull
+    private final ROutputBuffer myBuffer;
+
+
+    public RTranscriptExecutor() {
+        myCalculator = new RExecutionResultCalculatorImpl();
+        myBuffer = new ROutputBuffer();
+    }
+
+
+    @NotNull
+    @Override
+    public RExecutionResult execute(@NotNull final String command) throws RDebuggerException {
+        final String transcript = command + LINE_SEPARATOR + respond(command) + LINE_SEPARATOR + PROMPT;
+
+        myBuffer.clear();
+
+        for (int i = 0; i < transcript.length(); i += CHUNK_SIZE) {
+            myBuffer.append(transcript.subSequence(i, Math.min(transcript.length(), i + CHUNK_SIZE)));
+        }
+
+        if (!myCalculator.isComplete(myBuffer)) {
+            throw new IllegalStateException("Transcript is incomplete");
+        }
+
+        return myCalculator.calculate(myBuffer, "");
+    }
+
+
+    /**
+     * @return output of the command between the echoed command and the prompt
+     */
+    @NotNull
+    protected abstract String respond(@NotNull final String command);
+}
@@ -0,0 +1,104 @@
+package com.r4intellij.lexer;
+
+import com.intellij.lexer.Lexer;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lexing throughput over the skeletons of the test data. The corpus is cut to one megabyte, so the score is the
+ * throughput in MB/s. Restarting lexes the corpus from its first token within brackets with the state reported for it,
+ * as the editor highlighter does after an edit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RLexerBenchmark {
+
+    private static final String SKELETONS_PATH = System.getProperty("user.dir") + "/testData/r_skeletons";
+
+    private static final int CORPUS_SIZE = 1 << 20;
+
+    private String myCorpus;
+
+    private Lexer myLexer;
+
+    private int myRestartOffset;
+
+    private int myRestartState;
+
+
+    @Setup
+    public void setUp() throws IOException {
+        myCorpus = calculateCorpus();
+        myLexer = new RLexer();
+
+        myLexer.start(myCorpus);
+
+        while (myLexer.getTokenType() != null && myLexer.getState() == 0) {
+            myLexer.advance();
+        }
+
+        myRestartOffset = myLexer.getTokenStart();
+        myRestartState = myLexer.getState();
+    }
+
+
+    @Benchmark
+    public int lex() {
+        myLexer.start(myCorpus);
+
+        return countTokens();
+    }
+
+
+    @Benchmark
+    public int restart() {
+        myLexer.start(myCorpus, myRestartOffset, myCorpus.length(), myRestartState);
+
+        return countTokens();
+    }
+
+
+    private int countTokens() {
+        int tokens = 0;
+
+        while (myLexer.getTokenType() != null) {
+            tokens++;
+            myLexer.advance();
+        }
+
+        return tokens;
+    }
+
+
+    @NotNull
+    private static String calculateCorpus() throws IOException {
+        final File[] skeletons = new File(SKELETONS_PATH).listFiles((dir, name) -> name.endsWith(".R"));
+
+        if (skeletons == null || skeletons.length == 0) {
+            throw new IOException("No skeletons in " + SKELETONS_PATH);
+        }
+
+        Arrays.sort(skeletons);
+
+        final StringBuilder sb = new StringBuilder(CORPUS_SIZE);
+
+        while (sb.length() < CORPUS_SIZE) {
+            for (File skeleton : skeletons) {
+                sb.append(new String(Files.readAllBytes(skeleton.toPath()), StandardCharsets.UTF_8)).append('\n');
+            }
+        }
+
+        return sb.substring(0, CORPUS_SIZE);
+    }
+}
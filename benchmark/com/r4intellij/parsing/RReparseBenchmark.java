@@ -0,0 +1,125 @@
+package com.r4intellij.parsing;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture;
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory;
+import com.r4intellij.RFileType;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of typing into large scripts: each edit inserts and deletes a character and commits the document after both
+ * changes. Edits within a function body reparse just its block, edits between the functions reparse the file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RReparseBenchmark {
+
+    private static final int FUNCTION_LINES = 20;
+
+    @Param({"1000", "5000"})
+    public int lines;
+
+    private CodeInsightTestFixture myFixture;
+
+    private Document myDocument;
+
+    private int myBlockOffset;
+
+    private int myTopLevelOffset;
+
+
+    @Setup
+    public void setUp() throws Exception {
+        final IdeaTestFixtureFactory factory = IdeaTestFixtureFactory.getFixtureFactory();
+
+        myFixture = factory.createCodeInsightFixture(
+                factory.createLightFixtureBuilder(LightProjectDescriptor.EMPTY_PROJECT_DESCRIPTOR).getFixture()
+        );
+
+        EdtTestUtil.runInEdtAndWait(() -> {
+            myFixture.setUp();
+
+            final PsiFile file = myFixture.configureByText(RFileType.INSTANCE, calculateScript(lines));
+
+            // expand all blocks, as they would be after the first highlighting pass
+            file.accept(new PsiRecursiveElementWalkingVisitor() {
+            });
+        });
+
+        myDocument = myFixture.getEditor().getDocument();
+
+        final String text = myDocument.getText();
+        final int middle = text.length() / 2;
+
+        myBlockOffset = text.indexOf("y <- x", middle);
+        myTopLevelOffset = text.indexOf("\n\n", middle) + 2;
+    }
+
+
+    @TearDown
+    public void tearDown() throws Exception {
+        EdtTestUtil.runInEdtAndWait(() -> myFixture.tearDown());
+    }
+
+
+    @Benchmark
+    public void typeInFunctionBody() {
+        type(myBlockOffset);
+    }
+
+
+    @Benchmark
+    public void typeAtTopLevel() {
+        type(myTopLevelOffset);
+    }
+
+
+    private void type(final int offset) {
+        final Project project = myFixture.getProject();
+        final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(project);
+
+        EdtTestUtil.runInEdtAndWait(() -> WriteCommandAction.runWriteCommandAction(project, () -> {
+            myDocument.insertString(offset, "z");
+            documentManager.commitDocument(myDocument);
+
+            myDocument.deleteString(offset, offset + 1);
+            documentManager.commitDocument(myDocument);
+        }));
+    }
+
+
+    @NotNull
+    private static String calculateScript(final int lines) {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < lines / FUNCTION_LINES; i++) {
+            sb.append("f").append(i).append(" <- function(x, n = 10) {\n");
+
+            for (int j = 0; j < FUNCTION_LINES - 3; j++) {
+                if (j % 4 == 0) {
+                    sb.append("    if (x > ").append(j).append(") { x <- x - 1 }\n");
+                } else {
+                    sb.append("    y <- x * ").append(j).append(" + n  # step ").append(j).append("\n");
+                }
+            }
+
+            sb.append("}\n\n");
+        }
+
+        return sb.toString();
+    }
+}
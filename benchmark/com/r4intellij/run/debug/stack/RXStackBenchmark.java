@@ -0,0 +1,107 @@
+package com.r4intellij.run.debug.stack;
+
+import com.intellij.xdebugger.XSourcePosition;
+import com.r4intellij.debugger.data.RLocation;
+import com.r4intellij.debugger.frame.RStackFrame;
+import com.r4intellij.debugger.mock.IllegalRDebuggerEvaluator;
+import com.r4intellij.debugger.mock.IllegalRVarsLoader;
+import com.r4intellij.run.debug.mock.ExecutorServices;
+import com.r4intellij.run.debug.mock.MockXSourcePosition;
+import com.r4intellij.run.debug.resolve.RResolvingSession;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updates of deep stacks: a step within the newest frame and a call which returns right after it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RXStackBenchmark {
+
+    @NotNull
+    private static final XSourcePosition POSITION = new MockXSourcePosition(null, 0);
+
+    @Param({"10", "100", "1000"})
+    public int depth;
+
+    private List<RStackFrame> myOriginalStack;
+
+    private RXStack myStack;
+
+    private int myLine;
+
+
+    @Setup
+    public void setUp() {
+        myOriginalStack = new ArrayList<RStackFrame>();
+
+        for (int i = 0; i < depth; i++) {
+            myOriginalStack.add(createFrame(2));
+        }
+
+        myStack = new RXStack(myOriginalStack, new ConstantRResolvingSession(), ExecutorServices.ILLEGAL_EXECUTOR);
+        myStack.update();
+
+        myLine = 2;
+    }
+
+
+    @Benchmark
+    public void step() {
+        myLine = myLine % 100 + 2;
+        myOriginalStack.set(myOriginalStack.size() - 1, createFrame(myLine));
+
+        myStack.update();
+    }
+
+
+    @Benchmark
+    public void callAndReturn() {
+        myOriginalStack.add(createFrame(2));
+        myStack.update();
+
+        myOriginalStack.remove(myOriginalStack.size() - 1);
+        myStack.update();
+    }
+
+
+    @NotNull
+    private static RStackFrame createFrame(final int line) {
+        return new RStackFrame(
+                new RLocation("f", line),
+                new IllegalRVarsLoader(),
+                new IllegalRDebuggerEvaluator()
+        );
+    }
+
+
+    private static class ConstantRResolvingSession implements RResolvingSession {
+
+        @Nullable
+        @Override
+        public XSourcePosition resolveNext(@NotNull final RLocation nextLocation) {
+            return POSITION;
+        }
+
+
+        @Nullable
+        @Override
+        public XSourcePosition resolveCurrent(final int line) {
+            return POSITION;
+        }
+
+
+        @Override
+        public void dropLast(final int number) {
+        }
+    }
+}
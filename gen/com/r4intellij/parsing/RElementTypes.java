@@ -13,7 +13,7 @@ public interface RElementTypes {
   IElementType R_ARGUMENT_LIST = new RElementType("R_ARGUMENT_LIST");
   IElementType R_ASSIGNMENT_STATEMENT = RElementTypeFactory.getElementTypeByName("R_ASSIGNMENT_STATEMENT");
   IElementType R_AT_EXPRESSION = new RElementType("R_AT_EXPRESSION");
-  IElementType R_BLOCK_EXPRESSION = new RElementType("R_BLOCK_EXPRESSION");
+  IElementType R_BLOCK_EXPRESSION = RElementTypeFactory.getElementTypeByName("R_BLOCK_EXPRESSION");
   IElementType R_BOOLEAN_LITERAL = new RElementType("R_BOOLEAN_LITERAL");
   IElementType R_BOUNDARY_LITERAL = new RElementType("R_BOUNDARY_LITERAL");
   IElementType R_BREAK_STATEMENT = new RElementType("R_BREAK_STATEMENT");
@@ -29,6 +29,9 @@ public class RParser implements PsiParser, LightPsiParser {
     else if (t == R_ASSIGNMENT_STATEMENT) {
       r = assignment_statement(b, 0);
     }
+    else if (t == R_BLOCK_EXPRESSION) {
+      r = block_expression(b, 0);
+    }
     else if (t == R_BOOLEAN_LITERAL) {
       r = boolean_literal(b, 0);
     }
@@ -895,7 +898,7 @@ public class RParser implements PsiParser, LightPsiParser {
   // 3: PREFIX(repeat_statement)
   // 4: ATOM(break_statement)
   // 5: ATOM(next_statement)
-  // 6: ATOM(block_expression)
+  // 6: ATOM(lazy_block_expression)
   // 7: ATOM(help_expression)
   // 8: PREFIX(parenthesized_expression)
   // 9: PREFIX(function_expression)
@@ -930,7 +933,7 @@ public class RParser implements PsiParser, LightPsiParser {
     if (!r) r = repeat_statement(b, l + 1);
     if (!r) r = break_statement(b, l + 1);
     if (!r) r = next_statement(b, l + 1);
-    if (!r) r = block_expression(b, l + 1);
+    if (!r) r = parseLazyBlock(b, l + 1);
     if (!r) r = help_expression(b, l + 1);
     if (!r) r = parenthesized_expression(b, l + 1);
     if (!r) r = function_expression(b, l + 1);
@@ -15,6 +15,7 @@ import com.intellij.util.containers.Predicate;
 import com.r4intellij.parsing.RElementTypes;
 import com.r4intellij.psi.api.*;
 import com.r4intellij.psi.stubs.RAssignmentNameIndex;
+import com.r4intellij.psi.stubs.RAssignmentStub;
 import com.r4intellij.typing.ArgumentMatcher;
 import com.r4intellij.typing.ArgumentsMatchResult;
 import com.r4intellij.typing.MatchingException;
@@ -109,6 +110,10 @@ public class RPsiUtils {
             return null;
         }
         if (functionDef instanceof RAssignmentStatement) {
+            // avoid loading the tree of library files if the stub tells that it's not a function
+            RAssignmentStub stub = ((RAssignmentStatement) functionDef).getStub();
+            if (stub != null && !stub.isFunctionDeclaration()) return null;
+
             return PsiTreeUtil.getChildOfType(functionDef, RFunctionExpression.class);
         }
         PsiElement assignmentStatement = functionDef.getParent();
@@ -6,6 +6,7 @@ import com.r4intellij.debugger.data.RLocation;
 import com.r4intellij.debugger.evaluator.RDebuggerEvaluatorFactory;
 import com.r4intellij.debugger.evaluator.RExpressionHandler;
 import com.r4intellij.debugger.exception.RDebuggerException;
+import com.r4intellij.debugger.executor.RExecutionResult;
 import com.r4intellij.debugger.executor.RExecutionResultType;
 import com.r4intellij.debugger.executor.RExecutor;
 import com.r4intellij.debugger.frame.RStackFrame;
@@ -17,14 +18,11 @@ import com.r4intellij.debugger.function.RFunctionDebuggerFactory;
 import com.r4intellij.debugger.function.RFunctionDebuggerHandler;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.io.*;
+import java.util.*;
 
-import static com.r4intellij.debugger.data.RCommands.SYS_NFRAME_COMMAND;
-import static com.r4intellij.debugger.data.RCommands.bodyCommand;
+import static com.r4intellij.debugger.RDebuggerStringUtils.appendError;
+import static com.r4intellij.debugger.data.RCommands.*;
 import static com.r4intellij.debugger.data.RFunctionConstants.MAIN_FUNCTION_NAME;
 import static com.r4intellij.debugger.executor.RExecutionResultType.*;
 import static com.r4intellij.debugger.executor.RExecutorUtils.execute;
@@ -71,12 +69,20 @@ public class RDebugger implements RFunctionDebuggerHandler {
     @NotNull
     private final List<RStackFrame> myUnmodifiableStack;
 
+    @NotNull
+    private final Set<Integer> myBreakpoints;
+
+    @NotNull
+    private final Set<Integer> myNativeBreakpoints;
+
     private int myReturnLineNumber;
 
     private int myDropFrames;
 
     private boolean myIsStarted;
 
+    private long myStartupTime;
+
 
     public RDebugger(@NotNull final RExecutor executor,
                      @NotNull final RFunctionDebuggerFactory debuggerFactory,
@@ -102,9 +108,13 @@ public class RDebugger implements RFunctionDebuggerHandler {
         myStack = new ArrayList<RStackFrame>();
         myUnmodifiableStack = Collections.unmodifiableList(myStack);
 
+        myBreakpoints = new HashSet<Integer>();
+        myNativeBreakpoints = new HashSet<Integer>();
+
         myReturnLineNumber = -1;
         myDropFrames = 1;
         myIsStarted = false;
+        myStartupTime = -1;
     }
 
 
@@ -117,6 +127,57 @@ public class RDebugger implements RFunctionDebuggerHandler {
     }
 
 
+    /**
+     * @return milliseconds from submitting the script up to the first stop of the debugger or <code>-1</code> if the
+     * debug hasn't been started yet
+     */
+    public long getStartupTime() {
+        return myStartupTime;
+    }
+
+
+    /**
+     * Sets the lines of the script (0-based) which get native breakpoints when the debug starts. Later calls have no
+     * effect on the breakpoints of the script.
+     */
+    public void setBreakpoints(@NotNull final Collection<Integer> lines) {
+        myBreakpoints.clear();
+        myBreakpoints.addAll(lines);
+    }
+
+
+    /**
+     * @return <code>true</code> if the script is the only function being debugged and all given lines (0-based) have
+     * native breakpoints, so that {@link #resume()} can't miss any of them
+     */
+    public boolean canResume(@NotNull final Collection<Integer> lines) {
+        return myIsStarted && myDebuggers.size() == 1 && myNativeBreakpoints.containsAll(lines);
+    }
+
+
+    /**
+     * Continues the script without stepping up to the next native breakpoint. Functions of the script are not debugged
+     * meanwhile. Functions of the global environment which were traced when the debug started stay traced, so calling
+     * one of them stops at its entry like a step into it.
+     *
+     * @return <code>false</code> if the script has finished
+     */
+    public boolean resume() throws RDebuggerException {
+        if (!myIsStarted || myDebuggers.size() != 1) {
+            throw new IllegalStateException("Resume could be called only if just the script is being debugged");
+        }
+
+        execute(myExecutor, UNDEBUG_FUNCTIONS_COMMAND, EMPTY, myOutputReceiver);
+        execute(myExecutor, nativeBreakpointsCommand(true), EMPTY, myOutputReceiver);
+
+        topDebugger().resume();
+
+        execute(myExecutor, nativeBreakpointsCommand(false), EMPTY, myOutputReceiver);
+
+        return updateStack();
+    }
+
+
     @NotNull
     public List<RStackFrame> getStack() {
         return myUnmodifiableStack;
@@ -170,10 +231,25 @@ public class RDebugger implements RFunctionDebuggerHandler {
     private boolean prepareDebug() throws RDebuggerException {
         myIsStarted = true;
 
+        final long startTime = System.currentTimeMillis();
+        final boolean result = startMainFunction();
+
+        myStartupTime = System.currentTimeMillis() - startTime;
+        LOGGER.info("Debug has been started in " + myStartupTime + " ms");
+
+        return result;
+    }
+
+
+    private boolean startMainFunction() throws RDebuggerException {
         submitMainFunction();
         closeReader();
 
-        traceAndDebugFunctions(myExecutor, myOutputReceiver);
+        if (!myBreakpoints.isEmpty()) {
+            installBreakpoints();
+        }
+
+        LOGGER.info(traceAndDebugFunctions(myExecutor, myOutputReceiver) + " functions have been traced and debugged");
 
         if (isMainFunctionEmpty()) {
             return false;
@@ -196,6 +272,11 @@ public class RDebugger implements RFunctionDebuggerHandler {
     private boolean continueDebug() throws RDebuggerException {
         topDebugger().advance(); // Don't forget that advance could append new debugger
 
+        return updateStack();
+    }
+
+
+    private boolean updateStack() {
         while (!topDebugger().hasNext()) {
             for (int i = 0; i < myDropFrames; i++) {
                 popDebugger();
@@ -232,19 +313,62 @@ public class RDebugger implements RFunctionDebuggerHandler {
 
 
     private void submitMainFunction() throws RDebuggerException {
-        execute(myExecutor, MAIN_FUNCTION_NAME + " <- function() {", PLUS, myOutputReceiver);
+        final File mainFunctionFile = writeMainFunction();
 
         try {
-            String command;
+            execute(myExecutor, evalFileCommand(mainFunctionFile.getAbsolutePath()), EMPTY, myOutputReceiver);
+        } finally {
+            if (!mainFunctionFile.delete()) {
+                mainFunctionFile.deleteOnExit();
+            }
+        }
+    }
+
+
+    // the whole script is submitted at once instead of line by line, see evalFileCommand
+    @NotNull
+    private File writeMainFunction() throws RDebuggerException {
+        try {
+            final File result = File.createTempFile(MAIN_FUNCTION_NAME, ".R");
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(result), "UTF-8"));
 
-            while ((command = myScriptReader.readLine()) != null) {
-                execute(myExecutor, command, PLUS, myOutputReceiver);
+            try {
+                writer.write(MAIN_FUNCTION_NAME + " <- function() {\n");
+
+                String command;
+
+                while ((command = myScriptReader.readLine()) != null) {
+                    writer.write(command);
+                    writer.write('\n');
+                }
+
+                writer.write("}\n");
+            } finally {
+                writer.close();
             }
+
+            return result;
         } catch (final IOException e) {
             throw new RDebuggerException(e);
         }
+    }
+
 
-        execute(myExecutor, "}", EMPTY, myOutputReceiver);
+    private void installBreakpoints() throws RDebuggerException {
+        final List<Integer> lines = new ArrayList<Integer>();
+
+        for (final int line : myBreakpoints) {
+            lines.add(line + 2); // +2 because of `MAIN_FUNCTION` declaration and 1-based source references
+        }
+
+        final RExecutionResult result = myExecutor.execute(installBreakpointsCommand(MAIN_FUNCTION_NAME, lines));
+        appendError(result, myOutputReceiver);
+
+        for (final String line : result.getOutput().trim().split("\\s+")) {
+            if (StringUtil.isNotNegativeNumber(line)) {
+                myNativeBreakpoints.add(Integer.parseInt(line) - 2);
+            }
+        }
     }
 
 
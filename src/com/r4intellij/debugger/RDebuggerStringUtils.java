@@ -77,4 +77,48 @@ public final class RDebuggerStringUtils {
 
         return current + 1;
     }
+
+
+    /**
+     * Reverts the escaping of <code>encodeString</code> for line breaks, tabs, quotes and backslashes.
+     */
+    @NotNull
+    public static String unescape(@NotNull final String value) {
+        if (value.indexOf('\\') == -1) {
+            return value;
+        }
+
+        final StringBuilder sb = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+
+            if (c != '\\' || i == value.length() - 1) {
+                sb.append(c);
+                continue;
+            }
+
+            final char next = value.charAt(++i);
+
+            switch (next) {
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case '\\':
+                case '"':
+                    sb.append(next);
+                    break;
+                default:
+                    sb.append(c).append(next);
+            }
+        }
+
+        return sb.toString();
+    }
 }
@@ -2,6 +2,10 @@ package com.r4intellij.debugger.data;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+
+import static com.r4intellij.debugger.data.RFunctionConstants.*;
+
 public final class RCommands {
 
     @NotNull
@@ -13,6 +17,9 @@ public final class RCommands {
     @NotNull
     public static final String EXECUTE_AND_STEP_COMMAND = "n";
 
+    @NotNull
+    public static final String CONTINUE_COMMAND = "c";
+
     @NotNull
     public static final String ENVIRONMENT_COMMAND = "environment()";
 
@@ -22,6 +29,63 @@ public final class RCommands {
     @NotNull
     public static final String QUIT_COMMAND = "q()";
 
+    /**
+     * Statement which is inserted in front of the statements with breakpoints, it stops just while the function is
+     * continued natively.
+     */
+    @NotNull
+    public static final String BREAKPOINT_STATEMENT = "if (" + NATIVE_BREAKPOINTS_FLAG + ") browser()";
+
+    // functions are untraced and undebugged to let them run natively while the caller is continued,
+    // the next step traces and debugs them again, see traceAndDebugFunctions.
+    // just functions of the current environment are affected, like TRACE_AND_DEBUG_FUNCTIONS_COMMAND does at each step,
+    // functions of the global environment which were traced before the script started stay traced
+    @NotNull
+    public static final String UNDEBUG_FUNCTIONS_COMMAND = "invisible((function(.e) for (.n in ls(.e)) {" +
+            ".f <- get(.n, envir = .e); " +
+            "if (is.function(.f) && !is.primitive(.f)) {" +
+            "if (inherits(.f, \"functionWithTrace\")) {untrace(.n, where = .e); .f <- get(.n, envir = .e)}; " +
+            "if (isdebugged(.f)) undebug(.f)" +
+            "}" +
+            "})(environment()))";
+
+    // traces and debugs all closures of the current environment in a single call and prints their number,
+    // service functions except for the main one and functions which are still traced and debugged are skipped,
+    // the enter hook of a function prints its name (see RExecutionResultCalculatorImpl)
+    @NotNull
+    public static final String TRACE_AND_DEBUG_FUNCTIONS_COMMAND = "(function(.e) {" +
+            ".k <- 0; " +
+            "for (.n in ls(.e)) {" +
+            ".f <- get(.n, envir = .e); " +
+            "if (typeof(.f) == \"closure\" && " +
+            "(!grepl(\"^" + SERVICE_FUNCTION_PREFIX + "\", .n) || .n == \"" + MAIN_FUNCTION_NAME + "\") && " +
+            "!(inherits(.f, \"functionWithTrace\") && isdebugged(.f))) {" +
+            ".h <- paste0(\"" + SERVICE_FUNCTION_PREFIX + "\", .n, \"" + SERVICE_ENTER_FUNCTION_SUFFIX + "\"); " +
+            "assign(.h, eval(substitute(function() { print(.x) }, list(.x = .n))), envir = .e); " +
+            "eval(call(\"trace\", as.name(.n), as.name(.h), where = quote(environment())), .e); " +
+            "eval(call(\"debug\", as.name(.n)), .e); " +
+            ".k <- .k + 1" +
+            "}" +
+            "}; " +
+            ".k" +
+            "})(environment())";
+
+    // prints the record of a single value (see frameVarsCommand) and returns the number of printed value characters
+    @NotNull
+    private static final String DESCRIBE_VALUE_FUNCTION = "function(.n, .v, .cap) {" +
+            ".t <- typeof(.v); " +
+            "if (.t == \"closure\" && isdebugged(.v)) .v <- attr(.v, \"original\"); " +
+            ".s <- as.numeric(object.size(.v)); " +
+            ".l <- if (is.data.frame(.v) && nrow(.v) > 1) nrow(.v) " +
+            "else if ((is.list(.v) || is.atomic(.v)) && length(.v) > 1) length(.v) else 0; " +
+            ".d <- if (is.null(dim(.v))) length(.v) else paste(dim(.v), collapse = \" x \"); " +
+            ".p <- if (.s <= .cap) substr(paste(capture.output(print(.v)), collapse = \"\\n\"), 1, .cap) else NA; " +
+            "cat(paste(encodeString(.n), .t, format(.s, scientific = FALSE), paste(class(.v), collapse = \" \"), .d, " +
+            "format(.l, scientific = FALSE), if (is.na(.p)) \"0\" else \"1\", if (is.na(.p)) \"\" else encodeString(.p), " +
+            "sep = \"\\t\"), \"\\n\", sep = \"\"); " +
+            "if (is.na(.p)) 0 else nchar(.p)" +
+            "}";
+
 
     @NotNull
     public static String optionsCommand(@NotNull final String key, @NotNull final String value) {
@@ -41,6 +105,174 @@ public final class RCommands {
     }
 
 
+    /**
+     * Lists all variables of a frame in one response. Each variable is written as a single line consisting of the
+     * escaped name, the type, the size in bytes, the class, the dimensions, the number of pageable elements (or rows),
+     * a flag whether the value is included and the escaped printed value, separated by tabs.
+     * <p>
+     * Values are just included as long as they fit into <code>maxValueLength</code> characters in total. Functions under
+     * debug are printed without their debugging wrapper.
+     */
+    @NotNull
+    public static String frameVarsCommand(final int frameNumber, final int maxValueLength) {
+        return String.format(
+                "local({" +
+                        ".e <- %s; " +
+                        ".f <- %s; " +
+                        ".b <- %d; " +
+                        "for (.n in ls(.e)) " +
+                        "tryCatch(.b <- .b - .f(.n, get(.n, envir = .e, inherits = FALSE), max(.b, 0)), error = function(e) NULL)" +
+                        "})",
+                sysFrameCommand(frameNumber),
+                DESCRIBE_VALUE_FUNCTION,
+                maxValueLength
+        );
+    }
+
+
+    /**
+     * Lists up to <code>count</code> elements (or rows of a data frame) of the value of <code>expression</code> starting
+     * at <code>offset</code>. Each element is written as a line consisting of the R accessor of the element (like
+     * <code>[[3]]</code>) and the record of {@link #frameVarsCommand}. Once <code>maxValueLength</code> characters of
+     * values are printed, no more elements are listed.
+     */
+    @NotNull
+    public static String elementsCommand(final int frameNumber,
+                                         @NotNull final String expression,
+                                         final int offset,
+                                         final int count,
+                                         final int maxValueLength) {
+        return String.format(
+                "local({" +
+                        ".e <- %1$s; " +
+                        ".f <- %2$s; " +
+                        ".b <- %5$d; " +
+                        ".v <- %3$s; " +
+                        ".r <- is.data.frame(.v) && nrow(.v) > 1; " +
+                        ".m <- if (.r) nrow(.v) else length(.v); " +
+                        ".k <- if (.r) rownames(.v) else names(.v); " +
+                        "for (.j in %4$d + seq_len(max(0, min(%6$d, .m - %4$d)))) {" +
+                        "if (.b <= 0 && .j > %4$d + 1) break; " +
+                        ".n <- if (!is.null(.k) && !is.na(.k[.j]) && nzchar(.k[.j])) .k[.j] " +
+                        "else if (.r) paste0(\"[\", .j, \",]\") else paste0(\"[[\", .j, \"]]\"); " +
+                        "cat(if (.r) paste0(\"[\", .j, \", , drop = FALSE]\") else paste0(\"[[\", .j, \"]]\"), \"\\t\", sep = \"\"); " +
+                        ".b <- .b - tryCatch(.f(.n, if (.r) .v[.j, , drop = FALSE] else .v[[.j]], max(.b, 0)), " +
+                        "error = function(e) .f(.n, conditionMessage(e), max(.b, 0)))" +
+                        "}" +
+                        "})",
+                sysFrameCommand(frameNumber),
+                DESCRIBE_VALUE_FUNCTION,
+                expression,
+                offset,
+                maxValueLength,
+                count
+        );
+    }
+
+
+    /**
+     * Prints the value of <code>expression</code> truncated to <code>maxValueLength</code> characters. The number of
+     * printed entries is limited as well, so that large objects are not formatted completely.
+     */
+    @NotNull
+    public static String valueCommand(final int frameNumber, @NotNull final String expression, final int maxValueLength) {
+        return String.format(
+                "local({" +
+                        ".e <- %s; " +
+                        ".v <- %s; " +
+                        ".o <- options(max.print = %d); " +
+                        ".p <- tryCatch(capture.output(print(.v)), finally = options(.o)); " +
+                        "cat(substr(paste(.p, collapse = \"\\n\"), 1, %d), \"\\n\", sep = \"\")" +
+                        "})",
+                sysFrameCommand(frameNumber),
+                expression,
+                Math.max(100, maxValueLength / 8),
+                maxValueLength
+        );
+    }
+
+
+    /**
+     * @return expression which gets the variable <code>name</code> of the frame in the commands above
+     */
+    @NotNull
+    public static String frameVarExpression(@NotNull final String name) {
+        return String.format(
+                "get(\"%s\", envir = .e, inherits = FALSE)",
+                name.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\t", "\\t")
+        );
+    }
+
+
+    /**
+     * Inserts {@link #BREAKPOINT_STATEMENT} in front of all statements of the function which start on one of the given
+     * lines, including statements of nested blocks like loop bodies but not of nested function definitions. The lines
+     * are the ones of the source references of the function. The inserted statements get the source reference of the
+     * statement which follows, so that the line numbers of the debugger don't change.
+     * <p>
+     * Prints the lines which have got a breakpoint.
+     */
+    @NotNull
+    public static String installBreakpointsCommand(@NotNull final String functionName, @NotNull final Collection<Integer> lines) {
+        final StringBuilder lineVector = new StringBuilder();
+
+        for (final int line : lines) {
+            if (lineVector.length() > 0) lineVector.append(", ");
+            lineVector.append(line);
+        }
+
+        return String.format(
+                "local({" +
+                        ".l <- c(%2$s); " +
+                        ".d <- integer(0); " +
+                        ".b <- as.name(\"{\"); " +
+                        ".ins <- function(.x) {" +
+                        ".r <- attr(.x, \"srcref\"); " +
+                        "if (!identical(.x[[1]], .b) || is.null(.r)) return(.x); " +
+                        ".y <- list(.b); " +
+                        ".s <- list(.r[[1]]); " +
+                        "for (.i in seq_along(.x)[-1]) {" +
+                        ".e <- .x[[.i]]; " +
+                        "if (.r[[.i]][1] %%in%% .l && !(.r[[.i]][1] %%in%% .d)) {" +
+                        ".y[[length(.y) + 1]] <- quote(%3$s); " +
+                        ".s[[length(.s) + 1]] <- .r[[.i]]; " +
+                        ".d <<- c(.d, .r[[.i]][1])" +
+                        "}; " +
+                        ".y[[length(.y) + 1]] <- .w(.e); " +
+                        ".s[[length(.s) + 1]] <- .r[[.i]]" +
+                        "}; " +
+                        ".z <- as.call(.y); " +
+                        "attributes(.z) <- attributes(.x); " +
+                        "attr(.z, \"srcref\") <- .s; " +
+                        ".z" +
+                        "}; " +
+                        ".w <- function(.e) {" +
+                        "if (!is.call(.e) || identical(.e[[1]], as.name(\"function\"))) return(.e); " +
+                        "if (identical(.e[[1]], .b)) return(.ins(.e)); " +
+                        "for (.j in seq_along(.e)[-1]) if (is.call(.e[[.j]])) .e[[.j]] <- .w(.e[[.j]]); " +
+                        ".e" +
+                        "}; " +
+                        "body(%1$s) <<- .ins(body(%1$s)); " +
+                        "%4$s <<- FALSE; " +
+                        "cat(.d, \"\\n\")" +
+                        "})",
+                functionName,
+                lineVector,
+                BREAKPOINT_STATEMENT,
+                NATIVE_BREAKPOINTS_FLAG
+        );
+    }
+
+
+    /**
+     * Enables or disables the statements inserted by {@link #installBreakpointsCommand}.
+     */
+    @NotNull
+    public static String nativeBreakpointsCommand(final boolean enabled) {
+        return String.format("assign(\"%s\", %s, envir = globalenv())", NATIVE_BREAKPOINTS_FLAG, enabled ? "TRUE" : "FALSE");
+    }
+
+
     @NotNull
     public static String typeOfCommand(@NotNull final String identifier) {
         return String.format("%s(%s)", TYPEOF_FUNCTION, identifier);
@@ -77,18 +309,6 @@ public final class RCommands {
     }
 
 
-    @NotNull
-    public static String eapplyCommand(@NotNull final String environment, @NotNull final String function) {
-        return String.format("eapply(%s, %s)", environment, function);
-    }
-
-
-    @NotNull
-    public static String filterCommand(@NotNull final String function, @NotNull final String identifier) {
-        return String.format("Filter(%s, %s)", function, identifier);
-    }
-
-
     @NotNull
     public static String bodyCommand(@NotNull final String function) {
         return String.format("body(%s)", function);
@@ -101,6 +321,20 @@ public final class RCommands {
     }
 
 
+    /**
+     * Evaluates the R file in the current environment keeping its source references. The source file is named "" like
+     * the one of the console input, so that R reports just "debug at #N" instead of including the file name.
+     */
+    @NotNull
+    public static String evalFileCommand(@NotNull final String path) {
+        return String.format(
+                "(function(.t) eval(parse(text = .t, keep.source = TRUE, srcfile = srcfilecopy(\"\", .t)), parent.frame()))" +
+                        "(readLines(\"%s\", encoding = \"UTF-8\", warn = FALSE))",
+                path.replace('\\', '/')
+        );
+    }
+
+
     @NotNull
     public static String rVersionCommand(@NotNull final String key) {
         return String.format("R.Version()[\"%s\"]", key);
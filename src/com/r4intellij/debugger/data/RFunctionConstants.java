@@ -12,4 +12,7 @@ public final class RFunctionConstants {
 
     @NotNull
     public static final String MAIN_FUNCTION_NAME = SERVICE_FUNCTION_PREFIX + "main";
+
+    @NotNull
+    public static final String NATIVE_BREAKPOINTS_FLAG = SERVICE_FUNCTION_PREFIX + "native";
 }
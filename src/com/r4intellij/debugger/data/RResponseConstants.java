@@ -31,6 +31,9 @@ public final class RResponseConstants {
     @NotNull
     public static final String EXITING_FROM_PREFIX = "exiting from: ";
 
+    @NotNull
+    public static final String CALLED_FROM_PREFIX = "Called from: ";
+
     @NotNull
     public static final String ENVIRONMENT_PREFIX = "<environment: ";
 }
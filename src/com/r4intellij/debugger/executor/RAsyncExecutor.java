@@ -0,0 +1,23 @@
+package com.r4intellij.debugger.executor;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Executor which also accepts commands without waiting for their results.
+ * <p>
+ * The interpreter answers commands one by one, so queued commands are executed in the order of their submission and
+ * {@link #execute(String)} waits until the commands queued before have been executed. Futures fail with
+ * {@link com.r4intellij.debugger.exception.RDebuggerException} if a command could not be executed.
+ * <p>
+ * Evaluating expressions, modifying values and loading frames use {@link #execute(String)}: they run on the thread of
+ * the debug process anyway and each of their commands depends on the result of the previous one.
+ *
+ * @see RCommandQueue
+ */
+public interface RAsyncExecutor extends RExecutor {
+
+    @NotNull
+    CompletableFuture<RExecutionResult> executeAsync(@NotNull final String command);
+}
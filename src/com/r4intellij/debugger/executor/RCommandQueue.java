@@ -0,0 +1,140 @@
+package com.r4intellij.debugger.executor;
+
+import com.r4intellij.debugger.exception.RDebuggerException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Queue of the commands of a {@link RAsyncExecutor}. The commands are executed one by one on a single dispatcher thread
+ * using the synchronous {@link RExecutor#execute(String)} of the executor, which should call {@link #awaitQueued()}
+ * before it executes its own command.
+ */
+public class RCommandQueue {
+
+    @NotNull
+    private final RExecutor myExecutor;
+
+    @NotNull
+    private final ExecutorService myDispatcher;
+
+    // guarded by itself
+    @NotNull
+    private final LinkedList<QueuedCommand> myQueuedCommands;
+
+    @Nullable
+    private volatile Thread myDispatcherThread;
+
+
+    /**
+     * @param dispatcher single thread executor, it is shut down by {@link #terminate()}
+     */
+    public RCommandQueue(@NotNull final RExecutor executor, @NotNull final ExecutorService dispatcher) {
+        myExecutor = executor;
+        myDispatcher = dispatcher;
+        myQueuedCommands = new LinkedList<QueuedCommand>();
+        myDispatcherThread = null;
+    }
+
+
+    @NotNull
+    public CompletableFuture<RExecutionResult> submit(@NotNull final String command) {
+        final QueuedCommand queuedCommand = new QueuedCommand(command);
+
+        synchronized (myQueuedCommands) {
+            myQueuedCommands.add(queuedCommand);
+        }
+
+        try {
+            myDispatcher.execute(queuedCommand);
+        } catch (final RejectedExecutionException e) {
+            queuedCommand.fail(new RDebuggerException(e));
+        }
+
+        return queuedCommand.myResult;
+    }
+
+
+    /**
+     * Waits until all queued commands have been executed. Returns immediately on the dispatcher thread, since the
+     * commands are executed there.
+     */
+    public void awaitQueued() throws RDebuggerException {
+        if (Thread.currentThread() == myDispatcherThread) {
+            return;
+        }
+
+        synchronized (myQueuedCommands) {
+            while (!myQueuedCommands.isEmpty()) {
+                try {
+                    myQueuedCommands.wait();
+                } catch (final InterruptedException e) {
+                    throw new RDebuggerException(e);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Fails the commands which haven't been started yet and rejects the ones submitted later.
+     */
+    public void terminate() {
+        for (final Runnable command : myDispatcher.shutdownNow()) {
+            ((QueuedCommand) command).fail(new RDebuggerException("Process has been terminated"));
+        }
+    }
+
+
+    private class QueuedCommand implements Runnable {
+
+        @NotNull
+        private final String myCommand;
+
+        @NotNull
+        private final CompletableFuture<RExecutionResult> myResult;
+
+
+        public QueuedCommand(@NotNull final String command) {
+            myCommand = command;
+            myResult = new CompletableFuture<RExecutionResult>();
+        }
+
+
+        @Override
+        public void run() {
+            myDispatcherThread = Thread.currentThread();
+
+            final RExecutionResult result;
+
+            try {
+                result = myExecutor.execute(myCommand);
+            } catch (final RDebuggerException e) {
+                fail(e);
+                return;
+            }
+
+            dequeue();
+            myResult.complete(result);
+        }
+
+
+        public void fail(@NotNull final RDebuggerException e) {
+            dequeue();
+            myResult.completeExceptionally(e);
+        }
+
+
+        // dequeued before the future is completed, so that its callbacks could execute commands
+        private void dequeue() {
+            synchronized (myQueuedCommands) {
+                myQueuedCommands.remove(this);
+                myQueuedCommands.notifyAll();
+            }
+        }
+    }
+}
@@ -11,7 +11,6 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.regex.Pattern;
 
-import static com.r4intellij.debugger.data.RLanguageConstants.LINE_SEPARATOR;
 import static com.r4intellij.debugger.data.RResponseConstants.*;
 import static com.r4intellij.debugger.executor.RExecutionResultType.*;
 
@@ -20,9 +19,6 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
     @NotNull
     private static final Pattern START_TRACE_PATTERN = Pattern.compile("^" + TRACING_PREFIX + ".* on entry( )*$");
 
-    @NotNull
-    private static final Pattern LINE_BREAK_PATTERN = Pattern.compile("(\r|\n|\r\n)");
-
 
     @Override
     public boolean isComplete(@NotNull final CharSequence output) {
@@ -33,8 +29,9 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
     @Override
     @NotNull
     public RExecutionResult calculate(@NotNull final CharSequence output, @NotNull final String error) {
-        final String[] lines =
-                LINE_BREAK_PATTERN.split(output); // Don't forget that first line is command and the last is invitation for the next one
+        final Lines lines = new Lines(
+                output instanceof ROutputBuffer ? (ROutputBuffer) output : new ROutputBuffer(output)
+        ); // Don't forget that first line is command and the last is invitation for the next one
 
         return calculateResult(
                 lines,
@@ -69,41 +66,37 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
 
 
     @NotNull
-    private static RExecutionResult calculateResult(@NotNull final String[] lines,
+    private static RExecutionResult calculateResult(@NotNull final Lines lines,
                                                     @NotNull final TypeAndResultLineBounds typeAndResultLineBounds,
                                                     @NotNull final String error) {
-        final StringBuilder sb = new StringBuilder();
+        final int lastOutputLine = lines.length() - 2;
+        final String output = lines.myBuffer.getText(1, lastOutputLine + 1);
 
-        final TextRange preCalculatedRange =
-                (typeAndResultLineBounds.myResultEnd <= typeAndResultLineBounds.myResultBegin) ? TextRange.EMPTY_RANGE : null;
+        final int resultLineBegin = typeAndResultLineBounds.myResultBegin;
+        final int resultLineEnd = typeAndResultLineBounds.myResultEnd;
 
-        int resultBegin = 0;
-        int resultEnd = 0;
+        final TextRange resultRange;
 
-        for (int i = 1; i < lines.length - 1; i++) {
-            sb.append(lines[i]);
-
-            if (i != lines.length - 2) {
-                sb.append(LINE_SEPARATOR);
-            }
-
-            if (preCalculatedRange == null) {
-                resultBegin += calculateResultBeginAddition(lines, typeAndResultLineBounds.myResultBegin, i);
-                resultEnd += calculateResultEndAddition(lines, typeAndResultLineBounds.myResultEnd, i);
-            }
+        if (resultLineEnd <= resultLineBegin) {
+            resultRange = TextRange.EMPTY_RANGE;
+        } else {
+            resultRange = new TextRange(
+                    calculateLineBegin(lines, output, resultLineBegin),
+                    calculateLineEnd(lines, output, resultLineEnd - 1)
+            );
         }
 
         return new RExecutionResult(
-                sb.toString(),
+                output,
                 typeAndResultLineBounds.myType,
-                preCalculatedRange == null ? new TextRange(resultBegin, resultEnd) : preCalculatedRange,
+                resultRange,
                 error
         );
     }
 
 
     @NotNull
-    private static TypeAndResultLineBounds calculateTypeAndResultLineBounds(@NotNull final String[] lines) {
+    private static TypeAndResultLineBounds calculateTypeAndResultLineBounds(@NotNull final Lines lines) {
         TypeAndResultLineBounds candidate = tryJustPlusAndSpace(lines);
 
         if (candidate != null) {
@@ -120,6 +113,12 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
             throw new IllegalArgumentException("Output is incomplete");
         }
 
+        candidate = tryBreakpoint(lines);
+
+        if (candidate != null) {
+            return candidate;
+        }
+
         candidate = tryDebugging(lines);
 
         if (candidate != null) {
@@ -156,7 +155,7 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
             return candidate;
         }
 
-        return new TypeAndResultLineBounds(RESPONSE, 0, lines.length);
+        return new TypeAndResultLineBounds(RESPONSE, 0, lines.length());
     }
 
 
@@ -177,43 +176,36 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
     }
 
 
-    private static int calculateResultBeginAddition(@NotNull final String[] lines,
-                                                    final int resultLineBegin,
-                                                    final int i) {
-        int result = 0;
-
-        if (i < resultLineBegin) {
-            result += lines[i].length();
+    // offset of the line within the output of the command, see calculateResult
+    private static int calculateLineBegin(@NotNull final Lines lines, @NotNull final String output, final int line) {
+        if (line <= 1) {
+            return 0;
+        }
 
-            if (i != lines.length - 2) {
-                result += LINE_SEPARATOR.length();
-            }
+        if (line > lines.length() - 2) {
+            return output.length();
         }
 
-        return result;
+        return lines.myBuffer.getTextOffset(1, line);
     }
 
 
-    private static int calculateResultEndAddition(@NotNull final String[] lines,
-                                                  final int resultLineEnd,
-                                                  final int i) {
-        int result = 0;
-
-        if (i < resultLineEnd) {
-            result += lines[i].length();
+    private static int calculateLineEnd(@NotNull final Lines lines, @NotNull final String output, final int line) {
+        if (line < 1) {
+            return 0;
+        }
 
-            if (i != lines.length - 2 && i != resultLineEnd - 1) {
-                result += LINE_SEPARATOR.length();
-            }
+        if (line >= lines.length() - 2) {
+            return output.length();
         }
 
-        return result;
+        return lines.myBuffer.getTextOffset(1, line) + lines.myBuffer.getLineEnd(line) - lines.myBuffer.getLineStart(line);
     }
 
 
     @Nullable
-    private static TypeAndResultLineBounds tryJustPlusAndSpace(@NotNull final String[] lines) {
-        if (lines.length == 2 && lines[1].equals(PLUS_AND_SPACE)) {
+    private static TypeAndResultLineBounds tryJustPlusAndSpace(@NotNull final Lines lines) {
+        if (lines.length() == 2 && lines.get(1).equals(PLUS_AND_SPACE)) {
             return new TypeAndResultLineBounds(PLUS, 1, 1);
         } else {
             return null;
@@ -222,8 +214,8 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
 
 
     @Nullable
-    private static TypeAndResultLineBounds tryJustBrowseAndSpace(@NotNull final String[] lines) {
-        if (lines.length == 2 && justBrowseAndSpace(lines[1])) {
+    private static TypeAndResultLineBounds tryJustBrowseAndSpace(@NotNull final Lines lines) {
+        if (lines.length() == 2 && justBrowseAndSpace(lines.get(1))) {
             return new TypeAndResultLineBounds(EMPTY, 1, 1);
         } else {
             return null;
@@ -231,14 +223,24 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
     }
 
 
-    private static boolean endsBrowseAndSpace(@NotNull final String[] lines) {
-        return lines.length > 1 && justBrowseAndSpace(lines[lines.length - 1]);
+    private static boolean endsBrowseAndSpace(@NotNull final Lines lines) {
+        return lines.length() > 1 && justBrowseAndSpace(lines.get(lines.length() - 1));
+    }
+
+
+    @Nullable
+    private static TypeAndResultLineBounds tryBreakpoint(@NotNull final Lines lines) {
+        if (lines.length() > 2 && lines.startsWith(lines.length() - 2, CALLED_FROM_PREFIX)) {
+            return new TypeAndResultLineBounds(BREAKPOINT, 1, lines.length() - 2);
+        } else {
+            return null;
+        }
     }
 
 
     @Nullable
-    private static TypeAndResultLineBounds tryDebugging(@NotNull final String[] lines) {
-        if (lines.length > 1 && lines[1].startsWith(DEBUGGING_IN_PREFIX)) {
+    private static TypeAndResultLineBounds tryDebugging(@NotNull final Lines lines) {
+        if (lines.length() > 1 && lines.startsWith(1, DEBUGGING_IN_PREFIX)) {
             return new TypeAndResultLineBounds(RExecutionResultType.DEBUGGING_IN, 1, 1);
         } else {
             return null;
@@ -247,13 +249,13 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
 
 
     @Nullable
-    private static TypeAndResultLineBounds tryContinueTrace(@NotNull final String[] lines) {
+    private static TypeAndResultLineBounds tryContinueTrace(@NotNull final Lines lines) {
         final int endOffset = -2; // "debugging in..." line and "debug: {..." line
 
-        for (int i = 1; i < lines.length + endOffset - 1; i++) {
-            if (lines[i].startsWith(EXITING_FROM_PREFIX)) {
-                for (int j = i + 1; j < lines.length; j++) {
-                    if (lines[j].startsWith(DEBUGGING_IN_PREFIX)) {
+        for (int i = 1; i < lines.length() + endOffset - 1; i++) {
+            if (lines.startsWith(i, EXITING_FROM_PREFIX)) {
+                for (int j = i + 1; j < lines.length(); j++) {
+                    if (lines.startsWith(j, DEBUGGING_IN_PREFIX)) {
                         if (i == 1) {
                             // result could be located inside trace information between "exiting from ..." and "debugging in..." lines
                             return new TypeAndResultLineBounds(CONTINUE_TRACE, i + 1, j);
@@ -273,11 +275,11 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
 
 
     @Nullable
-    private static TypeAndResultLineBounds tryExitingFrom(@NotNull final String[] lines) {
+    private static TypeAndResultLineBounds tryExitingFrom(@NotNull final Lines lines) {
         final List<Integer> exitingFromIndices = new ArrayList<Integer>();
 
-        for (int i = 1; i < lines.length - 1; i++) {
-            if (lines[i].startsWith(EXITING_FROM_PREFIX)) {
+        for (int i = 1; i < lines.length() - 1; i++) {
+            if (lines.startsWith(i, EXITING_FROM_PREFIX)) {
                 exitingFromIndices.add(i);
             }
         }
@@ -314,10 +316,10 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
 
 
     @Nullable
-    private static TypeAndResultLineBounds tryDebugAt(@NotNull final String[] lines) {
-        if (lines.length > 2) {
+    private static TypeAndResultLineBounds tryDebugAt(@NotNull final Lines lines) {
+        if (lines.length() > 2) {
             final int debugAtLine = findDebugAt(lines, 0);
-            final boolean debugAtExists = debugAtLine < lines.length - 1;
+            final boolean debugAtExists = debugAtLine < lines.length() - 1;
 
             if (debugAtExists) {
                 return new TypeAndResultLineBounds(RExecutionResultType.DEBUG_AT, 1, debugAtLine);
@@ -331,15 +333,15 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
 
 
     @Nullable
-    private static TypeAndResultLineBounds tryStartTrace(@NotNull final String[] lines) {
-        if (START_TRACE_PATTERN.matcher(lines[1]).find()) {
+    private static TypeAndResultLineBounds tryStartTrace(@NotNull final Lines lines) {
+        if (lines.length() > 1 && START_TRACE_PATTERN.matcher(lines.get(1)).find()) {
             final int unbraceFunctionStartTraceLength = 1 // previous command
                     + 1 // "Tracing on ... entry"
                     + 1 // "[1] \"...\""
                     + 1 // "debug: ..,"
                     + 1; // invitation for the next command
 
-            if (lines.length == unbraceFunctionStartTraceLength) {
+            if (lines.length() == unbraceFunctionStartTraceLength) {
                 return new TypeAndResultLineBounds(START_TRACE_UNBRACE, 1, 1);
             } else {
                 return new TypeAndResultLineBounds(START_TRACE_BRACE, 1, 1);
@@ -351,9 +353,9 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
 
 
     @Nullable
-    private static TypeAndResultLineBounds tryUnbraceDebugAt(@NotNull final String[] lines) {
-        if (lines.length > 2 && lines[lines.length - 2].startsWith(DEBUG_AT_PREFIX)) {
-            return new TypeAndResultLineBounds(RExecutionResultType.DEBUG_AT, 1, lines.length - 2);
+    private static TypeAndResultLineBounds tryUnbraceDebugAt(@NotNull final Lines lines) {
+        if (lines.length() > 2 && lines.startsWith(lines.length() - 2, DEBUG_AT_PREFIX)) {
+            return new TypeAndResultLineBounds(RExecutionResultType.DEBUG_AT, 1, lines.length() - 2);
         } else {
             return null;
         }
@@ -400,10 +402,10 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
     }
 
 
-    private static int findDebugAt(@NotNull final String[] lines, final int index) {
+    private static int findDebugAt(@NotNull final Lines lines, final int index) {
         int result = index;
 
-        while (result < lines.length - 1 && !lines[result].startsWith(DEBUG_AT_LINE_PREFIX)) {
+        while (result < lines.length() - 1 && !lines.startsWith(result, DEBUG_AT_LINE_PREFIX)) {
             result++;
         }
 
@@ -419,6 +421,45 @@ public class RExecutionResultCalculatorImpl implements RExecutionResultCalculato
     }
 
 
+    // lines of the output without the trailing empty ones
+    private static class Lines {
+
+        @NotNull
+        private final ROutputBuffer myBuffer;
+
+        private final int myLength;
+
+
+        public Lines(@NotNull final ROutputBuffer buffer) {
+            myBuffer = buffer;
+
+            int count = buffer.getLineCount();
+
+            while (count > 1 && buffer.getLineStart(count - 1) == buffer.getLineEnd(count - 1)) {
+                count--;
+            }
+
+            myLength = count;
+        }
+
+
+        public int length() {
+            return myLength;
+        }
+
+
+        public boolean startsWith(final int line, @NotNull final String prefix) {
+            return myBuffer.lineStartsWith(line, prefix);
+        }
+
+
+        @NotNull
+        public String get(final int line) {
+            return myBuffer.getLine(line);
+        }
+    }
+
+
     private static class TypeAndResultLineBounds {
 
         @NotNull
@@ -10,5 +10,6 @@ public enum RExecutionResultType {
     CONTINUE_TRACE,
     EXITING_FROM,
     RECURSIVE_EXITING_FROM,
+    BREAKPOINT,
     RESPONSE
 }
@@ -0,0 +1,218 @@
+package com.r4intellij.debugger.executor;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+import static com.r4intellij.debugger.data.RLanguageConstants.LINE_SEPARATOR;
+
+/**
+ * Output of the interpreter which keeps track of its lines while the output is being appended. The lines are indexed
+ * chunk by chunk as they arrive, so that the result of a command can be calculated without splitting or copying the
+ * whole output once more.
+ * <p>
+ * Lines are separated by "\n", "\r" or "\r\n".
+ */
+public class ROutputBuffer implements CharSequence {
+
+    private static final int INITIAL_LINES_CAPACITY = 16;
+
+    @NotNull
+    private final StringBuilder myText;
+
+    @NotNull
+    private int[] myLineStarts;
+
+    private int myLineCount;
+
+    // number of line breaks which differ from LINE_SEPARATOR, such lines have to be joined one by one
+    private int myForeignBreaks;
+
+
+    public ROutputBuffer() {
+        myText = new StringBuilder();
+        myLineStarts = new int[INITIAL_LINES_CAPACITY];
+
+        clear();
+    }
+
+
+    public ROutputBuffer(@NotNull final CharSequence text) {
+        this();
+
+        append(text);
+    }
+
+
+    public void append(@NotNull final CharSequence text) {
+        final int offset = myText.length();
+
+        myText.append(text);
+
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+
+            if (c == '\n') {
+                final int index = offset + i;
+
+                if (index > 0 && myText.charAt(index - 1) == '\r' && myLineStarts[myLineCount - 1] == index) {
+                    myLineStarts[myLineCount - 1] = index + 1; // "\r\n" is a single line break
+
+                    myForeignBreaks += countForeign("\r\n") - countForeign("\r");
+                } else {
+                    addLine(index + 1, "\n");
+                }
+            } else if (c == '\r') {
+                addLine(offset + i + 1, "\r");
+            }
+        }
+    }
+
+
+    public void clear() {
+        myText.setLength(0);
+
+        myLineStarts[0] = 0;
+        myLineCount = 1;
+        myForeignBreaks = 0;
+    }
+
+
+    public int getLineCount() {
+        return myLineCount;
+    }
+
+
+    public int getLineStart(final int line) {
+        return myLineStarts[line];
+    }
+
+
+    /**
+     * @return end offset of the line excluding its line break
+     */
+    public int getLineEnd(final int line) {
+        if (line == myLineCount - 1) {
+            return myText.length();
+        }
+
+        final int nextLineStart = myLineStarts[line + 1];
+        final boolean isCrLf = myText.charAt(nextLineStart - 1) == '\n' &&
+                nextLineStart - 2 >= myLineStarts[line] &&
+                myText.charAt(nextLineStart - 2) == '\r';
+
+        return nextLineStart - (isCrLf ? 2 : 1);
+    }
+
+
+    public boolean lineStartsWith(final int line, @NotNull final String prefix) {
+        final int start = getLineStart(line);
+
+        return getLineEnd(line) - start >= prefix.length() && regionMatches(start, prefix);
+    }
+
+
+    @NotNull
+    public String getLine(final int line) {
+        return myText.substring(getLineStart(line), getLineEnd(line));
+    }
+
+
+    /**
+     * @return lines from <code>fromLine</code> (inclusive) to <code>toLine</code> (exclusive) joined with
+     * {@link com.r4intellij.debugger.data.RLanguageConstants#LINE_SEPARATOR}
+     */
+    @NotNull
+    public String getText(final int fromLine, final int toLine) {
+        if (fromLine >= toLine) {
+            return "";
+        }
+
+        if (myForeignBreaks == 0) {
+            return myText.substring(getLineStart(fromLine), getLineEnd(toLine - 1));
+        }
+
+        final StringBuilder sb = new StringBuilder();
+
+        for (int i = fromLine; i < toLine; i++) {
+            if (i != fromLine) {
+                sb.append(LINE_SEPARATOR);
+            }
+
+            sb.append(myText, getLineStart(i), getLineEnd(i));
+        }
+
+        return sb.toString();
+    }
+
+
+    /**
+     * @return offset of the beginning of <code>line</code> within {@link #getText(int, int)} starting at
+     * <code>fromLine</code>
+     */
+    public int getTextOffset(final int fromLine, final int line) {
+        if (myForeignBreaks == 0) {
+            return getLineStart(line) - getLineStart(fromLine);
+        }
+
+        int result = 0;
+
+        for (int i = fromLine; i < line; i++) {
+            result += getLineEnd(i) - getLineStart(i) + LINE_SEPARATOR.length();
+        }
+
+        return result;
+    }
+
+
+    @Override
+    public int length() {
+        return myText.length();
+    }
+
+
+    @Override
+    public char charAt(final int index) {
+        return myText.charAt(index);
+    }
+
+
+    @NotNull
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return myText.subSequence(start, end);
+    }
+
+
+    @NotNull
+    @Override
+    public String toString() {
+        return myText.toString();
+    }
+
+
+    private void addLine(final int start, @NotNull final String lineBreak) {
+        if (myLineCount == myLineStarts.length) {
+            myLineStarts = Arrays.copyOf(myLineStarts, myLineCount * 2);
+        }
+
+        myLineStarts[myLineCount++] = start;
+        myForeignBreaks += countForeign(lineBreak);
+    }
+
+
+    private static int countForeign(@NotNull final String lineBreak) {
+        return LINE_SEPARATOR.equals(lineBreak) ? 0 : 1;
+    }
+
+
+    private boolean regionMatches(final int start, @NotNull final String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (myText.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package com.r4intellij.debugger.executor;
+
+import com.r4intellij.debugger.ROutputReceiver;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Forwards the output of a long running command while it arrives, so that the output buffer holds just a short tail.
+ * <p>
+ * The first line (echoed command) is skipped. The last line is held back together with the line break in front of it
+ * while it is short enough to be the prompt, so that the completion of the command can still be detected in the buffer.
+ * Chunks are forwarded as they are, without appending line breaks.
+ */
+public class ROutputStreamer {
+
+    /**
+     * Max length of the last line which is held back in the buffer.
+     */
+    public static final int TAIL_WINDOW = 64;
+
+    @NotNull
+    private final ROutputReceiver myReceiver;
+
+    private boolean myIsEchoSkipped;
+
+    // number of characters at the beginning of the buffer which belong to the echoed command
+    private int myEchoTail;
+
+
+    public ROutputStreamer(@NotNull final ROutputReceiver receiver) {
+        myReceiver = receiver;
+        myIsEchoSkipped = false;
+        myEchoTail = 0;
+    }
+
+
+    /**
+     * Forwards the output collected in the buffer except for the tail and leaves only the tail in the buffer.
+     */
+    public void drain(@NotNull final ROutputBuffer buffer) {
+        if (!skipEcho(buffer)) {
+            return;
+        }
+
+        final int lastLine = buffer.getLineCount() - 1;
+        final int lastLineStart = buffer.getLineStart(lastLine);
+
+        if (buffer.length() - lastLineStart > TAIL_WINDOW) {
+            forward(buffer, buffer.length());
+        } else {
+            forward(buffer, lastLine == 0 ? 0 : buffer.getLineEnd(lastLine - 1));
+        }
+    }
+
+
+    /**
+     * Forwards the rest of the output except for the last line which is the prompt.
+     */
+    public void finish(@NotNull final ROutputBuffer buffer) {
+        if (skipEcho(buffer)) {
+            forward(buffer, buffer.getLineStart(buffer.getLineCount() - 1));
+        }
+    }
+
+
+    private boolean skipEcho(@NotNull final ROutputBuffer buffer) {
+        if (myIsEchoSkipped) {
+            return true;
+        }
+
+        if (buffer.getLineCount() == 1) {
+            buffer.clear();
+
+            return false;
+        }
+
+        myIsEchoSkipped = true;
+        myEchoTail = buffer.getLineStart(1) - buffer.getLineEnd(0);
+        retain(buffer, buffer.getLineEnd(0));
+
+        return true;
+    }
+
+
+    private void forward(@NotNull final ROutputBuffer buffer, final int end) {
+        if (end > myEchoTail) {
+            myReceiver.receiveOutput(buffer.subSequence(myEchoTail, end).toString());
+        }
+
+        myEchoTail = Math.max(0, myEchoTail - end);
+
+        retain(buffer, end);
+    }
+
+
+    private static void retain(@NotNull final ROutputBuffer buffer, final int start) {
+        if (start == 0) {
+            return;
+        }
+
+        final String tail = buffer.subSequence(start, buffer.length()).toString();
+
+        buffer.clear();
+        buffer.append(tail);
+    }
+}
@@ -1,9 +1,18 @@
 package com.r4intellij.debugger.frame;
 
 import org.jetbrains.annotations.NotNull;
-
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Variable of a frame or element of another variable.
+ * <p>
+ * Large values are not transferred with the frame, they just come with a summary (class, dimensions and size). The
+ * printed value and the elements of such variables are fetched on demand with the {@link RVarsLoader} of the frame.
+ */
 public class RVar {
 
+    public static final long UNKNOWN_SIZE = -1;
+
     @NotNull
     private final String myName;
 
@@ -13,6 +22,18 @@ public class RVar {
     @NotNull
     private final String myValue;
 
+    private final boolean myIsValueLoaded;
+
+    @NotNull
+    private final String mySummary;
+
+    private final long mySize;
+
+    private final int myLength;
+
+    @Nullable
+    private final String myExpression;
+
     @NotNull
     private final RValueModifier myModifier;
 
@@ -21,9 +42,27 @@ public class RVar {
                 @NotNull final String type,
                 @NotNull final String value,
                 @NotNull final RValueModifier modifier) {
+        this(name, type, value, true, type, UNKNOWN_SIZE, 0, null, modifier);
+    }
+
+
+    public RVar(@NotNull final String name,
+                @NotNull final String type,
+                @NotNull final String value,
+                final boolean isValueLoaded,
+                @NotNull final String summary,
+                final long size,
+                final int length,
+                @Nullable final String expression,
+                @NotNull final RValueModifier modifier) {
         myName = name;
         myType = type;
         myValue = value;
+        myIsValueLoaded = isValueLoaded;
+        mySummary = summary;
+        mySize = size;
+        myLength = length;
+        myExpression = expression;
         myModifier = modifier;
     }
 
@@ -40,12 +79,57 @@ public class RVar {
     }
 
 
+    /**
+     * @return printed value or an empty string if the value was too large to be loaded with the frame
+     * @see #isValueLoaded()
+     */
     @NotNull
     public String getValue() {
         return myValue;
     }
 
 
+    public boolean isValueLoaded() {
+        return myIsValueLoaded;
+    }
+
+
+    /**
+     * @return class, dimensions and size of the value
+     */
+    @NotNull
+    public String getSummary() {
+        return mySummary;
+    }
+
+
+    /**
+     * @return size of the value in bytes as reported by <code>object.size</code> or {@link #UNKNOWN_SIZE}
+     */
+    public long getSize() {
+        return mySize;
+    }
+
+
+    /**
+     * @return number of elements (or data frame rows) which could be loaded page by page, <code>0</code> if the value
+     * can't be expanded
+     */
+    public int getLength() {
+        return myLength;
+    }
+
+
+    /**
+     * @return R expression which evaluates to the value within the frame, <code>null</code> if the value can't be
+     * loaded on demand
+     */
+    @Nullable
+    public String getExpression() {
+        return myExpression;
+    }
+
+
     @NotNull
     public RValueModifier getModifier() {
         return myModifier;
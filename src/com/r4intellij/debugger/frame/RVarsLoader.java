@@ -9,4 +9,21 @@ public interface RVarsLoader {
 
     @NotNull
     List<RVar> load() throws RDebuggerException;
+
+
+    /**
+     * Loads the printed value of a variable whose value was not loaded with the frame. The value is truncated to the
+     * size limit of a single request.
+     */
+    @NotNull
+    String loadValue(@NotNull final RVar var) throws RDebuggerException;
+
+
+    /**
+     * Loads up to <code>count</code> elements (or data frame rows) of a variable starting at <code>offset</code>. Less
+     * elements are returned if their values exceed the size limit of a single request, but at least one if there are
+     * any left.
+     */
+    @NotNull
+    List<RVar> loadElements(@NotNull final RVar var, final int offset, final int count) throws RDebuggerException;
 }
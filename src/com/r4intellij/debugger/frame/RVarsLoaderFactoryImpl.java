@@ -12,10 +12,15 @@ public class RVarsLoaderFactoryImpl implements RVarsLoaderFactory {
     @NotNull
     private final ROutputReceiver myReceiver;
 
+    private final int myMaxValueLength;
 
-    public RVarsLoaderFactoryImpl(@NotNull final RExecutor executor, @NotNull final ROutputReceiver receiver) {
+
+    public RVarsLoaderFactoryImpl(@NotNull final RExecutor executor,
+                                  @NotNull final ROutputReceiver receiver,
+                                  final int maxValueLength) {
         myExecutor = executor;
         myReceiver = receiver;
+        myMaxValueLength = maxValueLength;
     }
 
 
@@ -23,6 +28,6 @@ public class RVarsLoaderFactoryImpl implements RVarsLoaderFactory {
     @Override
     public RVarsLoader getLoader(@NotNull final RValueModifier modifier,
                                  final int frameNumber) {
-        return new RVarsLoaderImpl(myExecutor, myReceiver, modifier, frameNumber);
+        return new RVarsLoaderImpl(myExecutor, myReceiver, modifier, frameNumber, myMaxValueLength);
     }
 }
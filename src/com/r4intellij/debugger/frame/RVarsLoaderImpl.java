@@ -8,23 +8,45 @@ import com.r4intellij.debugger.exception.RUnexpectedExecutionResultTypeException
 import com.r4intellij.debugger.executor.RExecutionResult;
 import com.r4intellij.debugger.executor.RExecutor;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.StringTokenizer;
 
+import static com.r4intellij.debugger.RDebuggerStringUtils.unescape;
 import static com.r4intellij.debugger.RDebuggerUtils.calculateRepresentation;
-import static com.r4intellij.debugger.RDebuggerUtils.calculateValueCommand;
 import static com.r4intellij.debugger.data.RCommands.*;
 import static com.r4intellij.debugger.data.RLanguageConstants.FUNCTION_TYPE;
 import static com.r4intellij.debugger.executor.RExecutionResultType.DEBUG_AT;
 import static com.r4intellij.debugger.executor.RExecutionResultType.RESPONSE;
 import static com.r4intellij.debugger.executor.RExecutorUtils.execute;
 
-// TODO [dbg][upd_test]
+/**
+ * Loads all variables of a frame with a single command. The response contains one line per variable with its name,
+ * type, summary and printed value, so the round trips don't grow with the number of variables.
+ * <p>
+ * The printed values of a response are limited to <code>maxValueLength</code> characters, larger values just come with
+ * a summary. They are loaded on demand, the elements of lists, vectors and data frames page by page.
+ */
 class RVarsLoaderImpl implements RVarsLoader {
 
+    // fields of a record printed by frameVarsCommand and elementsCommand (the latter prefixed by the accessor)
+    private static final int RECORD_FIELDS = 8;
+
+    @NotNull
+    private static final RValueModifier ELEMENT_MODIFIER = new RValueModifier() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+
+        @Override
+        public void setValue(@NotNull final String name, @NotNull final String value, @NotNull final Listener listener) {
+            throw new IllegalStateException("SetValue could be called only if isEnabled returns true");
+        }
+    };
+
     @NotNull
     private final RExecutor myExecutor;
 
@@ -36,36 +58,42 @@ class RVarsLoaderImpl implements RVarsLoader {
 
     private final int myFrameNumber;
 
+    private final int myMaxValueLength;
+
 
     public RVarsLoaderImpl(@NotNull final RExecutor executor,
                            @NotNull final ROutputReceiver receiver,
                            @NotNull final RValueModifier modifier,
-                           final int frameNumber) {
+                           final int frameNumber,
+                           final int maxValueLength) {
         myExecutor = executor;
         myReceiver = receiver;
         myModifier = modifier;
         myFrameNumber = frameNumber;
+        myMaxValueLength = maxValueLength;
     }
 
 
     @NotNull
     @Override
     public List<RVar> load() throws RDebuggerException {
-        final String text = execute(
-                myExecutor,
-                lsCommand(myFrameNumber),
-                RESPONSE,
-                myReceiver
-        );
-
         final List<RVar> vars = new ArrayList<RVar>();
 
-        for (final String variableName : calculateVariableNames(text)) {
-            final RVar var = loadVar(variableName);
+        for (final String line : StringUtil.splitByLines(executeAndStepOut(frameVarsCommand(myFrameNumber, myMaxValueLength)))) {
+            final String[] fields = line.split("\t", -1);
 
-            if (var != null) {
-                vars.add(var);
+            if (fields.length != RECORD_FIELDS) {
+                continue;
             }
+
+            final String name = unescape(fields[0]);
+            final RVar var = parseVar(fields, 0, name, frameVarExpression(name), myModifier);
+
+            if (var.getType().equals(FUNCTION_TYPE) && RDebuggerUtils.isServiceName(name)) {
+                continue;
+            }
+
+            vars.add(var);
         }
 
         return vars;
@@ -73,77 +101,62 @@ class RVarsLoaderImpl implements RVarsLoader {
 
 
     @NotNull
-    private List<String> calculateVariableNames(@NotNull final String text) {
-        final List<String> result = new ArrayList<String>();
-
-        for (final String line : StringUtil.splitByLines(text)) {
-            for (final String token : StringUtil.tokenize(new StringTokenizer(line))) {
-                final String var = getVariableName(token);
+    @Override
+    public String loadValue(@NotNull final RVar var) throws RDebuggerException {
+        final String expression = var.getExpression();
 
-                if (var != null) {
-                    result.add(var);
-                }
-            }
+        if (var.isValueLoaded() || expression == null) {
+            return var.getValue();
         }
 
-        return result;
+        return calculateRepresentation(
+                var.getType(),
+                StringUtil.trimTrailing(executeAndStepOut(valueCommand(myFrameNumber, expression, myMaxValueLength)), '\n')
+        );
     }
 
 
-    @Nullable
-    private RVar loadVar(@NotNull final String var) throws RDebuggerException {
-        final String type = execute(
-                myExecutor,
-                typeOfCommand(expressionOnFrameCommand(myFrameNumber, var)),
-                RESPONSE,
-                myReceiver
-        );
+    @NotNull
+    @Override
+    public List<RVar> loadElements(@NotNull final RVar var, final int offset, final int count) throws RDebuggerException {
+        final String expression = var.getExpression();
 
-        if (type.equals(FUNCTION_TYPE) && RDebuggerUtils.isServiceName(var)) {
-            return null;
+        if (expression == null || offset >= var.getLength()) {
+            return Collections.emptyList();
         }
 
-        return new RVar(
-                var,
-                type,
-                loadValue(var, type),
-                myModifier
-        );
-    }
+        final String command = elementsCommand(myFrameNumber, expression, offset, count, myMaxValueLength);
+        final List<RVar> elements = new ArrayList<RVar>();
 
+        for (final String line : StringUtil.splitByLines(executeAndStepOut(command))) {
+            final String[] fields = line.split("\t", -1);
 
-    @Nullable
-    private String getVariableName(@NotNull final String token) {
-        final boolean isNotEmptyQuotedString = StringUtil.isQuotedString(token) && token.length() > 2;
+            if (fields.length != RECORD_FIELDS + 1) {
+                continue;
+            }
 
-        if (isNotEmptyQuotedString) {
-            return token.substring(1, token.length() - 1);
-        } else {
-            return null;
+            // the accessor like [[2]] is appended to the expression of the parent
+            elements.add(parseVar(fields, 1, unescape(fields[1]), "(" + expression + ")" + fields[0], ELEMENT_MODIFIER));
         }
+
+        return elements;
     }
 
 
     @NotNull
-    private String loadValue(@NotNull final String var,
-                             @NotNull final String type) throws RDebuggerException {
-        final RExecutionResult result = execute(myExecutor, calculateValueCommand(myFrameNumber, var), myReceiver);
+    private String executeAndStepOut(@NotNull final String command) throws RDebuggerException {
+        final RExecutionResult result = execute(myExecutor, command, myReceiver);
 
         switch (result.getType()) {
             case RESPONSE:
-                return calculateRepresentation(
-                        type,
-                        result.getOutput()
-                );
+                return result.getOutput();
             case DEBUG_AT:
-                return calculateRepresentation(
-                        type,
-                        execute(
-                                myExecutor,
-                                EXECUTE_AND_STEP_COMMAND,
-                                RESPONSE,
-                                myReceiver
-                        )
+                // printing a variable could call a function under debug
+                return execute(
+                        myExecutor,
+                        EXECUTE_AND_STEP_COMMAND,
+                        RESPONSE,
+                        myReceiver
                 );
             default:
                 throw new RUnexpectedExecutionResultTypeException(
@@ -156,4 +169,45 @@ class RVarsLoaderImpl implements RVarsLoader {
                 );
         }
     }
+
+
+    @NotNull
+    private static RVar parseVar(@NotNull final String[] fields,
+                                 final int start,
+                                 @NotNull final String name,
+                                 @NotNull final String expression,
+                                 @NotNull final RValueModifier modifier) {
+        final String type = "[1] \"" + fields[start + 1] + "\"";
+        final long size = parseNumber(fields[start + 2], RVar.UNKNOWN_SIZE);
+        final boolean isValueLoaded = fields[start + 6].equals("1");
+
+        return new RVar(
+                name,
+                type,
+                isValueLoaded ? calculateRepresentation(type, unescape(fields[start + 7])) : "",
+                isValueLoaded,
+                calculateSummary(fields[start + 3], fields[start + 4], size),
+                size,
+                (int) Math.min(Integer.MAX_VALUE, parseNumber(fields[start + 5], 0)),
+                expression,
+                modifier
+        );
+    }
+
+
+    @NotNull
+    private static String calculateSummary(@NotNull final String rClass, @NotNull final String dim, final long size) {
+        final String summary = rClass + " [" + dim + "]";
+
+        return size == RVar.UNKNOWN_SIZE ? summary : summary + ", " + StringUtil.formatFileSize(size);
+    }
+
+
+    private static long parseNumber(@NotNull final String number, final long defaultValue) {
+        try {
+            return Long.parseLong(number.trim());
+        } catch (final NumberFormatException e) {
+            return defaultValue;
+        }
+    }
 }
@@ -16,6 +16,13 @@ public interface RFunctionDebugger {
     void advance() throws RDebuggerException;
 
 
+    /**
+     * Continues the function without stepping until one of its native breakpoints is reached or it finishes. Called
+     * functions are not debugged meanwhile.
+     */
+    void resume() throws RDebuggerException;
+
+
     @NotNull
     String getResult();
 }
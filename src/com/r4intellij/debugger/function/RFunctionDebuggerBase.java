@@ -14,6 +14,8 @@ import com.r4intellij.debugger.executor.RExecutor;
 import org.jetbrains.annotations.NotNull;
 
 import static com.r4intellij.debugger.RDebuggerStringUtils.*;
+import static com.r4intellij.debugger.data.RCommands.BREAKPOINT_STATEMENT;
+import static com.r4intellij.debugger.data.RCommands.CONTINUE_COMMAND;
 import static com.r4intellij.debugger.data.RCommands.EXECUTE_AND_STEP_COMMAND;
 import static com.r4intellij.debugger.data.RLanguageConstants.FOR_LOOP_PREFIX;
 import static com.r4intellij.debugger.data.RLanguageConstants.WHILE_LOOP_PREFIX;
@@ -84,8 +86,44 @@ abstract class RFunctionDebuggerBase implements RFunctionDebugger {
             throw new IllegalStateException("Advance could be called only if hasNext returns true");
         }
 
-        final RExecutionResult result = myExecutor.execute(EXECUTE_AND_STEP_COMMAND);
+        handleResult(myExecutor.execute(EXECUTE_AND_STEP_COMMAND));
+    }
+
+
+    @Override
+    public void resume() throws RDebuggerException {
+        if (!hasNext()) {
+            throw new IllegalStateException("Resume could be called only if hasNext returns true");
+        }
+
+        final RExecutionResult result = myExecutor.execute(CONTINUE_COMMAND);
+
+        switch (result.getType()) {
+            case RESPONSE:
+            case EMPTY:
+                handleNativeEnd(result);
+                break;
+            default:
+                handleResult(result);
+        }
+    }
+
+
+    @NotNull
+    @Override
+    public String getResult() {
+        if (hasNext()) {
+            throw new IllegalStateException("GetResult could be called only if hasNext returns false");
+        }
+
+        return myResult;
+    }
+
+
+    protected abstract void handleDebugAt(@NotNull final RExecutionResult result) throws RDebuggerException;
 
+
+    protected void handleResult(@NotNull final RExecutionResult result) throws RDebuggerException {
         switch (result.getType()) {
             case CONTINUE_TRACE:
                 handleContinueTrace(result);
@@ -105,6 +143,9 @@ abstract class RFunctionDebuggerBase implements RFunctionDebugger {
             case RECURSIVE_EXITING_FROM:
                 handleRecursiveEndTrace(result);
                 break;
+            case BREAKPOINT:
+                handleBreakpoint(result);
+                break;
             default:
                 throw new RUnexpectedExecutionResultTypeException(
                         "Actual type is not the same as expected: " +
@@ -117,7 +158,8 @@ abstract class RFunctionDebuggerBase implements RFunctionDebugger {
                                 DEBUGGING_IN + ", " +
                                 EMPTY + ", " +
                                 RExecutionResultType.EXITING_FROM + ", " +
-                                RECURSIVE_EXITING_FROM +
+                                RECURSIVE_EXITING_FROM + ", " +
+                                BREAKPOINT +
                                 "]" +
                                 "]"
                 );
@@ -125,20 +167,6 @@ abstract class RFunctionDebuggerBase implements RFunctionDebugger {
     }
 
 
-    @NotNull
-    @Override
-    public String getResult() {
-        if (hasNext()) {
-            throw new IllegalStateException("GetResult could be called only if hasNext returns false");
-        }
-
-        return myResult;
-    }
-
-
-    protected abstract void handleDebugAt(@NotNull final RExecutionResult result) throws RDebuggerException;
-
-
     @NotNull
     protected abstract RExecutionResultType getStartTraceType();
 
@@ -167,7 +195,7 @@ abstract class RFunctionDebuggerBase implements RFunctionDebugger {
         final String output = result.getOutput();
         final int debugAtIndex = findNextLineAfterResult(result);
 
-        if (isBraceLoopEntrance(output, debugAtIndex)) {
+        if (isBraceLoopEntrance(output, debugAtIndex) || isBreakpointStatement(output, debugAtIndex)) {
             handleDebugAt(execute(myExecutor, EXECUTE_AND_STEP_COMMAND, DEBUG_AT), enableTraceAndDebug, true);
         } else {
             if (extractLineNumber) {
@@ -230,6 +258,28 @@ abstract class RFunctionDebuggerBase implements RFunctionDebugger {
     }
 
 
+    protected void handleBreakpoint(@NotNull final RExecutionResult result) throws RDebuggerException {
+        appendResult(result, myOutputReceiver);
+        appendError(result, myOutputReceiver);
+
+        // the statement after the breakpoint becomes the current one, functions are traced and debugged again
+        handleDebugAt(execute(myExecutor, EXECUTE_AND_STEP_COMMAND, DEBUG_AT));
+    }
+
+
+    protected void handleNativeEnd(@NotNull final RExecutionResult result) throws RDebuggerException {
+        appendResult(result, myOutputReceiver);
+
+        if (!result.getError().isEmpty()) {
+            handleEmpty(result);
+        }
+
+        // the function has finished without being debugged, so there is neither "exiting from" nor return line
+        myResult = result.getOutput();
+        myCurrentLineNumber = -1;
+    }
+
+
     protected void handleEmpty(@NotNull final RExecutionResult result) throws RDebuggerException {
         appendError(result, myOutputReceiver);
 
@@ -270,6 +320,15 @@ abstract class RFunctionDebuggerBase implements RFunctionDebugger {
     }
 
 
+    // statements inserted for native breakpoints are stepped over as if they were not there
+    private boolean isBreakpointStatement(@NotNull final String output, final int debugAtIndex) {
+        final int lineNumberBegin = debugAtIndex + DEBUG_AT_LINE_PREFIX.length();
+        final int statementBegin = output.indexOf(':', lineNumberBegin + 1) + 2;
+
+        return output.startsWith(BREAKPOINT_STATEMENT, statementBegin);
+    }
+
+
     private void handleEndTraceResult(@NotNull final RExecutionResult result, final int lastExitingFrom) {
         final TextRange resultRange = result.getResultRange();
 
@@ -307,7 +366,7 @@ abstract class RFunctionDebuggerBase implements RFunctionDebugger {
         final int debugAtIndex = findDebugAtIndexInEndTraceReturn(result, lastExitingFrom);
 
         if (output.startsWith(DEBUG_AT_LINE_PREFIX, debugAtIndex)) {
-            if (isBraceLoopEntrance(output, debugAtIndex)) {
+            if (isBraceLoopEntrance(output, debugAtIndex) || isBreakpointStatement(output, debugAtIndex)) {
                 handleDebugAt(
                         execute(myExecutor, EXECUTE_AND_STEP_COMMAND, DEBUG_AT),
                         false,
@@ -1,15 +1,13 @@
 package com.r4intellij.inspections;
 
-import com.intellij.codeInspection.InspectionManager;
-import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.LocalInspectionToolSession;
 import com.intellij.codeInspection.ProblemsHolder;
-import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiElementVisitor;
 import com.r4intellij.RPsiUtils;
 import com.r4intellij.intentions.InstallLibraryFix;
 import com.r4intellij.intentions.RefreshPackageIndexQuickFix;
 import com.r4intellij.packages.RIndexCache;
 import com.r4intellij.packages.RPackage;
-import com.r4intellij.psi.RRecursiveElementVisitor;
 import com.r4intellij.psi.api.*;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
@@ -31,60 +29,45 @@ public class MissingPackageInspection extends RInspection {
     }
 
 
+    @NotNull
     @Override
-    public ProblemDescriptor[] checkFile(@NotNull PsiFile file, @NotNull InspectionManager manager, boolean isOnTheFly) {
-        ProblemsHolder problemsHolder = new ProblemsHolder(manager, file, isOnTheFly);
-        checkFile(file, problemsHolder);
-        return problemsHolder.getResultsArray();
+    public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
+        // visited along with the other inspections instead of walking the file on its own
+        return new Visitor(holder);
     }
 
 
-    private static void checkFile(final PsiFile file, final ProblemsHolder problemsHolder) {
-        if (!(file instanceof RFile)) return;
-
-        file.accept(new RRecursiveElementVisitor() {
-
+    private class Visitor extends RVisitor {
 
-            @Override
-            public void visitReferenceExpression(@NotNull RReferenceExpression o) {
+        private final ProblemsHolder myProblemHolder;
 
-                if (RPsiUtils.isNamespacePrefix(o)) {
-                    checkPackage(o, problemsHolder);
-                }
-            }
 
+        public Visitor(@NotNull ProblemsHolder holder) {
+            myProblemHolder = holder;
+        }
 
-            @Override
-            public void visitCallExpression(@NotNull RCallExpression psiElement) {
-                String methodName = psiElement.getExpression().getText();
 
+        @Override
+        public void visitReferenceExpression(@NotNull RReferenceExpression o) {
+            // covers the namespace prefixes of calls as well, since their function expressions are visited too
+            if (RPsiUtils.isNamespacePrefix(o)) {
+                checkPackage(o, myProblemHolder);
+            }
+        }
 
-                if (PACKAGE_IMPORT_METHODS.contains(methodName) &&
-                        !psiElement.getArgumentList().getExpressionList().isEmpty()) {
 
-                    RExpression packageExpression = psiElement.getArgumentList().getExpressionList().get(0);
-                    checkPackage(packageExpression, problemsHolder);
-                }
+        @Override
+        public void visitCallExpression(@NotNull RCallExpression psiElement) {
+            String methodName = psiElement.getExpression().getText();
 
-                String namespacePrefix = getNamespacePrefix(psiElement);
-                if (namespacePrefix != null) {
-                    checkPackage((RExpression) psiElement.getExpression().getChildren()[0], problemsHolder);
-                }
 
+            if (PACKAGE_IMPORT_METHODS.contains(methodName) &&
+                    !psiElement.getArgumentList().getExpressionList().isEmpty()) {
 
-                // needed for child-visits
-//                psiElement.acceptChildren(this); // do we always need this?
+                RExpression packageExpression = psiElement.getArgumentList().getExpressionList().get(0);
+                checkPackage(packageExpression, myProblemHolder);
             }
-        });
-    }
-
-
-    private static String getNamespacePrefix(RCallExpression psiElement) {
-        RExpression expression = psiElement.getExpression();
-        if ((expression instanceof RReferenceExpression))
-            return ((RReferenceExpression) expression).getNamespace();
-
-        return null;
+        }
     }
 
 
@@ -0,0 +1,123 @@
+package com.r4intellij.inspections;
+
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiFile;
+import com.r4intellij.psi.api.RCallExpression;
+import com.r4intellij.psi.api.ROperator;
+import com.r4intellij.psi.api.RPsiElement;
+import com.r4intellij.psi.api.RReferenceExpression;
+import com.r4intellij.psi.references.RReferenceImpl;
+import com.r4intellij.psi.references.ResolveResultWrapper;
+import com.r4intellij.typing.ArgumentMatcher;
+import com.r4intellij.typing.ArgumentsMatchResult;
+import com.r4intellij.typing.MatchingException;
+import com.r4intellij.typing.UnknownTypeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Analysis results of a file which are shared by the R inspections of a highlighting pass. The session lives as long
+ * as the {@link LocalInspectionToolSession} of the pass, so each result is computed once regardless of how many
+ * inspections ask for it. Inspections run concurrently, which is why the results are kept in concurrent maps.
+ */
+public class RAnalysisSession {
+
+    private static final Key<RAnalysisSession> ANALYSIS_SESSION_KEY = Key.create("R_ANALYSIS_SESSION");
+
+    private final Map<RPsiElement, ResolveResultWrapper> myResolveResults = new ConcurrentHashMap<>();
+
+    // either the result of matching the arguments of a call or the exception thrown by the matcher
+    private final Map<RCallExpression, Object> myArgumentMatches = new ConcurrentHashMap<>();
+
+    private volatile RDefUseIndex myDefUseIndex;
+
+
+    @NotNull
+    public static RAnalysisSession getInstance(@NotNull LocalInspectionToolSession session) {
+        RAnalysisSession analysisSession = session.getUserData(ANALYSIS_SESSION_KEY);
+        if (analysisSession != null) return analysisSession;
+
+        return session.putUserDataIfAbsent(ANALYSIS_SESSION_KEY, new RAnalysisSession());
+    }
+
+
+    /**
+     * Resolves a reference including forward references.
+     */
+    @Nullable
+    public ResolveResultWrapper resolve(@NotNull RReferenceExpression element) {
+        ResolveResultWrapper result = myResolveResults.get(element);
+        if (result != null) return result;
+
+        RReferenceImpl reference = element.getReference();
+        if (reference == null) return null;
+
+        // resolved within the map, so that inspections asking at the same time don't resolve it again
+        return myResolveResults.computeIfAbsent(element, key -> reference.resolve(true));
+    }
+
+
+    @NotNull
+    public ResolveResultWrapper resolve(@NotNull ROperator element) {
+        ResolveResultWrapper result = myResolveResults.get(element);
+        if (result != null) return result;
+
+        return myResolveResults.computeIfAbsent(element, key -> element.getReference().resolve(false));
+    }
+
+
+    /**
+     * Matches the arguments of a call against the parameters of the called function.
+     *
+     * @throws MatchingException    if the arguments don't match
+     * @throws UnknownTypeException if the called function is not known
+     */
+    @NotNull
+    public ArgumentsMatchResult matchArgs(@NotNull RCallExpression callExpression) throws MatchingException {
+        Object match = myArgumentMatches.get(callExpression);
+
+        if (match == null) {
+            // not computed within the map, since matching the arguments of a call might match the ones of other calls
+            try {
+                match = new ArgumentMatcher(callExpression).matchArgs(callExpression.getArgumentList());
+            } catch (MatchingException | UnknownTypeException e) {
+                match = e;
+            }
+
+            match = cache(myArgumentMatches, callExpression, match);
+        }
+
+        if (match instanceof MatchingException) throw (MatchingException) match;
+        if (match instanceof UnknownTypeException) throw (UnknownTypeException) match;
+
+        return (ArgumentsMatchResult) match;
+    }
+
+
+    /**
+     * Provides the def-use chains of the file of the session, which are computed by the first inspection asking for them.
+     */
+    @NotNull
+    public RDefUseIndex getDefUseIndex(@NotNull PsiFile file) {
+        RDefUseIndex defUseIndex = myDefUseIndex;
+        if (defUseIndex != null) return defUseIndex;
+
+        synchronized (this) {
+            if (myDefUseIndex == null) myDefUseIndex = new RDefUseIndex(file);
+
+            return myDefUseIndex;
+        }
+    }
+
+
+    @NotNull
+    private static <K, V> V cache(@NotNull Map<K, V> cache, @NotNull K key, @NotNull V value) {
+        V previous = cache.putIfAbsent(key, value);
+
+        return previous != null ? previous : value;
+    }
+}
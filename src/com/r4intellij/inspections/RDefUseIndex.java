@@ -0,0 +1,74 @@
+package com.r4intellij.inspections;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiReference;
+import com.r4intellij.RPsiUtils;
+import com.r4intellij.psi.RRecursiveElementVisitor;
+import com.r4intellij.psi.api.ROperator;
+import com.r4intellij.psi.api.RReferenceExpression;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Def-use chains of a file, i.e. the reads of each definition (assignment or parameter) within the file. The index is
+ * computed in a single pass over the file, which resolves each reference once. A reference counts as a read of a
+ * definition exactly if it is a reference to it in the sense of {@link PsiReference#isReferenceTo(PsiElement)}, so R
+ * scoping is applied by the resolver just as it is for find usages.
+ * <p>
+ * Named arguments like <code>x</code> in <code>f(x = 1)</code> resolve to the parameter of the called function, but
+ * they are not reads of it. Counting them would make a parameter used depending on whether its callers are in the same
+ * file.
+ */
+public class RDefUseIndex {
+
+    private final Map<PsiElement, List<PsiElement>> myReads = new HashMap<>();
+
+
+    public RDefUseIndex(@NotNull PsiFile file) {
+        file.accept(new RRecursiveElementVisitor() {
+            @Override
+            public void visitReferenceExpression(@NotNull RReferenceExpression o) {
+                if (!RPsiUtils.isNamedArgument(o)) {
+                    addRead(o.getReference());
+                }
+
+                super.visitReferenceExpression(o);
+            }
+
+
+            @Override
+            public void visitOperator(@NotNull ROperator o) {
+                addRead(o.getReference());
+
+                super.visitOperator(o);
+            }
+        });
+    }
+
+
+    private void addRead(PsiReference reference) {
+        // assignees don't have a reference
+        if (reference == null) return;
+
+        PsiElement definition = reference.resolve();
+        if (definition == null || !reference.isReferenceTo(definition)) return;
+
+        myReads.computeIfAbsent(definition, key -> new ArrayList<>()).add(reference.getElement());
+    }
+
+
+    /**
+     * @return the elements of the file which read the given definition, in the order of the file
+     */
+    @NotNull
+    public List<PsiElement> getReads(@NotNull PsiElement definition) {
+        return myReads.getOrDefault(definition, Collections.emptyList());
+    }
+
+
+    public boolean isRead(@NotNull PsiElement definition) {
+        return myReads.containsKey(definition);
+    }
+}
@@ -27,30 +27,37 @@ public class TypeCheckerInspection extends RInspection {
     @NotNull
     @Override
     public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return new Visitor(holder);
+        return new Visitor(holder, RAnalysisSession.getInstance(session));
     }
 
 
     private class Visitor extends RVisitor {
 
         private final ProblemsHolder myProblemHolder;
+        private final RAnalysisSession myAnalysisSession;
 
 
-        public Visitor(@NotNull ProblemsHolder holder) {
+        public Visitor(@NotNull ProblemsHolder holder, @NotNull RAnalysisSession analysisSession) {
             myProblemHolder = holder;
+            myAnalysisSession = analysisSession;
         }
 
 
         @Override
         public void visitCallExpression(@NotNull RCallExpression callExpression) {
-            try {
-                ArgumentMatcher argumentMatcher = new ArgumentMatcher(callExpression);
+            // most calls are correct calls of library functions which can be matched without loading the library file
+            if (ArgumentMatcher.matchesByStub(callExpression)) {
+                visitExpression(callExpression);
+                return;
+            }
 
+            try {
                 // white-list dplyr utilities that are handled on c++ level
                 // see comments on https://github.com/tidyverse/dplyr/issues/2218#issuecomment-294879298
 
 
-                argumentMatcher.matchArgs(callExpression.getArgumentList());
+                // the match is shared with the unresolved reference inspection
+                ArgumentMatcher.checkArgumentTypes(myAnalysisSession.matchArgs(callExpression));
             } catch (MatchingException e) {
                 myProblemHolder.registerProblem(callExpression, e.getMessage(), ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
             } catch (UnknownTypeException e) {
@@ -68,9 +75,6 @@ public class TypeCheckerInspection extends RInspection {
 
         @Override
         public void visitOperatorExpression(@NotNull ROperatorExpression operatorExpression) {
-            //NOTE Visiting ops would just make real sense only if the type system would be re-enabled.
-            // At the moment it's just eating CPU time, but we keep it for easy "renablility"
-
             ROperator operator = PsiTreeUtil.getChildOfType(operatorExpression, ROperator.class);
             if (operator == null) {
                 return;
@@ -82,7 +86,7 @@ public class TypeCheckerInspection extends RInspection {
             PsiReference referenceToFunction = operator.getReference();
 
             try {
-                new ArgumentMatcher(referenceToFunction).matchArgs(operatorExpression);
+                ArgumentMatcher.checkArgumentTypes(new ArgumentMatcher(referenceToFunction).matchArgs(operatorExpression));
             } catch (MatchingException e) {
                 myProblemHolder.registerProblem(operatorExpression, e.getMessage(), ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
             } catch (UnknownTypeException e) {
@@ -116,7 +120,7 @@ public class TypeCheckerInspection extends RInspection {
 
     @Override
     public void inspectionFinished(@NotNull LocalInspectionToolSession session, @NotNull ProblemsHolder problemsHolder) {
-        Map<RPsiElement, RErrorType> errors = RTypeContext.getExpressionsWithError(problemsHolder.getProject());
+        Map<RPsiElement, RErrorType> errors = RTypeContext.getExpressionsWithError(problemsHolder.getFile());
         for (Map.Entry<RPsiElement, RErrorType> error : errors.entrySet()) {
             problemsHolder.registerProblem(error.getKey(), error.getValue().getErrorMessage(), ProblemHighlightType.GENERIC_ERROR);
         }
@@ -12,7 +12,6 @@ import com.r4intellij.RPsiUtils;
 import com.r4intellij.editor.RCompletionContributor;
 import com.r4intellij.intentions.ImportLibraryFix;
 import com.r4intellij.psi.api.*;
-import com.r4intellij.psi.references.RReferenceImpl;
 import com.r4intellij.psi.references.ResolveResultWrapper;
 import com.r4intellij.settings.RCodeInsightSettings;
 import com.r4intellij.typing.*;
@@ -41,17 +40,19 @@ public class UnresolvedReferenceInspection extends RInspection {
     @NotNull
     @Override
     public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return new ReferenceVisitor(holder);
+        return new ReferenceVisitor(holder, RAnalysisSession.getInstance(session));
     }
 
 
     private class ReferenceVisitor extends RVisitor {
 
         private final ProblemsHolder myProblemHolder;
+        private final RAnalysisSession myAnalysisSession;
 
 
-        public ReferenceVisitor(@NotNull ProblemsHolder holder) {
+        public ReferenceVisitor(@NotNull ProblemsHolder holder, @NotNull RAnalysisSession analysisSession) {
             myProblemHolder = holder;
+            myAnalysisSession = analysisSession;
         }
 
 
@@ -59,7 +60,7 @@ public class UnresolvedReferenceInspection extends RInspection {
         public void visitOperator(@NotNull ROperator element) {
             if (!element.getText().startsWith("%")) return;
 
-            ResolveResultWrapper resultWrapper = element.getReference().resolve(false);
+            ResolveResultWrapper resultWrapper = myAnalysisSession.resolve(element);
             handleResolveResult(element, resultWrapper);
         }
 
@@ -126,11 +127,9 @@ public class UnresolvedReferenceInspection extends RInspection {
             }
 
             // resolve normally
-            RReferenceImpl reference = element.getReference();
-
-            if (reference != null) {
-                ResolveResultWrapper resolve = reference.resolve(true);
+            ResolveResultWrapper resolve = myAnalysisSession.resolve(element);
 
+            if (resolve != null) {
                 handleResolveResult(element, resolve);
             }
         }
@@ -141,7 +140,7 @@ public class UnresolvedReferenceInspection extends RInspection {
 
             if (resolve == null) {
                 // exclude white-listed argument positions containing unquoted variable names
-                if (isInUnquotedContext(element)) return;
+                if (isInUnquotedContext(element, myAnalysisSession)) return;
 
 
                 // add import suggestions if available
@@ -173,7 +172,7 @@ public class UnresolvedReferenceInspection extends RInspection {
     }
 
 
-    private static boolean isInUnquotedContext(PsiElement element) {
+    private static boolean isInUnquotedContext(PsiElement element, RAnalysisSession analysisSession) {
         RCallExpression callExpression = PsiTreeUtil.getParentOfType(element, RCallExpression.class);
 
         if (callExpression == null) return false;
@@ -181,7 +180,7 @@ public class UnresolvedReferenceInspection extends RInspection {
         ArgumentsMatchResult matchResult;
 
         try {
-            matchResult = new ArgumentMatcher(callExpression).matchArgs(callExpression.getArgumentList());
+            matchResult = analysisSession.matchArgs(callExpression);
 
         } catch (MatchingException | UnknownTypeException e) {
             // we failed to match the args, so we can not apply white-listing rules
@@ -207,7 +206,7 @@ public class UnresolvedReferenceInspection extends RInspection {
             // see com.r4intellij.parser.UnquotedVariablesTest.testCascadedCallAsNamedArg()
             boolean isWhiteListedArg = wlRules.stream().anyMatch(rule -> rule.matches(rParameter));
 
-            return isWhiteListedArg || isInUnquotedContext(callExpression);
+            return isWhiteListedArg || isInUnquotedContext(callExpression, analysisSession);
         }
 
         // if it's not a named parameter, is must be a triple dot match
@@ -216,7 +215,7 @@ public class UnresolvedReferenceInspection extends RInspection {
                 rule.matchesTripleDot(finalMatchResult.getFunctionType().getFunctionExpression())
         );
 
-        return isWhiteListedTD || isInUnquotedContext(callExpression);
+        return isWhiteListedTD || isInUnquotedContext(callExpression, analysisSession);
     }
 
 
@@ -4,9 +4,6 @@ import com.intellij.codeInspection.LocalInspectionToolSession;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElementVisitor;
-import com.intellij.psi.PsiReference;
-import com.intellij.psi.search.searches.ReferencesSearch;
-import com.intellij.util.Query;
 import com.r4intellij.psi.api.RParameter;
 import com.r4intellij.psi.api.RVisitor;
 import org.jetbrains.annotations.Nls;
@@ -26,7 +23,7 @@ public class UnusedParameterInspection extends RInspection {
     @NotNull
     @Override
     public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return new Visitor(holder);
+        return new Visitor(holder, RAnalysisSession.getInstance(session));
     }
 
 
@@ -34,17 +31,18 @@ public class UnusedParameterInspection extends RInspection {
 
         private final ProblemsHolder myProblemHolder;
 
+        private final RAnalysisSession myAnalysisSession;
 
-        public Visitor(@NotNull final ProblemsHolder holder) {
+
+        public Visitor(@NotNull final ProblemsHolder holder, @NotNull RAnalysisSession analysisSession) {
             myProblemHolder = holder;
+            myAnalysisSession = analysisSession;
         }
 
 
         @Override
         public void visitParameter(@NotNull RParameter o) {
-            Query<PsiReference> search = ReferencesSearch.search(o);
-            PsiReference first = search.findFirst();
-            if (first == null) {
+            if (!myAnalysisSession.getDefUseIndex(o.getContainingFile()).isRead(o)) {
                 myProblemHolder.registerProblem(o, "Unused parameter " + o.getText(), ProblemHighlightType.LIKE_UNUSED_SYMBOL);
             }
         }
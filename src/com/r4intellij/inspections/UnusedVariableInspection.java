@@ -6,9 +6,6 @@ import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiReference;
-import com.intellij.psi.search.LocalSearchScope;
-import com.intellij.psi.search.searches.ReferencesSearch;
-import com.intellij.util.Query;
 import com.r4intellij.RPsiUtils;
 import com.r4intellij.psi.RElementFactory;
 import com.r4intellij.psi.api.*;
@@ -33,7 +30,7 @@ public class UnusedVariableInspection extends RInspection {
     @NotNull
     @Override
     public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly, @NotNull LocalInspectionToolSession session) {
-        return new Visitor(holder);
+        return new Visitor(holder, RAnalysisSession.getInstance(session));
     }
 
 
@@ -41,9 +38,12 @@ public class UnusedVariableInspection extends RInspection {
 
         private final ProblemsHolder myProblemHolder;
 
+        private final RAnalysisSession myAnalysisSession;
 
-        public Visitor(@NotNull final ProblemsHolder holder) {
+
+        public Visitor(@NotNull final ProblemsHolder holder, @NotNull RAnalysisSession analysisSession) {
             myProblemHolder = holder;
+            myAnalysisSession = analysisSession;
         }
 
 
@@ -71,11 +71,7 @@ public class UnusedVariableInspection extends RInspection {
 
 
             // todo use function or loop barrier here
-            Query<PsiReference> search = ReferencesSearch.search(element, new LocalSearchScope(element.getContainingFile()));
-            PsiReference first = search.findFirst();
-
-
-            if (first == null) {
+            if (!myAnalysisSession.getDefUseIndex(element.getContainingFile()).isRead(element)) {
                 myProblemHolder.registerProblem(assignee,
                         "Variable '" + assignee.getText() + "' is never used",
                         ProblemHighlightType.LIKE_UNUSED_SYMBOL);
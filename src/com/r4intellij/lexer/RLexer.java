@@ -4,12 +4,58 @@ import com.intellij.lexer.FlexAdapter;
 import com.intellij.lexer.MergingLexerAdapter;
 import com.intellij.psi.tree.TokenSet;
 import com.r4intellij.parsing.RParserDefinition;
+import org.jetbrains.annotations.NotNull;
 
 public class RLexer extends MergingLexerAdapter {
     private static final TokenSet TOKENS_TO_MERGE = TokenSet.create(RParserDefinition.SPACE);
 
 
     public RLexer() {
-        super(new FlexAdapter(new _RLexer((java.io.Reader) null)), TOKENS_TO_MERGE);
+        super(new RFlexAdapter(), TOKENS_TO_MERGE);
+    }
+
+
+    /**
+     * Reports the brackets which are open before a token as its state, so lexing can be restarted at any token with the
+     * state reported for it. The flex lexer has just the initial lexical state, which is why the bracket state is the
+     * whole state.
+     */
+    private static class RFlexAdapter extends FlexAdapter {
+        private int myState;
+
+
+        RFlexAdapter() {
+            super(new _RLexer((java.io.Reader) null));
+        }
+
+
+        @Override
+        public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+            super.start(buffer, startOffset, endOffset, _RLexer.YYINITIAL);
+
+            getRLexer().setBracketState(initialState);
+            myState = initialState;
+        }
+
+
+        @Override
+        public int getState() {
+            return myState;
+        }
+
+
+        @Override
+        public void advance() {
+            super.advance();
+
+            // the next token is lexed lazily, so the flex lexer is still positioned before it
+            myState = getRLexer().getBracketState();
+        }
+
+
+        @NotNull
+        private _RLexer getRLexer() {
+            return (_RLexer) getFlex();
+        }
     }
 }
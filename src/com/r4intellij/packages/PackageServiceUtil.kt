@@ -8,21 +8,25 @@
 package com.r4intellij.packages
 
 import com.google.common.base.CharMatcher
-import com.google.common.collect.Lists
 import com.intellij.openapi.application.ApplicationManager
 import com.intellij.openapi.module.impl.scopes.LibraryScope
 import com.intellij.openapi.progress.ProgressIndicator
 import com.intellij.openapi.progress.ProgressManager
 import com.intellij.openapi.progress.Task
+import com.intellij.openapi.project.DumbService
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.util.Computable
+import com.intellij.psi.impl.source.PsiFileImpl
 import com.r4intellij.packages.RHelperUtil.getHelperOutput
 import com.r4intellij.packages.RSkeletonGenerator.*
 import com.r4intellij.psi.api.RAssignmentStatement
 import com.r4intellij.psi.references.RResolver.getSkeletonLibrary
 import com.r4intellij.psi.references.RResolver.getTrimmedFileName
 import com.r4intellij.psi.stubs.RAssignmentNameIndex
+import com.r4intellij.psi.stubs.RAssignmentStub
 import java.io.File
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicReference
 
 val SKELETON_PROPERTIES: List<String> = listOf(SKELETON_TITLE, SKELETON_PCKG_VERSION, SKELETON_DEPENDS, SKELETON_IMPORTS, SKELETON_SKEL_VERSION)
 
@@ -44,12 +48,55 @@ inline fun <T> runWriteAction(crossinline runnable: () -> T): T {
 }
 
 
-fun rebuildIndex(project: Project) {
+// the project of the scheduled or running index rebuild, there is at most one since all of them update the same cache
+private val rebuildingProject = AtomicReference<Project?>()
+
+private val rebuildRequested = AtomicBoolean()
+
+
+/**
+ * Rebuilds the package index once the stub index is ready. Requests arriving while a rebuild is scheduled or running
+ * are coalesced into a single rebuild which runs after it.
+ */
+fun requestIndexRebuild(project: Project) {
+    rebuildRequested.set(true)
+    startRequestedRebuild(project)
+}
+
+
+private fun startRequestedRebuild(project: Project) {
+    val rebuilding = rebuildingProject.get()
+
+    // a rebuild scheduled for a disposed project will never finish
+    if (rebuilding != null && !rebuilding.isDisposed) return
+    if (!rebuildingProject.compareAndSet(rebuilding, project)) return
+
+    DumbService.getInstance(project).smartInvokeLater {
+        if (rebuildRequested.getAndSet(false) && !project.isDisposed) {
+            rebuildIndex(project) { finishRebuild(project) }
+        } else {
+            finishRebuild(project)
+        }
+    }
+}
+
+
+private fun finishRebuild(project: Project) {
+    rebuildingProject.compareAndSet(project, null)
+
+    // skeletons published while the rebuild was running require another one
+    if (rebuildRequested.get() && !project.isDisposed) startRequestedRebuild(project)
+}
+
+
+@JvmOverloads
+fun rebuildIndex(project: Project, whenDone: () -> Unit = {}) {
 
     val library = getSkeletonLibrary(project)
 
     if (library == null) {
         RPackageService.LOG.error("Could not find skeleton library")
+        whenDone()
         return
     }
 
@@ -62,59 +109,49 @@ fun rebuildIndex(project: Project) {
     //    System.err.println("num keys is ${RAssignmentNameIndex.allKeys(project).size}")
 
 
-    if (project.isDisposed) return
-
-    val titleStatements = runReadAction { RAssignmentNameIndex.find(SKELETON_TITLE, project, LibraryScope(project, library)) }
-
-    val updateTitles = titleStatements.filter({
-        val pckgName = getTrimmedFileName(it)
-        val cachePckg = indexCache.getByName(pckgName)
-        cachePckg == null || !isSamePckgVersion(File(it.containingFile.virtualFile.canonicalPath), cachePckg.version)
-    })
-
-
-    if (updateTitles.isEmpty()) {
-        // refresh cache as well here to also clear deleted packages
-        indexCache.replaceAndCleanup(Lists.newArrayList(), project)
-        return
-    }
-
-    var indexCounter = 0
-
     ProgressManager.getInstance().run(object : Task.Backgroundable(project, "Refreshing R Index Cache...") {
         override fun run(progressIndicator: ProgressIndicator) {
+            if (project.isDisposed) return
 
-            val reindexed = updateTitles.map { titleStatement ->
-                progressIndicator.fraction = indexCounter++.toDouble() / updateTitles.size
-                progressIndicator.text = "Caching index of '${getTrimmedFileName(titleStatement)}'"
+            // the skeletons are looked up here rather than on the EDT, since this scans the whole skeleton library
+            val updateTitles = DumbService.getInstance(project).runReadActionInSmartMode(Computable {
+                RAssignmentNameIndex.find(SKELETON_TITLE, project, LibraryScope(project, library)).filter {
+                    val pckgName = getTrimmedFileName(it)
+                    val cachePckg = indexCache.getByName(pckgName)
+                    cachePckg == null || !isSamePckgVersion(File(it.containingFile.virtualFile.canonicalPath), cachePckg.version)
+                }
+            })
+
+            val reindexed = updateTitles.mapIndexed { indexCounter, titleStatement ->
+                progressIndicator.fraction = indexCounter.toDouble() / updateTitles.size
+                progressIndicator.text = "Caching index of '${runReadAction { getTrimmedFileName(titleStatement) }}'"
 
                 runReadAction { buildPackage(titleStatement) }
             }
 
-            // add the recached ones
+            // add the recached ones, and refresh the cache also without any to clear deleted packages
             indexCache.replaceAndCleanup(reindexed, project)
         }
+
+        override fun onFinished() {
+            whenDone()
+        }
     })
 }
 
 
 private val dquoteMatcher = CharMatcher.anyOf("\"")
 
+// same as is_identifier in skeletonize_package.R
+private val syntacticName = Regex("^[\\p{L}_.][\\p{L}\\p{Nd}_.]*$")
+
 private fun buildPackage(titleStatement: RAssignmentStatement): RPackage {
     val packageName = getTrimmedFileName(titleStatement)
+    val skeletonFile = titleStatement.containingFile as PsiFileImpl
 
-    // ore filterIsInstance<RAssignmentStatement>()
-    val skelAssignments = titleStatement.containingFile.children.mapNotNull { it as? RAssignmentStatement }
-
-    val splitBySkelProp = skelAssignments.groupBy({ it -> SKELETON_PROPERTIES.contains(it.assignee.text) }, { it })
-
-
-    // narrow down to properties
-    val skelProps = runReadAction {
-        splitBySkelProp.get(true)!!.map { propAssign ->
-            propAssign.assignee.text to dquoteMatcher.trimFrom(propAssign.assignedValue.text)
-        }
-    }.toMap()
+    // read the properties from the end of the skeleton and the symbols from its stubs, so that the skeleton is not parsed
+    val skelProps = RSkeletonFileInfo.of(File(skeletonFile.virtualFile.canonicalPath)).properties
+            .mapValues { dquoteMatcher.trimFrom(it.value) }
 
     // not we can assume the presence of all properties here, otherwise the skeleton would have not been copy into the library
     val title = skelProps.get(SKELETON_TITLE)!!
@@ -124,11 +161,14 @@ private fun buildPackage(titleStatement: RAssignmentStatement): RPackage {
 
     val rPackage = RPackage(packageName, version, title, depends.toSet(), imports.toSet())
 
+    val stubTree = skeletonFile.greenStubTree ?: skeletonFile.calcStubTree()
+    val symbols = stubTree.root.childrenStubs.filterIsInstance<RAssignmentStub>()
+            .filter { it.name != null && !SKELETON_PROPERTIES.contains(it.name) }
+
     // continue here treating data and functions differently
-    val symbols = splitBySkelProp.getOrElse(false, { emptyList() })
-    val dataFunSplit = symbols.partition { it -> it.assignedValue.text.startsWith(packageName!! + "::") }
-    val packageFunctions = dataFunSplit.second.map { PckgFunction(it.assignee.text) }
-    val packageData = dataFunSplit.first.map { PckgDataSet(it.assignee.text) }
+    val dataFunSplit = symbols.partition { it.isDataSet }
+    val packageFunctions = dataFunSplit.second.map { PckgFunction(quoteNonSyntactic(it.name!!)) }
+    val packageData = dataFunSplit.first.map { PckgDataSet(quoteNonSyntactic(it.name!!)) }
 
     rPackage.setFunctions(packageFunctions)
     rPackage.setDatSets(packageData)
@@ -138,6 +178,10 @@ private fun buildPackage(titleStatement: RAssignmentStatement): RPackage {
 }
 
 
+/** Stubs keep names without quotes, but skeletons quote non-syntactic names like operators. */
+private fun quoteNonSyntactic(name: String) = if (syntacticName.matches(name)) name else "`$name`"
+
+
 /**
  * Fetch R package info including description and version.
  */
@@ -45,6 +45,16 @@ public class PckgFunction implements Serializable {
     }
 
 
+    String getRawSignature() {
+        return funSignature;
+    }
+
+
+    void setRawSignature(String funSignature) {
+        this.funSignature = funSignature;
+    }
+
+
     public void setShortDesc(String fundDesc) {
         this.shortDesc = fundDesc;
     }
@@ -7,6 +7,7 @@ import com.intellij.execution.process.CapturingProcessHandler;
 import com.intellij.execution.process.ProcessOutput;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.util.PathUtil;
 import com.r4intellij.RPsiUtils;
@@ -70,6 +71,18 @@ public class RHelperUtil {
 
   @Nullable
   public static RRunResult runHelperWithArgs(@NotNull final PluginResourceFile helper, @NotNull final String... args) {
+    return runHelperWithArgs(helper, null, 5 * RPsiUtils.MINUTE, args);
+  }
+
+
+  /**
+   * Runs the helper script and kills it if it does not complete in time or if the indicator is canceled.
+   */
+  @Nullable
+  public static RRunResult runHelperWithArgs(@NotNull final PluginResourceFile helper,
+                                             @Nullable final ProgressIndicator indicator,
+                                             final int timeoutMillis,
+                                             @NotNull final String... args) {
 
     if (!RSettings.hasInterpreter()) {
       LOG.info("Path to interpreter didn't set");
@@ -88,9 +101,13 @@ public class RHelperUtil {
 
     try {
       CapturingProcessHandler processHandler = new CapturingProcessHandler(new GeneralCommandLine(command));
-      final ProcessOutput output = processHandler.runProcess(5 * RPsiUtils.MINUTE);
+      final ProcessOutput output = indicator != null ?
+          processHandler.runProcessWithProgressIndicator(indicator, timeoutMillis) :
+          processHandler.runProcess(timeoutMillis);
 
-      if (output.getExitCode() != 0) {
+      if (output.isTimeout() || output.isCancelled()) {
+        LOG.info("Script was " + (output.isTimeout() ? "timed out" : "cancelled") + ": " + StringUtil.join(command, " "));
+      } else if (output.getExitCode() != 0) {
         LOG.warn("Failed to run script. Exit code: " + output.getExitCode());
         LOG.warn(output.getStderr());
       }
@@ -149,12 +166,16 @@ public class RHelperUtil {
     private final String myStdOut;
     private final String myStdErr;
     private int myExitCode;
+    private final boolean myTimeout;
+    private final boolean myCancelled;
 
     public RRunResult(@NotNull String command, @NotNull ProcessOutput output) {
       this.myCommand = command;
       this.myExitCode = output.getExitCode();
       this.myStdOut = output.getStdout();
       this.myStdErr = output.getStderr();
+      this.myTimeout = output.isTimeout();
+      this.myCancelled = output.isCancelled();
     }
 
     @NotNull
@@ -175,5 +196,13 @@ public class RHelperUtil {
     public int getExitCode() {
       return myExitCode;
     }
+
+    public boolean isTimeout() {
+      return myTimeout;
+    }
+
+    public boolean isCancelled() {
+      return myCancelled;
+    }
   }
 }
@@ -7,16 +7,27 @@
 
 package com.r4intellij.packages;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
+import com.google.common.base.CharMatcher;
 import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.OrderRootType;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
-import com.intellij.spellchecker.SpellCheckerManager;
-import com.intellij.spellchecker.dictionary.EditableDictionary;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.r4intellij.RFileType;
 import com.r4intellij.psi.api.RFile;
+import com.r4intellij.psi.api.RReferenceExpression;
+import com.r4intellij.psi.references.MissingImportResolveResult;
+import com.r4intellij.psi.references.RReferenceImpl;
 import com.r4intellij.psi.references.RResolver;
 import com.r4intellij.settings.RSettings;
 import org.jetbrains.annotations.NotNull;
@@ -26,6 +37,7 @@ import java.io.*;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,13 +46,29 @@ import java.util.stream.Stream;
  */
 public class RIndexCache {
 
-    // private fields won't be serialized
-    // see http://www.jetbrains.org/intellij/sdk/docs/basics/persisting_state_of_components.html
-    // making it non-static is causing the loss of all content after loadSkeletonCache was run
-//    @Transient
-    private Set<RPackage> allPackages; // = Sets.newConcurrentHashSet();
-//    private transient static Set<RPackage> allPackages; // = Sets.newConcurrentHashSet();
-//    public Set<RPackage> packages = ContainerUtil.newConcurrentSet();
+    protected static final Logger LOG = Logger.getInstance("#" + RIndexCache.class.getName());
+
+    private static final String LEGACY_INDEX_FILE_NAME = ".libindex.dat";
+
+    // packages are decoded lazily from the index file, so here we just keep the ones which were requested already
+    private final Map<String, RPackage> loadedPackages = new ConcurrentHashMap<>();
+
+    private RPackageIndexFile indexFile;
+
+    // package name -> package followed by its transitive dependencies, reset on index updates
+    private final Map<String, List<String>> dependencyClosures = new ConcurrentHashMap<>();
+
+    private final SimpleModificationTracker indexModificationTracker = new SimpleModificationTracker();
+
+    private static final List<String> TIDYVERSE_ATTACHMENTS = Arrays.asList("magrittr", "stringr", "dplyr", "purrr", "readr", "tidyr", "tibble", "ggplot2");
+
+    private static final CharMatcher SYMBOL_QUOTES = CharMatcher.is('`');
+
+    // inverted index from function and data set names to the names of the packages providing them
+    private volatile Map<String, Set<String>> symbolIndex;
+
+    // spell checker words, patched with the changes of index updates
+    private final RIndexDictionary dictionary = new RIndexDictionary(this::getDictionaryWords);
 
 
     private static RIndexCache INSTANCE;
@@ -56,114 +84,286 @@ public class RIndexCache {
     }
 
 
-    private void loadSkeletonCache() {
-        if (allPackages != null) {
+    private synchronized void loadSkeletonCache() {
+        if (indexFile != null || !RSettings.hasInterpreter()) {
             return;
         }
 
-
-        //noinspection unchecked
-        if (RSettings.hasInterpreter()) {
-            allPackages = (Set<RPackage>) loadObject(getLibIndexFile());
+        // drop the java-serialized index of earlier versions, it will be rebuilt from the skeletons
+        File legacyIndexFile = new File(RSkeletonGenerator.getSkeletonsPath(), LEGACY_INDEX_FILE_NAME);
+        if (legacyIndexFile.exists() && !legacyIndexFile.delete()) {
+            LOG.warn("Failed to delete legacy package index " + legacyIndexFile);
         }
 
-        //        http://stackoverflow.com/questions/6992608/why-there-is-no-concurrenthashset-against-concurrenthashmap
-        if (allPackages == null) {
-//            allPackages = Sets.newConcurrentHashSet();
-            allPackages = Collections.emptySet();
+        // just the record offsets are read here, packages are decoded on first access
+        try {
+            indexFile = RPackageIndexFile.open(getLibIndexFile());
+        } catch (IOException e) {
+            LOG.warn("could not load R package index cache", e);
         }
+    }
+
 
-        // this would presevere the content also for a non-static
-//        allPackages = Collections.unmodifiableSet(allPackages);
-        //        allPackages = new HashSet<>(allPackages);
-        allPackages = Sets.newConcurrentHashSet(allPackages);
+    @Nullable
+    private RPackageIndexFile getIndexFile() {
+        // the interpreter might have been configured after the cache was created
+        if (indexFile == null) loadSkeletonCache();
 
-        // update index (no fancy sync anymore because it's superfast anyway)
-        // disabled because trigger after skeleton-refresh now
-//        ApplicationManager.getApplication().executeOnPooledThread((Runnable) this::refreshIndex);
+        return indexFile;
     }
 
 
-    static Object loadObject(File f) {
-        // /Users/brandl/.gradle/caches/modules-2/files-2.1/com.jetbrains.intellij.idea/ideaIC/2017.1/e6f4c74ac091e55d0ac4e2ad26d91c12a4f23592/ideaIC-2017.1/system/r_skeletons/1481726564/.libindex.dat
-        try {
-            FileInputStream fin = new FileInputStream(f);
-            ObjectInputStream ois = new ObjectInputStream(fin);
-            Object o = ois.readObject();
-            ois.close();
-
-            return o;
-        } catch (Throwable e) {
-            System.err.println("could not load R package index cache, error was:\n" + e);
-        }
+    /**
+     * Returns all indexed packages. Since this requires to decode the complete index, prefer {@link #getByName(String)}
+     * if possible.
+     */
+    public Set<RPackage> getPackages() {
+        RPackageIndexFile indexFile = getIndexFile();
+        if (indexFile == null) return Collections.emptySet();
 
-        return null;
+        return Collections.unmodifiableSet(indexFile.getPackageNames().stream()
+                .map(this::getByName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
     }
 
 
-    static void saveObject(Object o, File f) {
-        try {
-            FileOutputStream fout = new FileOutputStream(f);
-            ObjectOutputStream oos = new ObjectOutputStream(fout);
-            oos.writeObject(o);
-            oos.close();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    @Deprecated
+    public void removeUninstalled(List<String> noLongerInstalled) {
+        updateIndex(Collections.emptyList(), noLongerInstalled);
+    }
+
+
+    public void replaceAndCleanup(@NotNull List<RPackage> reindexed, Project project) {
+        List<String> removed = cleanup(project);
+
+        Set<String> changedSymbols = updateIndex(reindexed, removed);
+
+        Set<String> changedPackages = Stream.concat(reindexed.stream().map(RPackage::getName), removed.stream())
+                .collect(Collectors.toSet());
+
+        if (!changedPackages.isEmpty()) saveCache(project, changedPackages, changedSymbols);
+    }
+
+
+    // returns the keys of the symbols which were or are now provided by the changed packages
+    @NotNull
+    private Set<String> updateIndex(@NotNull List<RPackage> reindexed, @NotNull List<String> removed) {
+        RPackageIndexFile indexFile = getIndexFile();
+        if (indexFile == null) return Collections.emptySet();
+
+        Set<String> changedSymbols = new HashSet<>();
+        Set<String> addedWords = new HashSet<>();
+        Set<String> removedWords = new HashSet<>();
+
+        synchronized (this) {
+            // drop the symbols of the outdated packages before their records are replaced
+            Map<String, Set<String>> symbols = symbolIndex;
+            Stream.concat(removed.stream(), reindexed.stream().map(RPackage::getName))
+                    .filter(indexFile::contains)
+                    .forEach(outdated -> {
+                        List<String> outdatedSymbols = indexFile.readSymbols(outdated);
+                        outdatedSymbols.forEach(symbol -> changedSymbols.add(symbolKey(symbol)));
+
+                        if (symbols != null) {
+                            removeSymbols(symbols, outdated, outdatedSymbols);
+                            removedWords.addAll(getWords(outdated, outdatedSymbols));
+                        }
+                    });
+
+            try {
+                indexFile.write(reindexed, removed);
+            } catch (IOException e) {
+                LOG.error("Failed to update R package index cache", e);
+            }
+
+            removed.forEach(loadedPackages::remove);
+            reindexed.forEach(rPackage -> loadedPackages.put(rPackage.getName(), rPackage));
+
+            reindexed.forEach(rPackage -> {
+                List<String> packageSymbols = getSymbols(rPackage);
+                packageSymbols.forEach(symbol -> changedSymbols.add(symbolKey(symbol)));
+
+                if (symbols != null) {
+                    addSymbols(symbols, rPackage.getName(), packageSymbols);
+                    addedWords.addAll(getWords(rPackage.getName(), packageSymbols));
+                }
+            });
+
+            if (symbols != null) {
+                // words of outdated packages might still be provided by other packages
+                Set<String> packageNames = new HashSet<>(indexFile.getPackageNames());
+                removedWords.removeIf(word -> symbols.containsKey(word) || packageNames.contains(word));
+            }
+
+            dependencyClosures.clear();
+            indexModificationTracker.incModificationCount();
         }
+
+        // the dictionary is loaded from the symbol index, so it can't be loaded yet if there was none
+        dictionary.update(addedWords, removedWords);
+
+        return changedSymbols;
     }
 
 
-    public Set<RPackage> getPackages() {
-        return Collections.unmodifiableSet(allPackages);
+    /**
+     * Returns the spell checker dictionary of the indexed package, function and data set names.
+     */
+    @NotNull
+    public RIndexDictionary getDictionary() {
+        return dictionary;
     }
 
 
-    @Deprecated
-    public void removeUninstalled(List<String> noLongerInstalled) {
-        List<RPackage> removed = noLongerInstalled.stream()
-                .map(this::getByName)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    @NotNull
+    private Collection<String> getDictionaryWords() {
+        RPackageIndexFile indexFile = getIndexFile();
+        if (indexFile == null) return Collections.emptyList();
 
-        allPackages.removeAll(removed);
+        Set<String> words = new HashSet<>(getSymbolIndex().keySet());
+        words.addAll(indexFile.getPackageNames());
+
+        return words;
     }
 
 
-    public void replaceAndCleanup(@NotNull List<RPackage> reindexed, Project project) {
-        allPackages.removeAll(reindexed);
-        allPackages.addAll(reindexed);
+    @NotNull
+    private static Set<String> getWords(String packageName, List<String> packageSymbols) {
+        Set<String> words = packageSymbols.stream()
+                .map(RIndexCache::symbolKey)
+                .collect(Collectors.toSet());
+        words.add(packageName);
+
+        return words;
+    }
+
 
-        boolean changed = !reindexed.isEmpty() || cleanup(project);
+    /**
+     * Tracks changes of the package index. Use it as dependency for cached values derived from the index.
+     */
+    @NotNull
+    public ModificationTracker getModificationTracker() {
+        return indexModificationTracker;
+    }
 
-        if (changed) saveCache(project);
+
+    /**
+     * Returns the names of all indexed packages which provide a function or data set with the given name.
+     */
+    @NotNull
+    public Set<String> getPackagesProviding(@NotNull String symbol) {
+        return Collections.unmodifiableSet(getSymbolIndex().getOrDefault(symbolKey(symbol), Collections.emptySet()));
     }
 
 
-    private void saveCache(Project project) {
-        saveObject(new HashSet<>(allPackages), getLibIndexFile());
-        //        ApplicationManager.getApplication().invokeLater(new Runnable() {
+    // skeletons quote operators and non-syntactic names, while references may use them without quotes
+    @NotNull
+    private static String symbolKey(@NotNull String symbol) {
+        return SYMBOL_QUOTES.trimFrom(symbol);
+    }
 
-//        if (ApplicationManager.getApplication() != null) {
-//            Project[] projects = ProjectManager.getInstance().getOpenProjects();
-//            for (Project project : projects) {
-        if (project.isInitialized() && project.isOpen() && !project.isDefault()) {
-            SpellCheckerManager spellCheckerManager = SpellCheckerManager.getInstance(project);
-            EditableDictionary dictionary = spellCheckerManager.getUserDictionary();
 
-            for (RPackage rPackage : getPackages()) {
-                dictionary.addToDictionary(rPackage.getName());
-                dictionary.addToDictionary(rPackage.getFunctionNames());
-                dictionary.addToDictionary(rPackage.getDataSetNames());
+    @NotNull
+    private Map<String, Set<String>> getSymbolIndex() {
+        Map<String, Set<String>> symbols = symbolIndex;
+        if (symbols != null) return symbols;
+
+        synchronized (this) {
+            if (symbolIndex == null) {
+                Map<String, Set<String>> newIndex = new ConcurrentHashMap<>();
+
+                // just the symbol names are read from the index file, the packages themselves stay undecoded
+                RPackageIndexFile indexFile = getIndexFile();
+                if (indexFile != null) {
+                    indexFile.getPackageNames().forEach(packageName ->
+                            addSymbols(newIndex, packageName, indexFile.readSymbols(packageName)));
+                }
+
+                symbolIndex = newIndex;
             }
 
-            DaemonCodeAnalyzer.getInstance(project).restart();
+            return symbolIndex;
         }
-//            });
+    }
+
+
+    @NotNull
+    private static List<String> getSymbols(RPackage rPackage) {
+        return Stream.concat(rPackage.getFunctionNames().stream(), rPackage.getDataSetNames().stream())
+                .collect(Collectors.toList());
+    }
+
+
+    private static void addSymbols(Map<String, Set<String>> symbols, String packageName, List<String> packageSymbols) {
+        packageSymbols.forEach(symbol -> symbols.computeIfAbsent(symbolKey(symbol), key -> ConcurrentHashMap.newKeySet()).add(packageName));
+    }
+
+
+    private static void removeSymbols(Map<String, Set<String>> symbols, String packageName, List<String> packageSymbols) {
+        packageSymbols.forEach(symbol -> symbols.computeIfPresent(symbolKey(symbol), (key, packageNames) -> {
+            packageNames.remove(packageName);
+            return packageNames.isEmpty() ? null : packageNames;
+        }));
+    }
+
+
+    private void saveCache(Project project, Set<String> changedPackages, Set<String> changedSymbols) {
+        // note: the index file itself and the spell checker dictionary have already been updated in updateIndex()
+
+        if (project.isInitialized() && project.isOpen() && !project.isDefault()) {
+            PsiManager psiManager = PsiManager.getInstance(project);
 
+            // cached resolve results might refer to the previous index state
+            psiManager.dropResolveCaches();
+
+            // just the open files which refer to one of the changed packages need to be highlighted again
+            ApplicationManager.getApplication().runReadAction(() -> {
+                DaemonCodeAnalyzer daemonCodeAnalyzer = DaemonCodeAnalyzer.getInstance(project);
+
+                for (VirtualFile openFile : FileEditorManager.getInstance(project).getOpenFiles()) {
+                    PsiFile psiFile = openFile.isValid() ? psiManager.findFile(openFile) : null;
+
+                    if (psiFile instanceof RFile && refersToAny((RFile) psiFile, changedPackages, changedSymbols)) {
+                        daemonCodeAnalyzer.restart(psiFile);
+                    }
+                }
+            });
+        }
+    }
+
+
+    private boolean refersToAny(RFile rFile, Set<String> packageNames, Set<String> symbols) {
+        // the file as query element covers all of its imports, default packages are attached anyway
+        if (resolveDependencyNames(rFile.getImportedPackages(rFile)).stream().anyMatch(packageNames::contains)) {
+            return true;
+        }
+
+        // namespace prefixes don't need an import, and the import fixes of unresolved names offer the providing packages
+        return PsiTreeUtil.findChildrenOfType(rFile, RReferenceExpression.class).stream().anyMatch(reference -> {
+            String namespace = reference.getNamespace();
+            if (namespace != null) return packageNames.contains(namespace);
+
+            String name = reference.getName();
+            return name != null && symbols.contains(symbolKey(name)) && isUnresolved(reference);
+        });
+    }
+
+
+    // names which just resolve to the packages which would need to be imported count as unresolved as well
+    private static boolean isUnresolved(RReferenceExpression reference) {
+        RReferenceImpl psiReference = reference.getReference();
+        if (psiReference == null) return false;
+
+        return Arrays.stream(psiReference.multiResolve(false)).allMatch(result -> result instanceof MissingImportResolveResult);
     }
 
 
-    boolean cleanup(Project project) {
+    /**
+     * Determines the indexed packages for which there is no longer a skeleton file.
+     */
+    @NotNull
+    List<String> cleanup(Project project) {
 //         val libraryTable = LibraryTablesRegistrar.getInstance().getLibraryTable(project)
 //         val library = libraryTable.getLibraryByName(LibraryUtil.R_SKELETONS)
 //
@@ -184,27 +384,27 @@ public class RIndexCache {
 //         }
 //
 //
+        RPackageIndexFile indexFile = getIndexFile();
+        if (indexFile == null) return Collections.emptyList();
+
         // remove no longer present packages from index
         String[] skeletonLibURLs = RResolver.getSkeletonLibrary(project).getRootProvider().getUrls(OrderRootType.CLASSES);
 
         // we would not expect it to be empty, but it seems to happen as described in multiple tickets such
         // as https://github.com/holgerbrandl/r4intellij/issues/155
         if (skeletonLibURLs.length == 0) {
-            return false;
+            return Collections.emptyList();
         }
 
         String skeletonsDirURL = skeletonLibURLs[0];
         File skeletonsDir = new File(toURL(skeletonsDirURL).getFile());
 //        String skeletonsDir = RSkeletonGenerator.getSkeletonsPath();
 
-        List<RPackage> removed = allPackages.stream().filter(rPackage -> {
-            File skelFile = new File(skeletonsDir, rPackage.getName() + RFileType.DOT_R_EXTENSION);
+        // note: works on the names only to avoid decoding the packages
+        return indexFile.getPackageNames().stream().filter(packageName -> {
+            File skelFile = new File(skeletonsDir, packageName + RFileType.DOT_R_EXTENSION);
             return !skelFile.exists();
         }).collect(Collectors.toList());
-
-        allPackages.removeAll(removed);
-
-        return !removed.isEmpty();
     }
 
 
@@ -221,18 +421,9 @@ public class RIndexCache {
     @Deprecated
     public static void getTestInstance() {
         RIndexCache indexCache = getInstance();
-        File indexFile = indexCache.getLibIndexFile();
-
-        if (indexFile.exists()) {
-            indexCache.allPackages = (Set<RPackage>) loadObject(indexFile);
-        }
 
-        if (indexCache.allPackages == null) {
-            System.err.print("building package index for testing... ");
-            indexCache.allPackages = Sets.newConcurrentHashSet();
-//            indexCache.refreshIndexCache();
-            saveObject(new HashSet<>(indexCache.allPackages), indexFile);
-            System.err.println("Done");
+        if (indexCache.getIndexFile() == null) {
+            System.err.println("could not open package index for testing");
         }
     }
 
@@ -243,60 +434,116 @@ public class RIndexCache {
             new File(skeletonsPath).mkdirs();
         }
 
-        return new File(skeletonsPath, ".libindex.dat");
+        return new File(skeletonsPath, ".libindex.bin");
     }
 
 
     public boolean isReady() {
-        return allPackages != null && !allPackages.isEmpty();
+        RPackageIndexFile indexFile = getIndexFile();
+        return indexFile != null && !indexFile.isEmpty();
     }
 
 
     public List<String> findImportsFor(@NotNull PsiElement element) {
-        List<String> importedPackages = ((RFile) element.getContainingFile()).getImportedPackages(element);
+        RFile rFile = (RFile) element.getContainingFile();
+        List<String> importedPackages = rFile.getImportedPackages(element);
 
-        return resolveDependencies(importedPackages).stream().map(RPackage::getName).collect(Collectors.toList());
+        // all elements preceded by the same import statements share the resolved imports
+        Map<List<String>, List<String>> fileImports = CachedValuesManager.getCachedValue(rFile, () ->
+                CachedValueProvider.Result.create(new ConcurrentHashMap<List<String>, List<String>>(), rFile, indexModificationTracker));
+
+        return fileImports.computeIfAbsent(importedPackages, packageNames ->
+                Collections.unmodifiableList(resolveDependencyNames(packageNames)));
     }
 
 
     public List<RPackage> resolveDependencies(Collection<String> packageNames) {
-        Iterable<RPackage> packages = packageNames.stream().
-                map(this::getByName).
-                filter(Objects::nonNull).
-                collect(Collectors.toList());
-
-        List<RPackage> dependencies = Lists.newArrayList(packages).stream().
-                flatMap(f -> {
-                    List<RPackage> resolvedImports = resolveDependencies(f.getDependencies());
-                    resolvedImports.add(0, f);
-                    return resolvedImports.stream();
-                }).collect(Collectors.toList());
+        return resolveDependencyNames(packageNames).stream()
+                .map(this::getByName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Resolves the given packages and their transitive dependencies in attachment order without duplicates.
+     */
+    private List<String> resolveDependencyNames(Collection<String> packageNames) {
+        Set<String> dependencies = new LinkedHashSet<>();
+
+        for (String packageName : packageNames) {
+            dependencies.addAll(getDependencyClosure(packageName));
+        }
+
+        return new ArrayList<>(dependencies);
+    }
 
-        // workaround for https://github.com/tidyverse/tidyverse/issues/40
 
+    /**
+     * Returns the package itself followed by its transitive <code>Depends</code> closure. Closures are memoized until
+     * the next index update.
+     */
+    @NotNull
+    private List<String> getDependencyClosure(String packageName) {
+        List<String> closure = dependencyClosures.get(packageName);
+        if (closure != null) return closure;
+
+        long indexVersion = indexModificationTracker.getModificationCount();
+        closure = Collections.unmodifiableList(buildDependencyClosure(packageName));
+
+        // don't memoize closures which were built while the index was updated
+        if (indexVersion == indexModificationTracker.getModificationCount()) {
+            dependencyClosures.put(packageName, closure);
+        }
+
+        return closure;
+    }
+
+
+    private List<String> buildDependencyClosure(String packageName) {
+        // depth-first in declaration order, the visited set also protects against cyclic dependencies
+        Set<String> closure = new LinkedHashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        stack.push(packageName);
 
-        if (dependencies.stream().anyMatch(rpg -> rpg.getName().equals("tidyverse"))) {
-            List<RPackage> tidyverseAttachments = Stream.of("magrittr", "stringr", "dplyr", "purrr", "readr", "tidyr", "tibble", "ggplot2").
-                    map(this::getByName).
-                    filter(Objects::nonNull).collect(Collectors.toList());
+        while (!stack.isEmpty()) {
+            RPackage rPackage = getByName(stack.pop());
+            if (rPackage == null || !closure.add(rPackage.getName())) continue;
 
-            int tidyverse = dependencies.stream().map(RPackage::getName).collect(Collectors.toList()).indexOf("tidyverse");
-            dependencies.addAll(tidyverse + 1, tidyverseAttachments);
+            List<String> dependencies = new ArrayList<>(rPackage.getDependencies());
+            Collections.reverse(dependencies);
+            dependencies.forEach(stack::push);
         }
 
-        return dependencies;
+        List<String> result = new ArrayList<>(closure);
+
+        // workaround for https://github.com/tidyverse/tidyverse/issues/40
+        int tidyverse = result.indexOf("tidyverse");
+        if (tidyverse >= 0) {
+            List<String> tidyverseAttachments = TIDYVERSE_ATTACHMENTS.stream()
+                    .filter(attachment -> getByName(attachment) != null)
+                    .collect(Collectors.toList());
+
+            result.addAll(tidyverse + 1, tidyverseAttachments);
+            result = new ArrayList<>(new LinkedHashSet<>(result));
+        }
+
+        return result;
     }
 
 
     @Nullable
     public RPackage getByName(String packageName) {
-        for (RPackage aPackage : RIndexCache.getInstance().getPackages()) {
-            if (aPackage.getName().equals(packageName)) {
-                return aPackage;
-            }
-        }
+        if (packageName == null) return null;
+
+        RPackage cached = loadedPackages.get(packageName);
+        if (cached != null) return cached;
+
+        RPackageIndexFile indexFile = getIndexFile();
+        if (indexFile == null) return null;
 
-        return null;
+        // note: computeIfAbsent does not record a mapping if the package is not indexed
+        return loadedPackages.computeIfAbsent(packageName, indexFile::read);
     }
 
 }
@@ -0,0 +1,122 @@
+package com.r4intellij.packages;
+
+import com.intellij.spellchecker.dictionary.Dictionary;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Spell checker dictionary of the indexed package, function and data set names. The words are kept in a sorted array
+ * which is built on first use and then patched with the words of changed packages, so index updates don't touch the
+ * dictionary of the user.
+ */
+public class RIndexDictionary implements Dictionary {
+
+    private static final String NAME = "R Packages";
+
+    private static final String[] NO_WORDS = new String[0];
+
+    private final Supplier<Collection<String>> wordsProvider;
+
+    // sorted and without duplicates, null until first use
+    private volatile String[] words;
+
+
+    public RIndexDictionary(@NotNull Supplier<Collection<String>> wordsProvider) {
+        this.wordsProvider = wordsProvider;
+    }
+
+
+    @NotNull
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+
+    @Nullable
+    @Override
+    public Boolean contains(@NotNull String word) {
+        // unknown words are left to the other dictionaries
+        return Arrays.binarySearch(getSortedWords(), word) >= 0 ? Boolean.TRUE : null;
+    }
+
+
+    @NotNull
+    @Override
+    public Set<String> getWords() {
+        String[] sortedWords = getSortedWords();
+
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return Collections.unmodifiableList(Arrays.asList(sortedWords)).iterator();
+            }
+
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof String && Arrays.binarySearch(sortedWords, o) >= 0;
+            }
+
+
+            @Override
+            public int size() {
+                return sortedWords.length;
+            }
+        };
+    }
+
+
+    public boolean isLoaded() {
+        return words != null;
+    }
+
+
+    /**
+     * Merges the changes of an index update into the dictionary. Nothing is done if it has not been loaded yet, since it
+     * will reflect the updated index once it is.
+     */
+    public synchronized void update(@NotNull Collection<String> added, @NotNull Collection<String> removed) {
+        String[] current = words;
+        if (current == null) return;
+
+        String[] newWords = new TreeSet<>(added).stream()
+                .filter(word -> Arrays.binarySearch(current, word) < 0)
+                .toArray(String[]::new);
+        Set<String> removedWords = new HashSet<>(removed);
+
+        String[] result = new String[current.length + newWords.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < current.length || j < newWords.length) {
+            String word = j == newWords.length || (i < current.length && current[i].compareTo(newWords[j]) < 0)
+                    ? current[i++]
+                    : newWords[j++];
+
+            if (!removedWords.contains(word)) result[size++] = word;
+        }
+
+        words = size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+
+    @NotNull
+    private String[] getSortedWords() {
+        String[] sortedWords = words;
+        if (sortedWords != null) return sortedWords;
+
+        synchronized (this) {
+            if (words == null) {
+                Collection<String> allWords = wordsProvider.get();
+                words = allWords.isEmpty() ? NO_WORDS : new TreeSet<>(allWords).toArray(NO_WORDS);
+            }
+
+            return words;
+        }
+    }
+}
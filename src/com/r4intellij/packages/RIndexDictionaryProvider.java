@@ -0,0 +1,17 @@
+package com.r4intellij.packages;
+
+import com.intellij.spellchecker.dictionary.Dictionary;
+import com.intellij.spellchecker.dictionary.RuntimeDictionaryProvider;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Provides the names of the indexed packages, functions and data sets to the spell checker.
+ */
+public class RIndexDictionaryProvider implements RuntimeDictionaryProvider {
+
+    @NotNull
+    @Override
+    public Dictionary[] getDictionaries() {
+        return new Dictionary[]{RIndexCache.getInstance().getDictionary()};
+    }
+}
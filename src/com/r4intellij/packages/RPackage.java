@@ -4,7 +4,6 @@ package com.r4intellij.packages;
 
 import java.io.Serializable;
 import java.util.*;
-import java.util.stream.Collectors;
 
 
 /**
@@ -27,6 +26,10 @@ public class RPackage implements Serializable {
 
     private String repoUrl;
 
+    // hash based lookup tables for functions and data sets, built lazily since they are not serialized
+    private transient Map<String, PckgFunction> functionIndex;
+    private transient Set<String> dataSetIndex;
+
 
     public RPackage(String packageName, String packageVersion, String title,
                     Set<String> dependencies, Set<String> imports) {
@@ -40,23 +43,56 @@ public class RPackage implements Serializable {
 
     public void setFunctions(List<PckgFunction> functions) {
         this.functions = new ArrayList<>(functions); // rewrap because provided list may not be serializable
+        this.functionIndex = null;
     }
 
 
     public void setDatSets(List<PckgDataSet> dataSets) {
         this.dataSets = new ArrayList<>(dataSets); // rewrap because provided list may not be serializable
+        this.dataSetIndex = null;
+    }
+
+
+    private Map<String, PckgFunction> getFunctionIndex() {
+        Map<String, PckgFunction> index = functionIndex;
+
+        if (index == null) {
+            index = new LinkedHashMap<>();
+            if (functions != null) {
+                // keep the first one in case of duplicates as done by the former linear search
+                for (PckgFunction function : functions) index.putIfAbsent(function.getName(), function);
+            }
+
+            functionIndex = index;
+        }
+
+        return index;
+    }
+
+
+    private Set<String> getDataSetIndex() {
+        Set<String> index = dataSetIndex;
+
+        if (index == null) {
+            index = new LinkedHashSet<>();
+            if (dataSets != null) {
+                for (PckgDataSet dataSet : dataSets) index.add(dataSet.getName());
+            }
+
+            dataSetIndex = index;
+        }
+
+        return index;
     }
 
 
     public List<String> getFunctionNames() {
-        if (functions == null) return Collections.emptyList();
-        return functions.stream().map(PckgFunction::getName).collect(Collectors.toList());
+        return new ArrayList<>(getFunctionIndex().keySet());
     }
 
 
     public List<String> getDataSetNames() {
-        if (dataSets == null) return Collections.emptyList();
-        return dataSets.stream().map(PckgDataSet::getName).collect(Collectors.toList());
+        return new ArrayList<>(getDataSetIndex());
     }
 
 
@@ -76,24 +112,17 @@ public class RPackage implements Serializable {
 
 
     public boolean hasFunction(String funName) {
-        return functions.stream().anyMatch(ds -> ds.getName().equals(funName));
-
+        return getFunctionIndex().containsKey(funName);
     }
 
 
     public boolean hasDataSet(String setName) {
-        return dataSets.stream().anyMatch(ds -> ds.getName().equals(setName));
+        return getDataSetIndex().contains(setName);
     }
 
 
     public PckgFunction getFunction(String funName) {
-        for (PckgFunction function : functions) {
-            if (function.getName().equals(funName)) {
-                return function;
-            }
-        }
-
-        return null;
+        return getFunctionIndex().get(funName);
     }
 
 
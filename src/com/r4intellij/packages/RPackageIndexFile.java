@@ -0,0 +1,481 @@
+/*
+ * Copyright 2011 Holger Brandl
+ *
+ * This code is licensed under BSD. For details see
+ * http://www.opensource.org/licenses/bsd-license.php
+ */
+
+package com.r4intellij.packages;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.intellij.util.io.ByteBufferUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Binary on-disk store backing the {@link RIndexCache}.
+ * <p>
+ * The file starts with a fixed header (magic number, format version, number of dead bytes) which is followed by an
+ * append-only sequence of package records. Each record is prefixed with its length, a live-flag and the package name,
+ * so that the name-to-offset table can be built by hopping over the records without decoding them. The remainder of
+ * a record is a string table followed by the package fields which are stored as indices into that table. The string
+ * table starts with the function and data set names, so the symbols of a package can be read without decoding it.
+ * <p>
+ * Packages are decoded lazily from a memory mapped view of the file. Updated packages are appended and the previous
+ * record of the same package is flagged as dead. Once dead records make up more than half of the file it is
+ * compacted by copying just the live records into a new file.
+ * <p>
+ * The mapping is released before the file is truncated, replaced or deleted, since a mapped file can't be modified
+ * that way on all platforms and the mapping would otherwise just be released by the garbage collector.
+ *
+ * @author Holger Brandl
+ */
+class RPackageIndexFile {
+
+    private static final int MAGIC = 0x52494458; // "RIDX"
+
+    // note: bump whenever the record layout changes, outdated files will be dropped and rebuilt from the skeletons
+    static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_SIZE = 4 + 4 + 8;
+    private static final int DEAD_BYTES_POS = 8;
+
+    private static final byte RECORD_DEAD = 0;
+    private static final byte RECORD_LIVE = 1;
+
+    private static final int NO_STRING = -1;
+
+    // symbol and package names are shared between packages (e.g. re-exports, S3 methods or dependencies)
+    private static final Interner<String> STRING_INTERNER = Interners.newWeakInterner();
+
+    private final File file;
+
+    // insertion order is kept so that iteration is stable across sessions
+    private final Map<String, Integer> offsets = new LinkedHashMap<>();
+
+    private MappedByteBuffer buffer;
+
+    // length of the valid file content, a partially written trailing record (e.g. after a crash) is cut off
+    private long validLength;
+    private long deadBytes;
+
+
+    private RPackageIndexFile(@NotNull File file) {
+        this.file = file;
+    }
+
+
+    /**
+     * Opens the index stored in the given file. A missing file results in an empty index, a file with an unknown
+     * format is discarded.
+     */
+    @NotNull
+    static RPackageIndexFile open(@NotNull File file) throws IOException {
+        RPackageIndexFile indexFile = new RPackageIndexFile(file);
+
+        if (file.exists() && !indexFile.scan()) {
+            indexFile.reset();
+            Files.delete(file.toPath());
+        }
+
+        return indexFile;
+    }
+
+
+    private void reset() {
+        offsets.clear();
+        unmap();
+        validLength = 0;
+        deadBytes = 0;
+    }
+
+
+    private void unmap() {
+        if (buffer == null) return;
+
+        ByteBufferUtil.cleanBuffer(buffer);
+        buffer = null;
+    }
+
+
+    /**
+     * Maps the file and collects the offsets of all live records.
+     *
+     * @return <code>false</code> if the file is not a package index of the current format version
+     */
+    private boolean scan() throws IOException {
+        reset();
+
+        long fileSize = file.length();
+        if (fileSize < HEADER_SIZE) return fileSize == 0;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) return false;
+
+        deadBytes = buffer.getLong(DEAD_BYTES_POS);
+
+        int pos = HEADER_SIZE;
+        while (pos + 4 <= fileSize) {
+            int recordLength = buffer.getInt(pos);
+            if (recordLength <= 0 || pos + 4L + recordLength > fileSize) break;
+
+            if (buffer.get(pos + 4) == RECORD_LIVE) {
+                ByteBuffer record = recordView(pos);
+                offsets.put(readString(record), pos);
+            }
+
+            pos += 4 + recordLength;
+        }
+
+        validLength = pos;
+
+        return true;
+    }
+
+
+    synchronized boolean isEmpty() {
+        return offsets.isEmpty();
+    }
+
+
+    synchronized boolean contains(String packageName) {
+        return offsets.containsKey(packageName);
+    }
+
+
+    @NotNull
+    synchronized List<String> getPackageNames() {
+        return new ArrayList<>(offsets.keySet());
+    }
+
+
+    /**
+     * Decodes the package with the given name from the file.
+     */
+    @Nullable
+    synchronized RPackage read(@NotNull String packageName) {
+        Integer offset = offsets.get(packageName);
+        if (offset == null) return null;
+
+        return decode(recordView(offset));
+    }
+
+
+    /**
+     * Reads the names of the functions and data sets of the package with the given name from the file.
+     */
+    @NotNull
+    synchronized List<String> readSymbols(@NotNull String packageName) {
+        Integer offset = offsets.get(packageName);
+        if (offset == null) return Collections.emptyList();
+
+        ByteBuffer record = recordView(offset);
+        readString(record);
+
+        String[] symbols = new String[record.getInt()];
+        record.getInt(); // size of the string table
+
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = STRING_INTERNER.intern(readString(record));
+        }
+
+        return Arrays.asList(symbols);
+    }
+
+
+    /**
+     * Appends the given packages to the file and drops the records of the replaced and removed ones.
+     */
+    synchronized void write(@NotNull Collection<RPackage> updated, @NotNull Collection<String> removed) throws IOException {
+        if (updated.isEmpty() && removed.isEmpty()) return;
+
+        // collect the outdated records while the file is still mapped
+        Set<String> outdated = new HashSet<>(removed);
+        updated.forEach(rPackage -> outdated.add(rPackage.getName()));
+
+        Map<Integer, Integer> outdatedLengths = new HashMap<>();
+        for (String packageName : outdated) {
+            Integer offset = offsets.remove(packageName);
+            if (offset != null) outdatedLengths.put(offset, buffer.getInt(offset));
+        }
+
+        unmap();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+
+            if (validLength < HEADER_SIZE) {
+                writeHeader(channel);
+                validLength = HEADER_SIZE;
+            } else {
+                // discard incomplete trailing records from earlier sessions
+                channel.truncate(validLength);
+            }
+
+            // flag outdated records as dead
+            for (Map.Entry<Integer, Integer> outdatedRecord : outdatedLengths.entrySet()) {
+                channel.write(ByteBuffer.wrap(new byte[]{RECORD_DEAD}), outdatedRecord.getKey() + 4);
+                deadBytes += 4 + outdatedRecord.getValue();
+            }
+
+            // append the new ones
+            long pos = validLength;
+            for (RPackage rPackage : updated) {
+                ByteBuffer record = encode(rPackage);
+                int recordSize = record.remaining();
+
+                while (record.hasRemaining()) {
+                    channel.write(record, pos + record.position());
+                }
+
+                offsets.put(rPackage.getName(), (int) pos);
+                pos += recordSize;
+            }
+
+            ByteBuffer deadBytesBuf = ByteBuffer.allocate(8).putLong(0, deadBytes);
+            channel.write(deadBytesBuf, DEAD_BYTES_POS);
+        } finally {
+            // remap to include the appended records, or to recover the state of the file if writing failed
+            scan();
+        }
+
+        if (deadBytes > (validLength - HEADER_SIZE) / 2) {
+            compact();
+        }
+    }
+
+
+    /**
+     * Rewrites the file with just the live records. Records are copied as they are without decoding them.
+     */
+    synchronized void compact() throws IOException {
+        File compacted = new File(file.getParentFile(), file.getName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(compacted.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            writeHeader(channel);
+
+            long pos = HEADER_SIZE;
+            for (Integer offset : offsets.values()) {
+                ByteBuffer record = buffer.duplicate();
+                record.position(offset).limit(offset + 4 + buffer.getInt(offset));
+
+                while (record.hasRemaining()) {
+                    pos += channel.write(record, pos);
+                }
+            }
+        }
+
+        unmap();
+
+        try {
+            Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            scan();
+        }
+    }
+
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(0);
+        header.flip();
+
+        channel.truncate(0);
+        channel.write(header, 0);
+    }
+
+
+    /**
+     * Returns a view on the record at the given offset which is positioned right behind the live-flag.
+     */
+    private ByteBuffer recordView(int offset) {
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset + 5).limit(offset + 4 + buffer.getInt(offset));
+
+        return record;
+    }
+
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    private static RPackage decode(ByteBuffer record) {
+        String name = STRING_INTERNER.intern(readString(record));
+        record.getInt(); // number of symbols at the start of the string table
+
+        String[] strings = new String[record.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = STRING_INTERNER.intern(readString(record));
+        }
+
+        String version = lookup(strings, record.getInt());
+        String title = lookup(strings, record.getInt());
+        String repoUrl = lookup(strings, record.getInt());
+
+        Set<String> depends = readStringSet(record, strings);
+        Set<String> imports = readStringSet(record, strings);
+
+        RPackage rPackage = new RPackage(name, version, title, depends, imports);
+        rPackage.setRepoUrl(repoUrl);
+
+        int numFunctions = record.getInt();
+        List<PckgFunction> functions = new ArrayList<>(numFunctions);
+        for (int i = 0; i < numFunctions; i++) {
+            PckgFunction function = new PckgFunction(lookup(strings, record.getInt()));
+            function.setRawSignature(lookup(strings, record.getInt()));
+            function.setShortDesc(lookup(strings, record.getInt()));
+
+            functions.add(function);
+        }
+        rPackage.setFunctions(functions);
+
+        List<PckgDataSet> dataSets = new ArrayList<>();
+        for (int i = record.getInt(); i > 0; i--) {
+            dataSets.add(new PckgDataSet(lookup(strings, record.getInt())));
+        }
+        rPackage.setDatSets(dataSets);
+
+        return rPackage;
+    }
+
+
+    private static Set<String> readStringSet(ByteBuffer record, String[] strings) {
+        Set<String> result = new LinkedHashSet<>();
+
+        for (int i = record.getInt(); i > 0; i--) {
+            result.add(lookup(strings, record.getInt()));
+        }
+
+        return result;
+    }
+
+
+    private static String lookup(String[] strings, int index) {
+        return index == NO_STRING ? null : strings[index];
+    }
+
+
+    private static ByteBuffer encode(RPackage rPackage) throws IOException {
+        StringTable strings = new StringTable();
+
+        rPackage.getFunctionNames().forEach(strings::indexOf);
+        rPackage.getDataSetNames().forEach(strings::indexOf);
+        int numSymbols = strings.size();
+
+        // the fields refer into the string table, so they are serialized first and prefixed with the table later
+        ByteArrayOutputStream fieldBytes = new ByteArrayOutputStream();
+        DataOutputStream fields = new DataOutputStream(fieldBytes);
+
+        fields.writeInt(strings.indexOf(rPackage.getVersion()));
+        fields.writeInt(strings.indexOf(rPackage.getTitle()));
+        fields.writeInt(strings.indexOf(rPackage.getRepoUrl()));
+
+        writeStringSet(fields, strings, rPackage.getDependencies());
+        writeStringSet(fields, strings, rPackage.getImports());
+
+        Collection<PckgFunction> functions = rPackage.getFunctions();
+        fields.writeInt(functions.size());
+        for (PckgFunction function : functions) {
+            fields.writeInt(strings.indexOf(function.getName()));
+            fields.writeInt(strings.indexOf(function.getRawSignature()));
+            fields.writeInt(strings.indexOf(function.getShortDesc()));
+        }
+
+        List<String> dataSetNames = rPackage.getDataSetNames();
+        fields.writeInt(dataSetNames.size());
+        for (String dataSetName : dataSetNames) {
+            fields.writeInt(strings.indexOf(dataSetName));
+        }
+
+        fields.flush();
+
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(recordBytes);
+
+        record.writeInt(0); // length placeholder
+        record.writeByte(RECORD_LIVE);
+        writeString(record, rPackage.getName());
+
+        record.writeInt(numSymbols);
+        record.writeInt(strings.size());
+        for (String string : strings.values()) {
+            writeString(record, string);
+        }
+
+        fieldBytes.writeTo(record);
+        record.flush();
+
+        ByteBuffer result = ByteBuffer.wrap(recordBytes.toByteArray());
+        result.putInt(0, result.remaining() - 4);
+
+        return result;
+    }
+
+
+    private static void writeStringSet(DataOutputStream out, StringTable strings, @Nullable Collection<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(0);
+            return;
+        }
+
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeInt(strings.indexOf(value));
+        }
+    }
+
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+
+    private static class StringTable {
+
+        private final Map<String, Integer> indices = new LinkedHashMap<>();
+
+
+        int indexOf(@Nullable String value) {
+            if (value == null) return NO_STRING;
+
+            return indices.computeIfAbsent(value, v -> indices.size());
+        }
+
+
+        int size() {
+            return indices.size();
+        }
+
+
+        Collection<String> values() {
+            return indices.keySet();
+        }
+    }
+}
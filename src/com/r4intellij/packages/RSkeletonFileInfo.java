@@ -0,0 +1,144 @@
+package com.r4intellij.packages;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Completion state and package properties of a skeleton file.
+ * <p>
+ * skeletonize_package.R writes the properties and the EOF tag at the very end of a skeleton, so just the tail of the
+ * file is read. The tail window is grown until it contains the package info section, which keeps even the megabyte
+ * skeletons of the base packages at a single small read. Results are cached by modification time and size of the
+ * file.
+ */
+class RSkeletonFileInfo {
+
+    // note: just change in sync with ./r-helpers/skeletonize_package.R
+    static final String PACKAGE_INFO_TAG = "## Package Info";
+    static final String EOF_TAG = "## EOF";
+
+    static final int INITIAL_TAIL_SIZE = 8 * 1024;
+
+    private static final Map<String, RSkeletonFileInfo> CACHE = new ConcurrentHashMap<>();
+
+    private final long lastModified;
+    private final long length;
+
+    private final boolean complete;
+    private final Map<String, String> properties;
+
+
+    private RSkeletonFileInfo(long lastModified, long length, boolean complete, Map<String, String> properties) {
+        this.lastModified = lastModified;
+        this.length = length;
+        this.complete = complete;
+        this.properties = properties;
+    }
+
+
+    @NotNull
+    static RSkeletonFileInfo of(@NotNull File skeletonFile) {
+        String path = skeletonFile.getAbsolutePath();
+
+        long lastModified = skeletonFile.lastModified();
+        long length = skeletonFile.length();
+
+        RSkeletonFileInfo info = CACHE.get(path);
+        if (info != null && info.lastModified == lastModified && info.length == length) return info;
+
+        info = read(skeletonFile, lastModified, length);
+        CACHE.put(path, info);
+
+        return info;
+    }
+
+
+    /**
+     * @return <code>true</code> if the last non-empty line of the skeleton is the EOF tag
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+
+    @NotNull
+    Map<String, String> getProperties() {
+        return properties;
+    }
+
+
+    @NotNull
+    private static RSkeletonFileInfo read(File skeletonFile, long lastModified, long length) {
+        if (!skeletonFile.isFile()) {
+            return new RSkeletonFileInfo(lastModified, length, false, Collections.emptyMap());
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(skeletonFile, "r")) {
+            long fileLength = raf.length();
+
+            for (long tailSize = INITIAL_TAIL_SIZE; ; tailSize *= 2) {
+                long start = Math.max(0, fileLength - tailSize);
+
+                byte[] tail = new byte[(int) (fileLength - start)];
+                raf.seek(start);
+                raf.readFully(tail);
+
+                String[] lines = new String(tail, Charset.defaultCharset()).split("\r?\n");
+
+                // the first line of a window is incomplete unless the window starts at the beginning of the file
+                int firstLine = start == 0 ? 0 : 1;
+                int infoLine = findPackageInfo(lines, firstLine);
+
+                if (infoLine >= 0 || start == 0) {
+                    return new RSkeletonFileInfo(lastModified, length, hasEOF(lines, firstLine),
+                            parseProperties(lines, Math.max(infoLine, firstLine)));
+                }
+            }
+        } catch (IOException e) {
+            return new RSkeletonFileInfo(lastModified, length, false, Collections.emptyMap());
+        }
+    }
+
+
+    private static int findPackageInfo(String[] lines, int firstLine) {
+        for (int i = lines.length - 1; i >= firstLine; i--) {
+            if (lines[i].startsWith(PACKAGE_INFO_TAG)) return i;
+        }
+
+        return -1;
+    }
+
+
+    private static boolean hasEOF(String[] lines, int firstLine) {
+        for (int i = lines.length - 1; i >= firstLine; i--) {
+            String line = lines[i].trim();
+            if (!line.isEmpty()) return line.equals(EOF_TAG);
+        }
+
+        return false;
+    }
+
+
+    @NotNull
+    private static Map<String, String> parseProperties(String[] lines, int firstLine) {
+        Map<String, String> properties = new HashMap<>();
+
+        for (int i = firstLine; i < lines.length; i++) {
+            String line = lines[i];
+            if (!line.startsWith(".skeleton_")) continue;
+
+            String[] splitLine = line.split(" = ", 2);
+            if (splitLine.length > 1) properties.put(splitLine[0], splitLine[1]);
+        }
+
+        return properties;
+    }
+}
@@ -10,6 +10,7 @@ package com.r4intellij.packages;
 import com.google.common.base.CharMatcher;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
+import com.intellij.execution.ExecutionException;
 import com.intellij.openapi.application.Application;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.PathManager;
@@ -19,29 +20,32 @@ import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
-import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.SystemInfo;
 import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.intellij.util.DocumentUtil;
 import com.r4intellij.RFileType;
+import com.r4intellij.RPsiUtils;
 import com.r4intellij.interpreter.SimpleFunctionVisitor;
 import com.r4intellij.settings.RSettings;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static com.r4intellij.RFileType.DOT_R_EXTENSION;
@@ -62,7 +66,7 @@ public class RSkeletonGenerator {
 
 
     // note: just change in sync with ./r-helpers/skeletonize_package.R
-    public static final int CUR_SKELETONIZE_VERSION = 5;
+    public static final int CUR_SKELETONIZE_VERSION = 6;
 
 
     public static final Set<String> DEFAULT_PACKAGES = Sets.newHashSet("stats", "graphics", "grDevices", "utils", "datasets", "grid", "methods", "base");
@@ -74,6 +78,14 @@ public class RSkeletonGenerator {
     public static final String SKELETON_DIR_NAME = "r_skeletons";
     private static final String FAILED_SUFFIX = ".failed";
 
+    // rough upper bound of the memory used by a single skeletonizer process
+    private static final long SKELETONIZER_MEMORY = 500L * 1024 * 1024;
+
+    private static final int SKELETONIZE_TIMEOUT = 10 * RPsiUtils.MINUTE;
+
+    private static final int PUBLISH_BATCH_SIZE = 25;
+    private static final long PUBLISH_INTERVAL = RPsiUtils.MINUTE / 2;
+
 
     // entry point for configurable interface and action
     public static void updateSkeletons(@NotNull final Project project, boolean forceFailed) {
@@ -101,10 +113,10 @@ public class RSkeletonGenerator {
         // http://stackoverflow.com/questions/18725340/create-a-background-task-in-intellij-plugin
         // http://www.jetbrains.org/intellij/sdk/docs/basics/architectural_overview/general_threading_rules.html
 
-        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Updating Skeletons", false) {
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Updating Skeletons", true) {
             @Override
             public void run(@NotNull ProgressIndicator indicator) {
-                updateSkeletons(indicator, forceFailed);
+                updateSkeletons(project, indicator, forceFailed);
 
                 // trigger index cache refresh
 //                ApplicationManager.getApplication().invokeLater(() -> {
@@ -115,7 +127,7 @@ public class RSkeletonGenerator {
 //                VirtualFileManager.getInstance().syncRefresh();
                 VirtualFileManager.getInstance().asyncRefresh(() -> {
                     // see /Users/brandl/projects/jb/intellij-community/platform/core-api/src/com/intellij/openapi/project/IndexNotReadyException.java
-                    DumbService.getInstance(project).smartInvokeLater(() -> PackageServiceUtilKt.rebuildIndex(project));
+                    PackageServiceUtilKt.requestIndexRebuild(project);
                 });
             }
         });
@@ -154,7 +166,7 @@ public class RSkeletonGenerator {
 
 
     @NotNull
-    private static List<String> updateSkeletons(@NotNull ProgressIndicator indicator, boolean forceFailed) {
+    private static List<String> updateSkeletons(@NotNull Project project, @NotNull ProgressIndicator indicator, boolean forceFailed) {
         if (!RSettings.hasInterpreter()) return new ArrayList<>();
 
         Map<String, String> packageVersions = getInstalledPackageVersions();
@@ -162,7 +174,7 @@ public class RSkeletonGenerator {
         cleanUpUninstalledPackages(packageVersions);
         cleanUpFailedTags(packageVersions);
 
-        List<String> updated = new ArrayList<>();
+        List<String> updated = Collections.synchronizedList(new ArrayList<>());
 
         // resort them so that the most popular ones are indexed first
         List<String> packageNames = new ArrayList<>(packageVersions.keySet());
@@ -170,35 +182,23 @@ public class RSkeletonGenerator {
                 .onResultOf(RSkeletonGenerator::getIndexPriority)
                 .sortedCopy(packageNames);
 
+        final String skeletonsPath = getSkeletonsPath();
+        final File skeletonsDir = new File(skeletonsPath);
 
-        // additional threading here kills the computer
-        ExecutorService es = Executors.newFixedThreadPool(4);
-        int processed = 0;
+        List<String> outdated = new ArrayList<>();
 
         for (String packageName : packageNames) {
-            processed++;
-
             //noinspection ArraysAsListWithZeroOrOneArgument
             if (Arrays.asList("translations").contains(packageName)) continue;
 
-
-            final String skeletonsPath = getSkeletonsPath();
-            final File skeletonsDir = new File(skeletonsPath);
-
             // skip if skeleton exists already and it is not outdated
             File skeletonFile = new File(skeletonsDir, packageName + DOT_R_EXTENSION);
 
-
-//            RPackage rPackage = indexCache.getPackages().stream()
-//                    .filter(it -> it.getName().equals(packageName))
-//                    .findFirst().orElse(null);
-
             // skip reindexing if package version is same as cached index version
             String installedVersion = packageVersions.get(packageName);
-//            boolean isCorrectCacheVersion = rPackage != null && Objects.equals(rPackage.getVersion(), installedVersion);
 
             // skip failed index operations unless we run force refresh mode
-            File failedSkelTag = new File(skeletonsDir, "." + packageName + FAILED_SUFFIX);
+            File failedSkelTag = getFailedTag(skeletonsDir, packageName);
             if (failedSkelTag.isFile()) {
                 if (forceFailed) {
                     failedSkelTag.delete();
@@ -211,73 +211,190 @@ public class RSkeletonGenerator {
                 continue;
             }
 
+            outdated.add(packageName);
+        }
 
-            if (!skeletonsDir.exists() && !skeletonsDir.mkdirs()) {
-                LOG.error("Can't create skeleton directory " + String.valueOf(skeletonsPath));
-            }
-
-            int finalProcessed = processed;
-            es.submit(() -> {
-                try {
-                    LOG.info("building skeleton for package '" + packageName + "'");
-
-                    indicator.setFraction((double) finalProcessed / (packageVersions.size()));
-                    indicator.setText("Indexing '" + packageName + "'");
-
-                    // build the skeletons in tmp and move them once done so avoid incomplete file index failures
-                    File tempSkeleton = Files.createTempFile("r4j_skel_" + packageName + "_", DOT_R_EXTENSION).toFile();
-                    tempSkeleton.deleteOnExit();
-
-                    RRunResult output = RHelperUtil.runHelperWithArgs(RHELPER_SKELETONIZE_PACKAGE, packageName, tempSkeleton.getAbsolutePath());
+        if (outdated.isEmpty()) return updated;
 
-                    if (output != null && output.getExitCode() != 0) {
-                        //noinspection ResultOfMethodCallIgnored
-                        failedSkelTag.createNewFile();
-                        LOG.error("Failed to generate skeleton for '" + packageName + "'. The error was:\n\n" +
-                                output.getStdErr() +
-                                "\n\nIf you think this issue with plugin and not your R installation, please file a ticket under https://github.com/holgerbrandl/r4intellij/issues\n\n");
-                    } else if (isValidSkeleton(tempSkeleton)) {
-                        // we used the more correct Files.move() here initially, but it caused issues on Windows
-                        // (see https://github.com/holgerbrandl/r4intellij/issues/86). Most likely the R process did not
-                        // correctly release the file handle
-                        Files.copy(tempSkeleton.toPath(), skeletonFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        if (!skeletonsDir.exists() && !skeletonsDir.mkdirs()) {
+            LOG.error("Can't create skeleton directory " + String.valueOf(skeletonsPath));
+        }
 
-                        updated.add(packageName);
-                    } else {
-                        //noinspection ResultOfMethodCallIgnored
-                        failedSkelTag.createNewFile();
+        // note: the fifo queue of the fixed pool preserves the priority order of the packages
+        int concurrency = getSkeletonizerConcurrency();
+        LOG.info("building " + outdated.size() + " skeletons using " + concurrency + " R processes");
 
-                        String skelInfo = "helperOutputNull=" + (output == null) +
-                                "\nskeletonFile_exists=" + skeletonFile.exists() +
-                                "\nisComplete=" + isComplete(skeletonFile) +
-                                "\nisCurrentSkelVersion=" + isCurrentSkelVersion(skeletonFile) +
-                                "\nOS=" + SystemInfo.getOsNameAndVersion();
+        ExecutorService es = Executors.newFixedThreadPool(concurrency);
+        RSkeletonizerPool skeletonizers = new RSkeletonizerPool(RSettings.getInstance().getInterpreterPath());
+        SkeletonPublisher publisher = new SkeletonPublisher(project);
+        AtomicInteger processed = new AtomicInteger();
 
-                        LOG.error("Failed to generate a valid skeleton for '" + packageName + "'." + skelInfo + "\n Please file a ticket under https://github.com/holgerbrandl/r4intellij/issues");
+        indicator.setIndeterminate(false);
 
+        for (String packageName : outdated) {
+            es.submit(() -> {
+                if (indicator.isCanceled()) return;
 
-                    }
+                indicator.setText("Indexing '" + packageName + "'");
 
-                } catch (IOException e) {
-                    LOG.error("Failed to generate skeleton for '" + packageName + "'. The reason was:", e);
+                if (buildSkeleton(packageName, skeletonsDir, skeletonizers, indicator)) {
+                    updated.add(packageName);
+                    publisher.skeletonAdded(new File(skeletonsDir, packageName + DOT_R_EXTENSION));
                 }
+
+                indicator.setFraction((double) processed.incrementAndGet() / outdated.size());
             });
         }
 
-        // wait until all skeletons are built
+        es.shutdown();
+
+        // wait until all skeletons are built or the user cancels the update
         try {
-            es.shutdown();
-            es.awaitTermination(1, TimeUnit.HOURS);
+            while (!es.awaitTermination(500, TimeUnit.MILLISECONDS)) {
+                if (indicator.isCanceled()) {
+                    // running skeletonizers are killed via their progress indicator
+                    es.shutdownNow();
+                    break;
+                }
+            }
         } catch (InterruptedException e) {
-            e.printStackTrace();
+            es.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            skeletonizers.close();
         }
 
+        publisher.flush();
+
 //        http://www.jetbrains.org/intellij/sdk/docs/basics/architectural_overview/virtual_file.html
 //        VirtualFile.refresh()
         return updated;
     }
 
 
+    /**
+     * Limits the number of concurrent skeletonizer processes by the available cores (one is left to the IDE) and by
+     * the free physical memory.
+     */
+    static int getSkeletonizerConcurrency() {
+        int byCores = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        if (!(osBean instanceof com.sun.management.OperatingSystemMXBean)) return byCores;
+
+        long freeMemory = ((com.sun.management.OperatingSystemMXBean) osBean).getFreePhysicalMemorySize();
+        int byMemory = (int) Math.max(1, freeMemory / SKELETONIZER_MEMORY);
+
+        return Math.min(byCores, byMemory);
+    }
+
+
+    /**
+     * Builds the skeleton of the given package.
+     *
+     * @return <code>true</code> if a valid skeleton was built
+     */
+    private static boolean buildSkeleton(String packageName, File skeletonsDir, RSkeletonizerPool skeletonizers,
+                                         ProgressIndicator indicator) {
+        File skeletonFile = new File(skeletonsDir, packageName + DOT_R_EXTENSION);
+        File failedSkelTag = getFailedTag(skeletonsDir, packageName);
+
+        try {
+            LOG.info("building skeleton for package '" + packageName + "'");
+
+            // build the skeletons in tmp and move them once done so avoid incomplete file index failures
+            File tempSkeleton = Files.createTempFile("r4j_skel_" + packageName + "_", DOT_R_EXTENSION).toFile();
+            tempSkeleton.deleteOnExit();
+
+            RRunResult output = skeletonizers.skeletonize(packageName, tempSkeleton, indicator, SKELETONIZE_TIMEOUT);
+
+            if (output.isCancelled()) {
+                // don't flag the package as failed if the user just canceled the update
+                return false;
+            } else if (output.isTimeout()) {
+                //noinspection ResultOfMethodCallIgnored
+                failedSkelTag.createNewFile();
+                LOG.warn("Skeleton generation for '" + packageName + "' did not complete within " +
+                        (SKELETONIZE_TIMEOUT / RPsiUtils.MINUTE) + " minutes. Use 'force update' to retry.");
+            } else if (output.getExitCode() != 0) {
+                //noinspection ResultOfMethodCallIgnored
+                failedSkelTag.createNewFile();
+                LOG.error("Failed to generate skeleton for '" + packageName + "'. The error was:\n\n" +
+                        output.getStdErr() +
+                        "\n\nIf you think this issue with plugin and not your R installation, please file a ticket under https://github.com/holgerbrandl/r4intellij/issues\n\n");
+            } else if (isValidSkeleton(tempSkeleton)) {
+                // we used the more correct Files.move() here initially, but it caused issues on Windows
+                // (see https://github.com/holgerbrandl/r4intellij/issues/86). Most likely the R process did not
+                // correctly release the file handle
+                Files.copy(tempSkeleton.toPath(), skeletonFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+                return true;
+            } else {
+                //noinspection ResultOfMethodCallIgnored
+                failedSkelTag.createNewFile();
+
+                String skelInfo = "\nskeletonFile_exists=" + skeletonFile.exists() +
+                        "\nisComplete=" + isComplete(skeletonFile) +
+                        "\nisCurrentSkelVersion=" + isCurrentSkelVersion(skeletonFile) +
+                        "\nOS=" + SystemInfo.getOsNameAndVersion();
+
+                LOG.error("Failed to generate a valid skeleton for '" + packageName + "'." + skelInfo + "\n Please file a ticket under https://github.com/holgerbrandl/r4intellij/issues");
+            }
+
+        } catch (IOException | ExecutionException e) {
+            LOG.error("Failed to generate skeleton for '" + packageName + "'. The reason was:", e);
+        }
+
+        return false;
+    }
+
+
+    @NotNull
+    private static File getFailedTag(File skeletonsDir, String packageName) {
+        return new File(skeletonsDir, "." + packageName + FAILED_SUFFIX);
+    }
+
+
+    /**
+     * Makes finished skeletons visible while the update is still running. Skeletons are published in batches since
+     * each publication triggers a refresh of the package index.
+     */
+    private static class SkeletonPublisher {
+
+        private final Project project;
+        private final List<File> pending = new ArrayList<>();
+        private long lastPublished = System.currentTimeMillis();
+
+
+        SkeletonPublisher(Project project) {
+            this.project = project;
+        }
+
+
+        synchronized void skeletonAdded(File skeletonFile) {
+            pending.add(skeletonFile);
+
+            if (pending.size() >= PUBLISH_BATCH_SIZE || System.currentTimeMillis() - lastPublished > PUBLISH_INTERVAL) {
+                flush();
+            }
+        }
+
+
+        synchronized void flush() {
+            if (pending.isEmpty() || project.isDisposed()) return;
+
+            LocalFileSystem fileSystem = LocalFileSystem.getInstance();
+            pending.forEach(fileSystem::refreshAndFindFileByIoFile);
+
+            pending.clear();
+            lastPublished = System.currentTimeMillis();
+
+            // update the package index once the new skeletons are in the stub index
+            PackageServiceUtilKt.requestIndexRebuild(project);
+        }
+    }
+
+
     private static void cleanUpUninstalledPackages(Map<String, String> packageVersions) {
 
         File[] skeletonFiles = new File(RSkeletonGenerator.getSkeletonsPath())
@@ -336,27 +453,15 @@ public class RSkeletonGenerator {
 
 
     /**
-     * Scan for final EOF tag in skeleton file.
+     * Check for the final EOF tag in skeleton file.
      */
     private static boolean isComplete(File skeletonFile) {
-        boolean hasEOF = false;
-        try {
-            Scanner scanner = new Scanner(skeletonFile);
-
-            while (scanner.hasNextLine()) {
-                String curLine = scanner.nextLine().trim();
-                if (!curLine.isEmpty()) hasEOF = curLine.equals("## EOF");
-            }
-        } catch (FileNotFoundException e) {
-            return false;
-        }
-
-        return hasEOF;
+        return RSkeletonFileInfo.of(skeletonFile).isComplete();
     }
 
 
     public static boolean isSamePckgVersion(File skeletonFile, String installedVersion) {
-        Map<String, String> skelProps = getSkeletonProperties(skeletonFile);
+        Map<String, String> skelProps = RSkeletonFileInfo.of(skeletonFile).getProperties();
         String skelPckgVersion = CharMatcher.anyOf("\"").trimFrom(skelProps.getOrDefault(SKELETON_PCKG_VERSION, ""));
 
         return Objects.equals(skelPckgVersion, installedVersion);
@@ -364,32 +469,13 @@ public class RSkeletonGenerator {
 
 
     private static boolean isCurrentSkelVersion(File skeletonFile) {
-        Map<String, String> skelProps = getSkeletonProperties(skeletonFile);
-        Integer skelVersion = Integer.valueOf(skelProps.getOrDefault(SKELETON_SKEL_VERSION, "-1"));
-
-        return skelVersion == CUR_SKELETONIZE_VERSION;
-    }
-
-
-    private static Map<String, String> getSkeletonProperties(File skeletonFile) {
+        Map<String, String> skelProps = RSkeletonFileInfo.of(skeletonFile).getProperties();
 
-        Map<String, String> skelProps = new HashMap<>();
-
-        // use basic file search because psi-read access is not allowed from here (and it's also faster)
-        Integer fileVersion = -1;
         try {
-            Scanner scanner = new Scanner(skeletonFile);
-            while (scanner.hasNextLine()) {
-                String curLine = scanner.nextLine();
-                if (curLine.startsWith(".skeleton_")) {
-                    String[] splitLine = curLine.split(" = ");
-                    skelProps.put(splitLine[0], splitLine[1]);
-                }
-            }
-        } catch (FileNotFoundException | ArrayIndexOutOfBoundsException ignored) {
+            return Integer.parseInt(skelProps.getOrDefault(SKELETON_SKEL_VERSION, "-1").trim()) == CUR_SKELETONIZE_VERSION;
+        } catch (NumberFormatException e) {
+            return false;
         }
-
-        return skelProps;
     }
 
 
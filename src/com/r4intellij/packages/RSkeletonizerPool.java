@@ -0,0 +1,235 @@
+package com.r4intellij.packages;
+
+import com.google.common.collect.Lists;
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.execution.process.ProcessOutput;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static com.r4intellij.packages.RHelperUtil.PluginResourceFile;
+import static com.r4intellij.packages.RHelperUtil.RRunResult;
+
+/**
+ * Pool of long-running R processes which build package skeletons. Compared to one R process per package this saves the
+ * interpreter startup and keeps shared dependencies loaded. Workers are recycled after {@link #MAX_PACKAGES_PER_WORKER}
+ * packages or once they use more than {@link #MAX_WORKER_MEMORY_MB}, since some packages leak a lot of memory when
+ * being loaded.
+ *
+ * @see RSkeletonGenerator
+ */
+class RSkeletonizerPool implements Closeable {
+
+    private static final Logger LOG = Logger.getInstance("#" + RSkeletonizerPool.class.getName());
+
+    private static final PluginResourceFile RHELPER_SKELETONIZE_WORKER = new PluginResourceFile("skeletonize_worker.R");
+
+    // note: just change in sync with ./r-helpers/skeletonize_worker.R
+    private static final String DONE_MARKER = "##r4j-skeleton-done";
+
+    static final int MAX_PACKAGES_PER_WORKER = 100;
+    static final int MAX_WORKER_MEMORY_MB = 1500;
+
+    // poll interval for cancellation and timeout checks while waiting for a worker
+    private static final long POLL_MILLIS = 100;
+
+    private final String interpreterPath;
+    private final File skeletonizeScript;
+
+    private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final Set<Worker> workers = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean closed;
+
+
+    RSkeletonizerPool(@NotNull String interpreterPath) {
+        this.interpreterPath = interpreterPath;
+        this.skeletonizeScript = RSkeletonGenerator.RHELPER_SKELETONIZE_PACKAGE.getFile();
+    }
+
+
+    /**
+     * Builds the skeleton of a package with one of the pooled workers. The worker is killed if the indicator is
+     * canceled or if it does not complete in time.
+     */
+    @NotNull
+    RRunResult skeletonize(@NotNull String packageName, @NotNull File skeletonFile,
+                           @NotNull ProgressIndicator indicator, int timeoutMillis) throws ExecutionException {
+        String command = RHELPER_SKELETONIZE_WORKER.getFile().getName() + " " + packageName + " " + skeletonFile;
+
+        Worker worker = acquire();
+        StringBuilder log = new StringBuilder();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+
+        try {
+            worker.submit(packageName, skeletonFile);
+
+            while (true) {
+                if (indicator.isCanceled()) {
+                    worker.destroy();
+                    return createResult(command, log, "", -1, false, true);
+                }
+
+                if (System.currentTimeMillis() > deadline) {
+                    LOG.info("Skeletonizer timed out: " + command);
+                    worker.destroy();
+                    return createResult(command, log, "", -1, true, false);
+                }
+
+                String line = worker.output.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (line == null) continue;
+
+                if (line.equals(Worker.END_OF_OUTPUT)) {
+                    worker.destroy();
+                    return createResult(command, log, "skeletonizer process terminated unexpectedly", 1, false, false);
+                }
+
+                String[] status = line.split("\t", -1);
+                if (status.length < 5 || !status[0].equals(DONE_MARKER) || !status[1].equals(packageName)) {
+                    log.append(line).append('\n');
+                    continue;
+                }
+
+                worker.processedPackages++;
+                worker.usedMemoryMb = parseMemory(status[3]);
+                release(worker);
+
+                boolean succeeded = status[2].equals("OK");
+                return createResult(command, log, succeeded ? "" : status[4], succeeded ? 0 : 1, false, false);
+            }
+        } catch (IOException e) {
+            worker.destroy();
+            return createResult(command, log, "failed to submit package to skeletonizer: " + e.getMessage(), 1, false, false);
+        } catch (InterruptedException e) {
+            worker.destroy();
+            Thread.currentThread().interrupt();
+            return createResult(command, log, "", -1, false, true);
+        }
+    }
+
+
+    @Override
+    public void close() {
+        closed = true;
+
+        for (Worker worker : workers) {
+            worker.destroy();
+        }
+    }
+
+
+    @NotNull
+    private Worker acquire() throws ExecutionException {
+        Worker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            if (worker.process.isAlive()) return worker;
+            worker.destroy();
+        }
+
+        List<String> command = Lists.newArrayList(interpreterPath, "--slave",
+                "-f", RHELPER_SKELETONIZE_WORKER.getFile().getAbsolutePath(),
+                "--args", skeletonizeScript.getAbsolutePath());
+
+        worker = new Worker(new GeneralCommandLine(command).withRedirectErrorStream(true).createProcess());
+        workers.add(worker);
+
+        // the pool may have been closed while the process was starting
+        if (closed) worker.destroy();
+
+        return worker;
+    }
+
+
+    private void release(@NotNull Worker worker) {
+        if (closed || worker.processedPackages >= MAX_PACKAGES_PER_WORKER || worker.usedMemoryMb >= MAX_WORKER_MEMORY_MB) {
+            LOG.info("recycling skeletonizer after " + worker.processedPackages + " packages using " + worker.usedMemoryMb + "Mb");
+            worker.destroy();
+        } else {
+            idleWorkers.add(worker);
+        }
+    }
+
+
+    private static int parseMemory(String usedMemory) {
+        try {
+            return Integer.parseInt(usedMemory.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+
+    @NotNull
+    private static RRunResult createResult(String command, StringBuilder log, String error, int exitCode,
+                                           boolean timeout, boolean cancelled) {
+        // stderr is merged into the log of the worker, so the log is part of the error output as well
+        String stdErr = exitCode == 0 ? "" : error + "\n\n" + log;
+
+        return new RRunResult(command, new ProcessOutput(log.toString(), stdErr, exitCode, timeout, cancelled));
+    }
+
+
+    private class Worker {
+
+        // marks the end of the output once the process terminated, can't be confused with a line of the output
+        static final String END_OF_OUTPUT = "\n";
+
+        final Process process;
+        final Writer requests;
+        final BlockingQueue<String> output = new LinkedBlockingQueue<>();
+
+        int processedPackages;
+        int usedMemoryMb;
+
+
+        Worker(Process process) {
+            this.process = process;
+            this.requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+            Thread reader = new Thread(this::readOutput, "R skeletonizer output reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+
+        void submit(String packageName, File skeletonFile) throws IOException {
+            requests.write(packageName + "\t" + skeletonFile.getAbsolutePath() + "\n");
+            requests.flush();
+        }
+
+
+        private void readOutput() {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    output.add(line);
+                }
+            } catch (IOException ignored) {
+                // the process was destroyed
+            } finally {
+                output.add(END_OF_OUTPUT);
+            }
+        }
+
+
+        void destroy() {
+            workers.remove(this);
+
+            try {
+                // closing stdin lets the worker quit its request loop
+                requests.close();
+            } catch (IOException ignored) {
+            }
+
+            process.destroy();
+        }
+    }
+}
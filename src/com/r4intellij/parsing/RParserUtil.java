@@ -2,6 +2,7 @@ package com.r4intellij.parsing;
 
 import com.intellij.lang.PsiBuilder;
 import com.intellij.lang.parser.GeneratedParserUtilBase;
+import com.intellij.psi.tree.IElementType;
 
 /**
  * @author holgerbrandl
@@ -12,4 +13,32 @@ public class RParserUtil extends GeneratedParserUtilBase {
         emptyMarker.done(RElementTypes.R_EMPTY_EXPRESSION);
         return true;
     }
+
+
+    /**
+     * Skips over a block with balanced braces and collapses it into a lazy parseable block expression, see
+     * {@link com.r4intellij.psi.RBlockElementType}. Unbalanced blocks are parsed right away to report the missing
+     * brace where it belongs.
+     */
+    public static boolean parseLazyBlock(PsiBuilder builder, int level) {
+        if (builder.getTokenType() != RElementTypes.R_LBRACE) return false;
+
+        PsiBuilder.Marker blockMarker = builder.mark();
+        int depth = 0;
+
+        while (!builder.eof()) {
+            IElementType type = builder.getTokenType();
+            builder.advanceLexer();
+
+            if (type == RElementTypes.R_LBRACE) {
+                depth++;
+            } else if (type == RElementTypes.R_RBRACE && --depth == 0) {
+                blockMarker.collapse(RElementTypes.R_BLOCK_EXPRESSION);
+                return true;
+            }
+        }
+
+        blockMarker.rollbackTo();
+        return RParser.block_expression(builder, level + 1);
+    }
 }
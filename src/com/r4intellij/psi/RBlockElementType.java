@@ -0,0 +1,76 @@
+package com.r4intellij.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import com.r4intellij.RFileType;
+import com.r4intellij.lexer.RLexer;
+import com.r4intellij.parsing.RParser;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.r4intellij.parsing.RElementTypes.R_LBRACE;
+import static com.r4intellij.parsing.RElementTypes.R_RBRACE;
+
+/**
+ * Element type of <code>{ ... }</code> blocks. The file parser just skips over the braces of a block, its contents are
+ * parsed when the block is expanded. After an edit within a block which keeps its braces balanced, just the block is
+ * parsed again instead of the whole file.
+ */
+public class RBlockElementType extends IReparseableElementType {
+
+    public RBlockElementType(@NotNull @NonNls final String debugName) {
+        super(debugName, RFileType.INSTANCE.getLanguage());
+    }
+
+
+    @Override
+    protected ASTNode doParseContents(@NotNull final ASTNode chameleon, @NotNull final PsiElement psi) {
+        Project project = psi.getProject();
+        PsiBuilder builder = PsiBuilderFactory.getInstance().createBuilder(project, chameleon, null, getLanguage(), chameleon.getChars());
+
+        // the block rule is collapsed into the root marker, so its tokens and expressions become the children
+        return new RParser().parse(this, builder).getFirstChildNode();
+    }
+
+
+    @Override
+    public boolean isParsable(@Nullable final ASTNode parent, @NotNull final CharSequence buffer,
+                              @NotNull final Language fileLanguage, @NotNull final Project project) {
+        return isBalancedBlock(buffer);
+    }
+
+
+    /**
+     * Checks whether the given text is a single block, i.e. it starts with an opening brace and ends with the brace
+     * which closes it.
+     */
+    public static boolean isBalancedBlock(@NotNull final CharSequence buffer) {
+        RLexer lexer = new RLexer();
+        lexer.start(buffer);
+
+        if (lexer.getTokenType() != R_LBRACE) return false;
+
+        int depth = 0;
+
+        for (IElementType type = lexer.getTokenType(); type != null; type = lexer.getTokenType()) {
+            if (type == R_LBRACE) {
+                depth++;
+            } else if (type == R_RBRACE && --depth == 0) {
+                lexer.advance();
+
+                return lexer.getTokenType() == null;
+            }
+
+            lexer.advance();
+        }
+
+        return false;
+    }
+}
@@ -11,6 +11,6 @@ public class RFileElementType extends IStubFileElementType {
 
     @Override
     public int getStubVersion() {
-        return 2;
+        return 4;
     }
 }
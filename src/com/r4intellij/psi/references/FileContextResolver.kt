@@ -6,6 +6,8 @@ import com.intellij.psi.PsiElementResolveResult
 import com.intellij.psi.PsiWhiteSpace
 import com.intellij.psi.ResolveResult
 import com.intellij.psi.impl.source.tree.LeafPsiElement
+import com.intellij.psi.util.CachedValueProvider
+import com.intellij.psi.util.CachedValuesManager
 import com.intellij.psi.util.PsiTreeUtil
 import com.r4intellij.psi.api.*
 
@@ -31,75 +33,202 @@ class FileContextResolver() {
         val results = emptyResults()
 
         // normal lookup: start as local as possible
-        val scopeChildren = resolveScope.children.filterNot { it is LeafPsiElement || it is PsiWhiteSpace }
-
         // note: when searching forward refs we include the barrier expressoin containing the symbol to be resolved
-        val candidates = if (forwardRefs) {
-            scopeChildren.dropWhile { !PsiTreeUtil.isAncestor(it, element, true) && element != it }.reversed()
-        } else {
-            scopeChildren.takeWhile { !PsiTreeUtil.isAncestor(it, element, true) && element != it }
+        val symbolTable = getSymbolTable(resolveScope)
+        symbolTable.resolveDefinitions(element, elementName, forwardRefs, findAll, results)
+
+        // since the children were processed, now process the context parameters (is any)
+        symbolTable.resolveScopeDefinitions(elementName, results)
+
+        // now redo for next upper context level (just if all results are requested and none were found so far)
+        if (findAll || results.isEmpty()) {
+            results.addAll(resolveFromInner(element, resolveScope, elementName))
         }
 
+        return results
+    }
+}
 
-        val iterator = candidates.reversed().iterator()
-        while (iterator.hasNext() && (findAll || results.isEmpty())) {
-            val candidate = iterator.next()
+private fun emptyResults() = emptyList<ResolveResult>().toMutableList()
 
-            // resolve until we hit the already processed element
-            when (candidate) {
-                is RAssignmentStatement -> {
-                    resolveFromAssignment(candidate, element, elementName, results)
-                }
-                else -> {
-                    resolveInContextByBlockRecursion(candidate, element, elementName)
-                }
+
+private fun getSymbolTable(resolveScope: PsiElement): ScopeSymbolTable {
+    return CachedValuesManager.getCachedValue(resolveScope, CachedValueProvider {
+        CachedValueProvider.Result.create(ScopeSymbolTable(resolveScope), resolveScope.containingFile ?: resolveScope)
+    })
+}
+
+
+private val OPERATOR_QUOTES = CharMatcher.anyOf("`\"'")
+
+
+internal class SymbolDefinition(val childIndex: Int,
+                                val statement: RAssignmentStatement,
+                                val name: String,
+                                val isMemberDefinition: Boolean) {
+
+    // 2nd check necessary to disallow self-references
+    // --> disabled to allow for correct usage search
+    // --> see design considerations in devel_notes.md
+    fun isSelfReference(element: PsiElement): Boolean {
+        val assignee = statement.assignee
+
+        return assignee === element || (isMemberDefinition && (assignee as RMemberExpression).expression === element)
+    }
+}
+
+
+/**
+ * Symbol definitions of a resolve scope, built once per psi modification of the file.
+ *
+ * Definitions are grouped by name and tagged with the index of the scope child which contributes them. Because the
+ * lists are ordered by this index, the definitions before (or after) the child containing the element to be resolved
+ * are found by binary search instead of walking the siblings of the element.
+ */
+internal class ScopeSymbolTable(resolveScope: PsiElement) {
+
+    private val scopeChildren = resolveScope.children.filterNot { it is LeafPsiElement || it is PsiWhiteSpace }
+
+    private val childOffsets = IntArray(scopeChildren.size) { scopeChildren[it].textRange.startOffset }
+
+    // name -> definitions ordered by child index, and by resolve order within the same child
+    private val definitions = HashMap<String, MutableList<SymbolDefinition>>()
+
+    // function parameters or for-loop targets
+    private val scopeDefinitions = HashMap<String, MutableList<PsiElement>>()
+
+
+    init {
+        scopeChildren.forEachIndexed { childIndex, child ->
+            val childDefinitions = emptyList<SymbolDefinition>().toMutableList()
+
+            if (child is RAssignmentStatement) {
+                childDefinitions.addAll(resolveFromAssignment(child, childIndex))
             }
 
-            results.addAll(resolveInContextByBlockRecursion(candidate, element, elementName));
+            childDefinitions.addAll(resolveInContextByBlockRecursion(child, childIndex).asReversed())
+
+            for (definition in keepFirstAndLast(childDefinitions)) {
+                definitions.getOrPut(definition.name, { emptyList<SymbolDefinition>().toMutableList() }).add(definition)
+            }
         }
 
-        // since the children were processed, now process the context parameters (is any)
-        // visitor pattern might work as well here
         when (resolveScope) {
             is RFunctionExpression -> {
-                val list = resolveScope.getParameterList()
-                for (parameter in list.getParameterList()) {
-                    if (elementName == parameter.getName()) {
-                        results.add(PsiElementResolveResult(parameter))
-                    }
+                for (parameter in resolveScope.parameterList.parameterList) {
+                    val parameterName = parameter.name ?: continue
+                    scopeDefinitions.getOrPut(parameterName, { emptyList<PsiElement>().toMutableList() }).add(parameter)
                 }
             }
 
             is RForStatement -> {
-                val target = resolveScope.getTarget()
-                if (elementName == target.getName()) {
-                    results.add(PsiElementResolveResult(target))
+                val target = resolveScope.target
+                val targetName = target.name
+                if (targetName != null) {
+                    scopeDefinitions.getOrPut(targetName, { emptyList<PsiElement>().toMutableList() }).add(target)
                 }
             }
         }
+    }
 
-        // now redo for next upper context level (just if all results are requested and none were found so far)
-        if (findAll || results.isEmpty()) {
-            results.addAll(resolveFromInner(element, resolveScope, elementName))
+
+    fun resolveDefinitions(element: PsiElement, elementName: String, forwardRefs: Boolean, findAll: Boolean, results: MutableList<ResolveResult>) {
+        val candidates = definitions[elementName] ?: return
+
+        val barrier = findBarrierIndex(element)
+
+        if (forwardRefs) {
+            // process the barrier and all children after it, the most local ones first
+            if (barrier < 0) return
+
+            var pos = lowerBound(candidates, barrier)
+            while (pos < candidates.size && (findAll || results.isEmpty())) {
+                val childIndex = candidates[pos].childIndex
+                while (pos < candidates.size && candidates[pos].childIndex == childIndex) {
+                    addUnlessSelfReference(candidates[pos++], element, results)
+                }
+            }
+        } else {
+            // process all children before the barrier, the most local ones first
+            val end = if (barrier < 0) scopeChildren.size else barrier
+
+            var pos = lowerBound(candidates, end)
+            while (pos > 0 && (findAll || results.isEmpty())) {
+                val childIndex = candidates[pos - 1].childIndex
+                val childEnd = pos
+                while (pos > 0 && candidates[pos - 1].childIndex == childIndex) pos--
+
+                for (i in pos until childEnd) {
+                    addUnlessSelfReference(candidates[i], element, results)
+                }
+            }
         }
+    }
 
-        return results
+
+    fun resolveScopeDefinitions(elementName: String, results: MutableList<ResolveResult>) {
+        scopeDefinitions[elementName]?.forEach { results.add(PsiElementResolveResult(it)) }
+    }
+
+
+    private fun addUnlessSelfReference(definition: SymbolDefinition, element: PsiElement, results: MutableList<ResolveResult>) {
+        if (!definition.isSelfReference(element)) {
+            results.add(PsiElementResolveResult(definition.statement))
+        }
+    }
+
+
+    /** Index of the first definition contributed by a child at or after the given child index. */
+    private fun lowerBound(candidates: List<SymbolDefinition>, childIndex: Int): Int {
+        var low = 0
+        var high = candidates.size
+
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (candidates[mid].childIndex < childIndex) low = mid + 1 else high = mid
+        }
+
+        return low
     }
 
-    private fun resolveInContextByBlockRecursion(context: PsiElement, element: PsiElement, elementName: String): List<ResolveResult> {
-        val result = emptyResults()
 
-        //    RResolver.resolveFromAssignmentInContext(element, elementName, result, context)
+    /** Index of the scope child which contains the element, or -1 if there is none. */
+    private fun findBarrierIndex(element: PsiElement): Int {
+        val elementOffset = element.textRange.startOffset
+
+        // last child starting at or before the element
+        var low = 0
+        var high = childOffsets.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (childOffsets[mid] <= elementOffset) low = mid + 1 else high = mid
+        }
+
+        // empty children may share their start offset with the barrier
+        var index = low - 1
+        while (index >= 0 && childOffsets[index] == childOffsets[low - 1]) {
+            if (PsiTreeUtil.isAncestor(scopeChildren[index], element, false)) return index
+            index--
+        }
+
+        return -1
+    }
+
+
+    private fun resolveInContextByBlockRecursion(context: PsiElement, childIndex: Int): List<SymbolDefinition> {
+        val result = emptyList<SymbolDefinition>().toMutableList()
 
         // also recurse into blocks, if and elses of current context
         context.acceptChildren(object : RVisitor() {
             override fun visitBlockExpression(blockExpression: RBlockExpression) {
-                result.addAll(resolveInContextByBlockRecursion(blockExpression, element, elementName))
-                blockExpression.acceptChildren(this)
+                // the block contributes its definitions local first and then again in order
+                val blockDefinitions = resolveInContextByBlockRecursion(blockExpression, childIndex)
+                result.addAll(blockDefinitions.asReversed())
+                result.addAll(blockDefinitions)
             }
 
             override fun visitAssignmentStatement(statement: RAssignmentStatement) {
-                resolveFromAssignment(statement, element, elementName, result)
+                result.addAll(resolveFromAssignment(statement, childIndex))
                 statement.acceptChildren(this)
             }
 
@@ -109,49 +238,53 @@ class FileContextResolver() {
             }
         })
 
-        // local first thus reverse
-        return result.reversed()
+        return keepFirstAndLast(result)
     }
-}
 
-private fun emptyResults() = emptyList<ResolveResult>().toMutableList()
 
+    /**
+     * Drops repeated definitions but keeps the first and the last occurrence of each, since the resolve order
+     * relies on both (see ResolveResultWrapper).
+     */
+    private fun keepFirstAndLast(definitions: List<SymbolDefinition>): List<SymbolDefinition> {
+        val firstIndex = HashMap<Pair<RAssignmentStatement, String>, Int>()
+        val lastIndex = HashMap<Pair<RAssignmentStatement, String>, Int>()
 
-internal fun resolveFromAssignment(statement: RAssignmentStatement, element: PsiElement, elementName: String, result: MutableList<ResolveResult>) {
-    val assignee = statement.assignee
+        definitions.forEachIndexed { index, definition ->
+            val key = definition.statement to definition.name
+            firstIndex.putIfAbsent(key, index)
+            lastIndex.put(key, index)
+        }
 
-    // 2nd check necessary to disallow self-references
-    // --> disabled to allow for correct usage search
-    // --> see design considerations in devel_notes.md
-    if (assignee == null || assignee === element) return
+        return definitions.filterIndexed { index, definition ->
+            val key = definition.statement to definition.name
+            firstIndex[key] == index || lastIndex[key] == index
+        }
+    }
+}
 
 
-    if (assignee.text == elementName) {
-        val resolveResult = PsiElementResolveResult(statement)
-        result.add(resolveResult)
-    }
+internal fun resolveFromAssignment(statement: RAssignmentStatement, childIndex: Int): List<SymbolDefinition> {
+    val assignee = statement.assignee ?: return emptyList()
+
+    val result = emptyList<SymbolDefinition>().toMutableList()
+    result.add(SymbolDefinition(childIndex, statement, assignee.text, false))
 
     // also resolve member expressions
     if (assignee is RMemberExpression) {
-        val expr = assignee.expression
-        if (expr.text == elementName && expr !== element) {
-            // disallow self-references
-            result.add(PsiElementResolveResult(statement))
-        }
+        result.add(SymbolDefinition(childIndex, statement, assignee.expression.text, true))
     }
 
 
     // if assignee is a reference expression it could be a backticked operator definition
     // same for assignees which are literal expression. R support those as well for defining operators
     if (assignee is RReferenceExpression || assignee is RStringLiteralExpression) {
-        val charMatcher = CharMatcher.anyOf("`\"'")
-
-        if (charMatcher.matches(assignee.text[0])) {
-            val operatorCandidate = charMatcher.trimFrom(assignee.text)
+        val assigneeText = assignee.text
 
-            if (operatorCandidate == elementName) {
-                result.add(PsiElementResolveResult(statement))
-            }
+        if (assigneeText.isNotEmpty() && OPERATOR_QUOTES.matches(assigneeText[0])) {
+            result.add(SymbolDefinition(childIndex, statement, OPERATOR_QUOTES.trimFrom(assigneeText), false))
         }
     }
+
+    return result
 }
@@ -8,6 +8,8 @@ import com.intellij.lang.Language;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.light.LightElement;
+import com.intellij.psi.impl.source.resolve.ResolveCache;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.IncorrectOperationException;
 import com.r4intellij.RElementGenerator;
 import com.r4intellij.RLanguage;
@@ -17,6 +19,8 @@ import com.r4intellij.packages.RPackage;
 import com.r4intellij.parsing.RElementTypes;
 import com.r4intellij.psi.RElementFactory;
 import com.r4intellij.psi.api.RFile;
+import com.r4intellij.psi.api.RFunctionExpression;
+import com.r4intellij.psi.api.RParameter;
 import com.r4intellij.psi.api.RReferenceExpression;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -38,9 +42,20 @@ public class RReferenceImpl implements PsiPolyVariantReference {
     }
 
 
+    // resolve results are cached until the next psi modification, see ResolveCache
+    private static final ResolveCache.PolyVariantResolver<RReferenceImpl> RESOLVER =
+            (reference, incompleteCode) -> reference.multiResolveInner();
+
+
     @NotNull
     @Override
     public ResolveResult[] multiResolve(boolean incompleteCode) {
+        return ResolveCache.getInstance(myElement.getProject()).resolveWithCaching(this, RESOLVER, false, incompleteCode);
+    }
+
+
+    @NotNull
+    private ResolveResult[] multiResolveInner() {
         final List<ResolveResult> result = new ArrayList<ResolveResult>();
 
         if (RPsiUtils.isNamedArgument(myElement)) {
@@ -135,14 +150,8 @@ public class RReferenceImpl implements PsiPolyVariantReference {
         // when searching for unused parameters and variables like in
         // this is typically invoked on all references with the same name
 
-        //TODO: check some conditions to speed up search (ie avoid resolving)
-//        if(element instanceof RParameter){
-//            // same file at least
-//            PsiTreeUtil.
-//
-//            // better: test for same function expression
-//
-//        }
+        // reject by name, file and scope before doing a full resolve
+        if (!isResolveCandidate(element)) return false;
 
         // most other impl do something like
 //        final PsiManager manager = getManager();
@@ -155,6 +164,31 @@ public class RReferenceImpl implements PsiPolyVariantReference {
     }
 
 
+    private boolean isResolveCandidate(PsiElement element) {
+        if (element instanceof PsiNamedElement) {
+            // note: names of assignments are already stripped of operator quotes and member accessors
+            String targetName = ((PsiNamedElement) element).getName();
+            if (targetName != null && !targetName.equals(myElement.getName())) return false;
+        }
+
+        // named arguments resolve against the parameters of the called function which may be defined elsewhere
+        if (RPsiUtils.isNamedArgument(myElement)) return true;
+
+        // symbols defined within a function are just visible inside of it
+        RFunctionExpression definitionScope = element instanceof RParameter ?
+                PsiTreeUtil.getParentOfType(element, RFunctionExpression.class) :
+                PsiTreeUtil.getParentOfType(element, RFunctionExpression.class, true, RFile.class);
+
+        if (definitionScope != null) {
+            if (definitionScope.getContainingFile() != myElement.getContainingFile()) return false;
+
+            return PsiTreeUtil.isAncestor(definitionScope, myElement, true);
+        }
+
+        return true;
+    }
+
+
     // somehow needed to provide reference completion
     // http://www.jetbrains.org/intellij/sdk/docs/reference_guide/custom_language_support/code_completion.html
     @NotNull
@@ -244,8 +278,15 @@ public class RReferenceImpl implements PsiPolyVariantReference {
         }
 
 
+        /**
+         * @return the assignment which declares the symbol of the lookup element, or <code>null</code> if it is not
+         * resolved anymore
+         */
+        @Nullable
         public PsiElement getRefExpression() {
-            return RElementFactory.createRefExpression(getProject(), refExpression).getReference().resolve().getParent();
+            // library symbols resolve to their assignment statements already
+            RReferenceImpl reference = RElementFactory.createRefExpression(getProject(), refExpression).getReference();
+            return reference != null ? reference.resolve() : null;
         }
 
 
@@ -260,4 +301,20 @@ public class RReferenceImpl implements PsiPolyVariantReference {
     public boolean isSoft() {
         return false;
     }
+
+
+    // references are created on demand, so equality is needed for the resolve cache to recognize them
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        return myElement.equals(((RReferenceImpl) o).myElement);
+    }
+
+
+    @Override
+    public int hashCode() {
+        return myElement.hashCode();
+    }
 }
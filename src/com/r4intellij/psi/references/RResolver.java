@@ -1,5 +1,6 @@
 package com.r4intellij.psi.references;
 
+import com.google.common.base.CharMatcher;
 import com.google.common.collect.Iterables;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
@@ -10,7 +11,6 @@ import com.intellij.openapi.roots.*;
 import com.intellij.openapi.roots.libraries.Library;
 import com.intellij.openapi.roots.libraries.LibraryTable;
 import com.intellij.openapi.roots.libraries.LibraryTablesRegistrar;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.search.ProjectScopeImpl;
 import com.intellij.psi.util.PsiTreeUtil;
@@ -19,6 +19,7 @@ import com.r4intellij.interpreter.SkeletonUpdater;
 import com.r4intellij.packages.RIndexCache;
 import com.r4intellij.psi.api.*;
 import com.r4intellij.psi.stubs.RAssignmentNameIndex;
+import com.r4intellij.psi.stubs.RNamespacedSymbolIndex;
 import com.r4intellij.settings.LibraryUtil;
 import com.r4intellij.settings.RSettings;
 import com.r4intellij.typing.RTypeProvider;
@@ -27,11 +28,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import static com.r4intellij.RFileType.DOT_R_EXTENSION;
-
 public class RResolver {
 
     protected static final Logger LOG = Logger.getInstance("#" + RResolver.class.getName());
@@ -74,31 +74,43 @@ public class RResolver {
 
     private static ResolveResult addFromImports(@NotNull final PsiElement element, @NotNull final String name) {
 
-        // get all imports for the current File
-        List<String> imports = RIndexCache.getInstance().findImportsFor(element);
+        Project project = element.getProject();
 
-        // detect all libary elements with the same name
-        List<ResolveResult> indexResults = findSkeletonMatches(name, element.getProject());
+        // the packages providing the symbol are known from the package index, so just their skeletons are looked up
+        Set<String> providingPackages = RIndexCache.getInstance().getPackagesProviding(name);
+        Function<String, List<ResolveResult>> packageMatches = packageName -> findSkeletonMatches(name, packageName, project);
 
-        // retain those for which there is an import statement
-        List<ResolveResult> imported = indexResults.stream()
-                .filter(resolve -> imports.contains(getSkeletonPckgName(resolve)))
-                .collect(Collectors.toList());
+        if (providingPackages.isEmpty()) {
+            // without an index file or before the index picked up new skeletons, the whole skeleton library is searched
+            Map<String, List<ResolveResult>> libraryMatches = findSkeletonMatches(name, project).stream()
+                    .filter(resolve -> getSkeletonPckgName(resolve) != null)
+                    .collect(Collectors.groupingBy(RResolver::getSkeletonPckgName, LinkedHashMap::new, Collectors.toList()));
 
+            if (libraryMatches.isEmpty()) return null;
+
+            providingPackages = libraryMatches.keySet();
+            packageMatches = packageName -> libraryMatches.getOrDefault(packageName, Collections.emptyList());
+        }
+
+        // get all imports for the current File
+        List<String> imports = RIndexCache.getInstance().findImportsFor(element);
 
-        // resort to match import order in file
-        imported.sort(Comparator.comparingInt(o -> imports.indexOf(getSkeletonPckgName(o))));
+        // because of R environment rules we return the resolve from the last matching import before the element
+        for (int i = imports.size() - 1; i >= 0; i--) {
+            String importedPackage = imports.get(i);
+            if (!providingPackages.contains(importedPackage)) continue;
 
-        if (!imported.isEmpty()) {
-            // because of R environment rules we return the resolve from the last matching import before the element
-//            return imported.get(0);
-            return Iterables.getLast(imported);
+            List<ResolveResult> importedResults = packageMatches.apply(importedPackage);
+            if (!importedResults.isEmpty()) return Iterables.getLast(importedResults);
+        }
 
-        } else if (!indexResults.isEmpty()) {
-            // no overlap --> highlight as error and suggest to import one!
-            List<String> packageOptions = indexResults.stream()
-                    .map(RResolver::getSkeletonPckgName).collect(Collectors.toList());
+        // no overlap --> highlight as error and suggest to import one!
+        List<ResolveResult> indexResults = providingPackages.stream()
+                .map(packageMatches)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
 
+        if (!indexResults.isEmpty()) {
             return new MissingImportResolveResult(indexResults);
         }
 
@@ -128,20 +140,7 @@ public class RResolver {
             return indexResults;
         }
 
-        // too wide scope in scratches?
-        // see https://intellij-support.jetbrains.com/hc/en-us/community/posts/115000093684-Reference-search-scope-different-between-project-files-and-scratches-
-        final Collection<RAssignmentStatement> assignmentStatements =
-//                RAssignmentNameIndex.find(name, project, new LibraryScope(project, library));
-                RAssignmentNameIndex.find(name, project, new LibraryScope(project, library));
-//                RAssignmentNameIndex.find(name, project, new EverythingGlobalScope(project));
-
-        //RAssignmentNameIndex.allKeys(project).stream().filter(f->f.equals("head")).collect(Collectors.toList())
-        //RAssignmentNameIndex.allKeys(project).stream().filter(f->f.equals("iris")).collect(Collectors.toList())
-
-        for (RAssignmentStatement statement : assignmentStatements) {
-//            String containedPackage = getSkeletonPckgName(statement);
-//            if (!imports.contains(containedPackage)) continue;
-
+        for (RAssignmentStatement statement : RAssignmentNameIndex.find(name, project, new LibraryScope(project, library))) {
             final PsiElement assignee = statement.getAssignee();
             if (assignee == null) continue;
 
@@ -152,6 +151,15 @@ public class RResolver {
     }
 
 
+    @NotNull
+    private static List<ResolveResult> findSkeletonMatches(@NotNull String name, @NotNull String packageName, Project project) {
+        List<ResolveResult> indexResults = new ArrayList<>();
+        resolveWithNamespace(project, name, packageName, indexResults);
+
+        return indexResults;
+    }
+
+
     public static Library getSkeletonLibrary(Project project) {
         boolean isGlobal = true; // decide later if this module attached libraries should also be supported
 
@@ -219,7 +227,6 @@ public class RResolver {
 
 
     //TODO: should we search in other libraries too?
-    //TODO: why don't we use the stub index here? should be faster and more elegant
     public static void resolveWithNamespace(@NotNull final Project project,
                                             String name,
                                             String namespace,
@@ -230,35 +237,11 @@ public class RResolver {
             return;
         }
 
-        VirtualFile file = Arrays.stream(library.getFiles(OrderRootType.CLASSES)).
-                map(d -> d.findFileByRelativePath(namespace + DOT_R_EXTENSION)).
-                filter(Objects::nonNull).findFirst().orElse(null);
-
-        // FIXME support unit-test library layout out here (bad design!)
-        if (file == null) {
-            file = Arrays.stream(library.getFiles(OrderRootType.CLASSES))
-                    .filter(f -> f.getName().equals(namespace + DOT_R_EXTENSION))
-                    .findFirst().orElse(null);
-        }
-
-        if (file == null) {
-            return;
-        }
-
-        // todo why don't we use the stub-index here, it should be much faster than parsing the file
-        final PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
-
-        final RAssignmentStatement[] statements =
-                PsiTreeUtil.getChildrenOfType(psiFile, RAssignmentStatement.class);
+        // same as for the stubs we strip the quotes of operators and non-syntactic names
+        String symbol = CharMatcher.anyOf("`\"'").trimFrom(name);
 
-        if (statements != null) {
-            for (RAssignmentStatement statement : statements) {
-                final PsiElement assignee = statement.getAssignee();
-
-                if (assignee != null && assignee.getText().equals(name)) {
-                    result.add(new PsiElementResolveResult(assignee));
-                }
-            }
+        for (RAssignmentStatement statement : RNamespacedSymbolIndex.find(namespace, symbol, project, new LibraryScope(project, library))) {
+            result.add(new PsiElementResolveResult(statement));
         }
     }
 
@@ -1,17 +1,20 @@
 package com.r4intellij.psi.stubs;
 
 import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.stubs.*;
 import com.intellij.util.io.StringRef;
 import com.r4intellij.psi.RAssignmentStatementImpl;
-import com.r4intellij.psi.api.RAssignmentStatement;
-import com.r4intellij.psi.api.RFile;
-import com.r4intellij.psi.api.RFunctionExpression;
-import com.r4intellij.psi.api.RPsiElement;
+import com.r4intellij.psi.api.*;
+import com.r4intellij.typing.DocStringUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
 
 public class RAssignmentElementType extends RStubElementType<RAssignmentStub, RAssignmentStatement> {
     public RAssignmentElementType(@NotNull final String debugName) {
@@ -47,7 +50,32 @@ public class RAssignmentElementType extends RStubElementType<RAssignmentStub, RA
 
         boolean isTopLevelAssign = value != null && value.getParent() != null && value.getParent().getParent() != null && value.getParent().getParent() instanceof RFile;
 
-        return new RAssignmentStubImpl(name, parentStub, this, value instanceof RFunctionExpression, isTopLevelAssign);
+        // keep the formals in the stub so that library functions can be matched without loading their tree
+        List<String> parameterNames = Collections.emptyList();
+        BitSet defaultValues = new BitSet();
+
+        if (value instanceof RFunctionExpression) {
+            List<RParameter> parameters = ((RFunctionExpression) value).getParameterList().getParameterList();
+            parameterNames = new ArrayList<>(parameters.size());
+
+            for (int i = 0; i < parameters.size(); i++) {
+                RParameter parameter = parameters.get(i);
+                parameterNames.add(parameter.getName() != null ? parameter.getName() : parameter.getText());
+
+                if (parameter.getExpression() != null) defaultValues.set(i);
+            }
+        }
+
+        String namespace = isTopLevelAssign ? FileUtil.getNameWithoutExtension(psi.getContainingFile().getName()) : null;
+
+        // same as in skeletonize_package.R, data sets are declared as `name <- package::name`
+        boolean isDataSet = namespace != null && value instanceof RReferenceExpression &&
+                namespace.equals(((RReferenceExpression) value).getNamespace());
+
+        boolean hasTypeAnnotations = value instanceof RFunctionExpression && DocStringUtil.hasTypeAnnotations(psi);
+
+        return new RAssignmentStubImpl(name, parentStub, this, value instanceof RFunctionExpression, isTopLevelAssign,
+                parameterNames, defaultValues, isDataSet, namespace, hasTypeAnnotations);
     }
 
 
@@ -57,6 +85,17 @@ public class RAssignmentElementType extends RStubElementType<RAssignmentStub, RA
         dataStream.writeName(stub.getName());
         dataStream.writeBoolean(stub.isFunctionDeclaration());
         dataStream.writeBoolean(stub.isTopLevelAssignment());
+
+        List<String> parameterNames = stub.getParameterNames();
+        dataStream.writeVarInt(parameterNames.size());
+        for (int i = 0; i < parameterNames.size(); i++) {
+            dataStream.writeName(parameterNames.get(i));
+            dataStream.writeBoolean(stub.hasDefaultValue(i));
+        }
+
+        dataStream.writeBoolean(stub.isDataSet());
+        dataStream.writeName(stub.getNamespace());
+        dataStream.writeBoolean(stub.hasTypeAnnotations());
     }
 
 
@@ -66,7 +105,21 @@ public class RAssignmentElementType extends RStubElementType<RAssignmentStub, RA
         String name = StringRef.toString(dataStream.readName());
         final boolean isFunctionDefinition = dataStream.readBoolean();
         final boolean isTopLevel = dataStream.readBoolean();
-        return new RAssignmentStubImpl(name, parentStub, this, isFunctionDefinition, isTopLevel);
+
+        int numParameters = dataStream.readVarInt();
+        List<String> parameterNames = numParameters == 0 ? Collections.emptyList() : new ArrayList<>(numParameters);
+        BitSet defaultValues = new BitSet();
+        for (int i = 0; i < numParameters; i++) {
+            parameterNames.add(StringRef.toString(dataStream.readName()));
+            if (dataStream.readBoolean()) defaultValues.set(i);
+        }
+
+        final boolean isDataSet = dataStream.readBoolean();
+        String namespace = StringRef.toString(dataStream.readName());
+        final boolean hasTypeAnnotations = dataStream.readBoolean();
+
+        return new RAssignmentStubImpl(name, parentStub, this, isFunctionDefinition, isTopLevel,
+                parameterNames, defaultValues, isDataSet, namespace, hasTypeAnnotations);
     }
 
 
@@ -75,6 +128,10 @@ public class RAssignmentElementType extends RStubElementType<RAssignmentStub, RA
         final String name = stub.getName();
         if (name != null && stub.getParentStub() instanceof PsiFileStub && stub.isTopLevelAssignment()) {
             sink.occurrence(RAssignmentNameIndex.KEY, name);
+
+            if (stub.getNamespace() != null) {
+                sink.occurrence(RNamespacedSymbolIndex.KEY, RNamespacedSymbolIndex.createKey(stub.getNamespace(), name));
+            }
         }
     }
 }
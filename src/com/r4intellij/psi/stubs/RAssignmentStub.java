@@ -2,10 +2,45 @@ package com.r4intellij.psi.stubs;
 
 import com.intellij.psi.stubs.NamedStub;
 import com.r4intellij.psi.api.RAssignmentStatement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 public interface RAssignmentStub extends NamedStub<RAssignmentStatement> {
     boolean isFunctionDeclaration();
 
 
     boolean isTopLevelAssignment();
+
+
+    /**
+     * Names of the formal parameters if a function is assigned, <code>...</code> is used for the varargs parameter.
+     */
+    @NotNull
+    List<String> getParameterNames();
+
+
+    boolean hasDefaultValue(int parameterIndex);
+
+
+    /**
+     * Data sets are declared as <code>name <- package::name</code> in package skeletons.
+     */
+    boolean isDataSet();
+
+
+    /**
+     * Whether the doc string of an assigned function declares <code>@type</code> or <code>@rule</code> annotations,
+     * so that calls have to be type checked against its tree.
+     */
+    boolean hasTypeAnnotations();
+
+
+    /**
+     * The namespace of a top-level assignment which is the file name without extension (i.e. the package name in case
+     * of skeletons), or <code>null</code> for nested assignments.
+     */
+    @Nullable
+    String getNamespace();
 }
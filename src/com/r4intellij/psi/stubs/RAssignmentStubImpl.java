@@ -7,20 +7,35 @@ import com.r4intellij.psi.api.RAssignmentStatement;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.BitSet;
+import java.util.List;
+
 public class RAssignmentStubImpl extends StubBase<RAssignmentStatement> implements RAssignmentStub {
     private final String myName;
     private final boolean isFunction;
     private final boolean isTopLevel;
+    private final List<String> myParameterNames;
+    private final BitSet myDefaultValues;
+    private final boolean isDataSet;
+    private final String myNamespace;
+    private final boolean hasTypeAnnotations;
 
 
     public RAssignmentStubImpl(@Nullable final String name,
                                @NotNull final StubElement parent,
                                @NotNull IStubElementType stubElementType,
-                               boolean isFunctionDefinition, boolean isTopLevel) {
+                               boolean isFunctionDefinition, boolean isTopLevel,
+                               @NotNull List<String> parameterNames, @NotNull BitSet defaultValues,
+                               boolean isDataSet, @Nullable String namespace, boolean hasTypeAnnotations) {
         super(parent, stubElementType);
         this.myName = name;
         this.isFunction = isFunctionDefinition;
         this.isTopLevel = isTopLevel;
+        this.myParameterNames = parameterNames;
+        this.myDefaultValues = defaultValues;
+        this.isDataSet = isDataSet;
+        this.myNamespace = namespace;
+        this.hasTypeAnnotations = hasTypeAnnotations;
     }
 
 
@@ -46,4 +61,36 @@ public class RAssignmentStubImpl extends StubBase<RAssignmentStatement> implemen
     public boolean isTopLevelAssignment() {
         return isTopLevel;
     }
+
+
+    @NotNull
+    @Override
+    public List<String> getParameterNames() {
+        return myParameterNames;
+    }
+
+
+    @Override
+    public boolean hasDefaultValue(int parameterIndex) {
+        return myDefaultValues.get(parameterIndex);
+    }
+
+
+    @Override
+    public boolean isDataSet() {
+        return isDataSet;
+    }
+
+
+    @Nullable
+    @Override
+    public String getNamespace() {
+        return myNamespace;
+    }
+
+
+    @Override
+    public boolean hasTypeAnnotations() {
+        return hasTypeAnnotations;
+    }
 }
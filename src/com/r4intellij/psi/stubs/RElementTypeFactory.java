@@ -1,6 +1,7 @@
 package com.r4intellij.psi.stubs;
 
 import com.intellij.psi.tree.IElementType;
+import com.r4intellij.psi.RBlockElementType;
 import org.jetbrains.annotations.NotNull;
 
 public class RElementTypeFactory {
@@ -12,6 +13,9 @@ public class RElementTypeFactory {
         if (name.equals("R_ASSIGNMENT_STATEMENT")) {
             return new RAssignmentElementType(name);
         }
+        if (name.equals("R_BLOCK_EXPRESSION")) {
+            return new RBlockElementType(name);
+        }
         throw new IllegalArgumentException("Unknown element type: " + name);
     }
 }
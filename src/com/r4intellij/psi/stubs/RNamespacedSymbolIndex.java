@@ -0,0 +1,37 @@
+package com.r4intellij.psi.stubs;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.r4intellij.psi.api.RAssignmentStatement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Top-level assignments keyed by <code>namespace::name</code>, where the namespace is the name of the declaring file.
+ * For package skeletons this resolves <code>package::symbol</code> without parsing the skeleton.
+ */
+public class RNamespacedSymbolIndex extends StringStubIndexExtension<RAssignmentStatement> {
+    public static final StubIndexKey<String, RAssignmentStatement> KEY = StubIndexKey.createIndexKey("R.function.namespacedName");
+
+
+    @Override
+    @NotNull
+    public StubIndexKey<String, RAssignmentStatement> getKey() {
+        return KEY;
+    }
+
+
+    @NotNull
+    public static String createKey(@NotNull String namespace, @NotNull String name) {
+        return namespace + "::" + name;
+    }
+
+
+    public static Collection<RAssignmentStatement> find(String namespace, String name, Project project, GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, createKey(namespace, name), project, scope, RAssignmentStatement.class);
+    }
+}
@@ -9,12 +9,17 @@ import com.intellij.execution.process.UnixProcessManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.SystemInfo;
+import com.intellij.util.ConcurrencyUtil;
 import com.intellij.util.io.BaseDataReader;
 import com.intellij.util.io.BaseOutputReader;
+import com.r4intellij.debugger.ROutputReceiver;
 import com.r4intellij.debugger.exception.RDebuggerException;
+import com.r4intellij.debugger.executor.RAsyncExecutor;
+import com.r4intellij.debugger.executor.RCommandQueue;
 import com.r4intellij.debugger.executor.RExecutionResult;
 import com.r4intellij.debugger.executor.RExecutionResultCalculator;
-import com.r4intellij.debugger.executor.RExecutor;
+import com.r4intellij.debugger.executor.ROutputBuffer;
+import com.r4intellij.debugger.executor.ROutputStreamer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jvnet.winp.WinProcess;
@@ -23,11 +28,13 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.util.LinkedList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import static com.r4intellij.debugger.data.RLanguageConstants.LINE_SEPARATOR;
 
-public class RXProcessHandler extends ColoredProcessHandler implements RExecutor {
+public class RXProcessHandler extends ColoredProcessHandler implements RAsyncExecutor {
 
     @NotNull
     private static final Logger LOGGER = Logger.getInstance(RXProcessHandler.class);
@@ -35,16 +42,20 @@ public class RXProcessHandler extends ColoredProcessHandler implements RExecutor
     @NotNull
     private static final Key SERVICE_KEY = ProcessOutputTypes.STDERR;
 
+    @NotNull
+    private static final String DISPATCHER_NAME = "RXProcessHandlerDispatcher";
+
     @NotNull
     private final RExecutionResultCalculator myResultCalculator;
 
     private final boolean myPrintIO;
 
+    // lines of the output are indexed while it arrives, so that the result is calculated without scanning it again
     @NotNull
-    private final StringBuilder myOutputBuffer;
+    private final ROutputBuffer myOutputBuffer;
 
     @NotNull
-    private final StringBuilder myErrorBuffer;
+    private final ROutputBuffer myErrorBuffer;
 
     @NotNull
     private final OutputStreamWriter myWriter;
@@ -52,6 +63,20 @@ public class RXProcessHandler extends ColoredProcessHandler implements RExecutor
     @NotNull
     private final LinkedList<Listener> myListeners;
 
+    // commands are serialized by this lock, the buffers are locked just to exchange data with their readers
+    @NotNull
+    private final Object myCommandLock;
+
+    @NotNull
+    private final RCommandQueue myCommandQueue;
+
+    // not null while a streaming command is executed, guarded by myOutputBuffer
+    @Nullable
+    private ROutputStreamer myOutputStreamer;
+
+    // errors are not buffered while a streaming command is executed, guarded by myErrorBuffer
+    private boolean myIsErrorStreamed;
+
     @Nullable
     private Reader myOutputReader;
 
@@ -70,13 +95,22 @@ public class RXProcessHandler extends ColoredProcessHandler implements RExecutor
         myResultCalculator = resultCalculator;
         myPrintIO = printIO;
 
-        myOutputBuffer = new StringBuilder();
-        myErrorBuffer = new StringBuilder();
+        myOutputBuffer = new ROutputBuffer();
+        myErrorBuffer = new ROutputBuffer();
 
         myWriter = new OutputStreamWriter(getProcess().getOutputStream());
 
         myListeners = new LinkedList<Listener>();
 
+        myCommandLock = new Object();
+        myCommandQueue = new RCommandQueue(
+                this,
+                Executors.newSingleThreadExecutor(ConcurrencyUtil.newNamedThreadFactory(DISPATCHER_NAME, true, Thread.NORM_PRIORITY))
+        );
+
+        myOutputStreamer = null;
+        myIsErrorStreamed = false;
+
         myOutputReader = null;
         myErrorReader = null;
         myExecuteCounter = 0;
@@ -86,33 +120,42 @@ public class RXProcessHandler extends ColoredProcessHandler implements RExecutor
     @NotNull
     @Override
     public RExecutionResult execute(@NotNull final String command) throws RDebuggerException {
-        try {
-            myWriter.write(command);
-            myWriter.write(LINE_SEPARATOR);
-            myWriter.flush();
-
-            synchronized (myOutputBuffer) {
-                waitForOutput();
-
-                synchronized (myErrorBuffer) {
-                    waitForError();
-
-                    final RExecutionResult result = myResultCalculator.calculate(myOutputBuffer, myErrorBuffer.toString());
+        myCommandQueue.awaitQueued();
+
+        synchronized (myCommandLock) {
+            try {
+                return doExecute(command);
+            } catch (final IOException e) {
+                throw new RDebuggerException(e);
+            } catch (final InterruptedException e) {
+                throw new RDebuggerException(e);
+            }
+        }
+    }
 
-                    myExecuteCounter++;
 
-                    printIO(command, result);
+    @NotNull
+    @Override
+    public CompletableFuture<RExecutionResult> executeAsync(@NotNull final String command) {
+        return myCommandQueue.submit(command);
+    }
 
-                    myOutputBuffer.setLength(0);
-                    myErrorBuffer.setLength(0);
 
-                    return result;
-                }
+    /**
+     * Executes the command and passes its output and errors to the console while they arrive instead of collecting them,
+     * so that long running commands show their progress and don't accumulate their whole output.
+     */
+    public void executeStreaming(@NotNull final String command) throws RDebuggerException {
+        myCommandQueue.awaitQueued();
+
+        synchronized (myCommandLock) {
+            try {
+                doExecuteStreaming(command);
+            } catch (final IOException e) {
+                throw new RDebuggerException(e);
+            } catch (final InterruptedException e) {
+                throw new RDebuggerException(e);
             }
-        } catch (final IOException e) {
-            throw new RDebuggerException(e);
-        } catch (final InterruptedException e) {
-            throw new RDebuggerException(e);
         }
     }
 
@@ -142,7 +185,7 @@ public class RXProcessHandler extends ColoredProcessHandler implements RExecutor
     protected BaseDataReader createOutputDataReader(@NotNull final BaseDataReader.SleepingPolicy sleepingPolicy) {
         myOutputReader = super.createProcessOutReader();
 
-        return new RXBaseOutputReader(myOutputReader, sleepingPolicy, myOutputBuffer, "output stream of " + myCommandLine);
+        return new RXBaseOutputReader(myOutputReader, sleepingPolicy, myOutputBuffer, false, "output stream of " + myCommandLine);
     }
 
 
@@ -151,7 +194,7 @@ public class RXProcessHandler extends ColoredProcessHandler implements RExecutor
     protected BaseDataReader createErrorDataReader(@NotNull final BaseDataReader.SleepingPolicy sleepingPolicy) {
         myErrorReader = super.createProcessErrReader();
 
-        return new RXBaseOutputReader(myErrorReader, sleepingPolicy, myErrorBuffer, "error stream of " + myCommandLine);
+        return new RXBaseOutputReader(myErrorReader, sleepingPolicy, myErrorBuffer, true, "error stream of " + myCommandLine);
     }
 
 
@@ -173,6 +216,8 @@ public class RXProcessHandler extends ColoredProcessHandler implements RExecutor
 
     @Override
     protected void onOSProcessTerminated(final int exitCode) {
+        myCommandQueue.terminate();
+
         final String errorBuffer = waitAndCopyErrorBuffer();
 
         for (final Listener listener : myListeners) {
@@ -183,6 +228,91 @@ public class RXProcessHandler extends ColoredProcessHandler implements RExecutor
     }
 
 
+    @NotNull
+    private RExecutionResult doExecute(@NotNull final String command) throws IOException, InterruptedException {
+        myWriter.write(command);
+        myWriter.write(LINE_SEPARATOR);
+        myWriter.flush();
+
+        waitForOutput();
+        waitForError();
+
+        final String error;
+
+        synchronized (myErrorBuffer) {
+            error = myErrorBuffer.toString();
+            myErrorBuffer.clear();
+        }
+
+        final RExecutionResult result;
+
+        synchronized (myOutputBuffer) {
+            result = myResultCalculator.calculate(myOutputBuffer, error);
+            myOutputBuffer.clear();
+        }
+
+        myExecuteCounter++;
+
+        printIO(command, result);
+
+        return result;
+    }
+
+
+    private void doExecuteStreaming(@NotNull final String command) throws IOException, InterruptedException {
+        final ROutputStreamer streamer = new ROutputStreamer(
+                new ROutputReceiver() {
+                    @Override
+                    public void receiveOutput(@NotNull final String output) {
+                        notifyTextAvailable(output, ProcessOutputTypes.STDOUT);
+                    }
+
+
+                    @Override
+                    public void receiveError(@NotNull final String error) {
+                        notifyTextAvailable(error, ProcessOutputTypes.STDERR);
+                    }
+                }
+        );
+
+        synchronized (myOutputBuffer) {
+            myOutputStreamer = streamer;
+        }
+
+        synchronized (myErrorBuffer) {
+            myIsErrorStreamed = true;
+        }
+
+        try {
+            myWriter.write(command);
+            myWriter.write(LINE_SEPARATOR);
+            myWriter.flush();
+
+            waitForOutput();
+            waitForError();
+
+            synchronized (myOutputBuffer) {
+                streamer.finish(myOutputBuffer);
+            }
+        } finally {
+            synchronized (myErrorBuffer) {
+                myIsErrorStreamed = false;
+            }
+
+            synchronized (myOutputBuffer) {
+                myOutputStreamer = null;
+                myOutputBuffer.clear();
+            }
+        }
+
+        myExecuteCounter++;
+
+        if (myPrintIO) {
+            printIO("COMMAND", command);
+        }
+    }
+
+
     private void waitForOutput() throws IOException, InterruptedException {
         assert myOutputReader != null;
 
@@ -266,16 +396,20 @@ public class RXProcessHandler extends ColoredProcessHandler implements RExecutor
     private class RXBaseOutputReader extends BaseOutputReader {
 
         @NotNull
-        private final StringBuilder myBuffer;
+        private final ROutputBuffer myBuffer;
+
+        private final boolean myIsError;
 
 
         public RXBaseOutputReader(@NotNull final Reader reader,
                                   @NotNull final SleepingPolicy sleepingPolicy,
-                                  @NotNull final StringBuilder buffer,
+                                  @NotNull final ROutputBuffer buffer,
+                                  final boolean isError,
                                   @NotNull final String presentableName) {
             super(reader, sleepingPolicy);
 
             myBuffer = buffer;
+            myIsError = isError;
 
             start(presentableName);
         }
@@ -284,7 +418,16 @@ public class RXProcessHandler extends ColoredProcessHandler implements RExecutor
         @Override
         protected void onTextAvailable(@NotNull final String text) {
             synchronized (myBuffer) {
-                myBuffer.append(text);
+                if (myIsError && myIsErrorStreamed) {
+                    notifyTextAvailable(text, ProcessOutputTypes.STDERR);
+                } else {
+                    myBuffer.append(text);
+
+                    if (!myIsError && myOutputStreamer != null) {
+                        myOutputStreamer.drain(myBuffer);
+                    }
+                }
+
                 myBuffer.notify();
             }
         }
@@ -24,6 +24,7 @@ import com.r4intellij.debugger.ROutputReceiver;
 import com.r4intellij.debugger.data.RInterpreterConstants;
 import com.r4intellij.debugger.exception.RDebuggerException;
 import com.r4intellij.debugger.exception.RRuntimeException;
+import com.r4intellij.debugger.executor.RExecutionResult;
 import com.r4intellij.debugger.frame.RStackFrame;
 import com.r4intellij.run.RProcessUtils;
 import com.r4intellij.run.RXProcessHandler;
@@ -35,6 +36,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 
 // TODO [xdbg][test]
@@ -73,6 +76,9 @@ class RDebugProcess extends XDebugProcess implements RXProcessHandler.Listener {
     @NotNull
     private final XBreakpointHandler[] myBreakpointHandlers;
 
+    @NotNull
+    private final VirtualFile myScriptFile;
+
 
     public RDebugProcess(@NotNull final XDebugSession session,
                          @NotNull final RXProcessHandler processHandler,
@@ -80,7 +86,8 @@ class RDebugProcess extends XDebugProcess implements RXProcessHandler.Listener {
                          @NotNull final RDebugger debugger,
                          @NotNull final ROutputReceiver outputReceiver,
                          @NotNull final RResolvingSession resolvingSession,
-                         @NotNull final ExecutorService executor) {
+                         @NotNull final ExecutorService executor,
+                         @NotNull final VirtualFile scriptFile) {
         super(session);
 
         myProcessHandler = processHandler;
@@ -96,6 +103,7 @@ class RDebugProcess extends XDebugProcess implements RXProcessHandler.Listener {
 
         myEditorsProvider = new REditorsProvider();
         myBreakpointHandlers = new XBreakpointHandler[]{new RXLineBreakpointHandler()};
+        myScriptFile = scriptFile;
 
         myProcessHandler.addListener(this);
     }
@@ -218,7 +226,11 @@ class RDebugProcess extends XDebugProcess implements RXProcessHandler.Listener {
                     public void run() {
                         try {
                             do {
-                                if (!advance()) return;
+                                if (myDebugger.canResume(getBreakpointLines())) {
+                                    if (!resumeNatively()) return;
+                                } else if (!advance()) {
+                                    return;
+                                }
 
                                 myStack.update();
                             }
@@ -266,16 +278,25 @@ class RDebugProcess extends XDebugProcess implements RXProcessHandler.Listener {
 
     @Override
     public void onInitialized() {
+        // init commands are queued right away, commands executed later wait for them
+        final List<CompletableFuture<RExecutionResult>> initResults = new ArrayList<CompletableFuture<RExecutionResult>>();
+
+        for (final String command : RInterpreterConstants.INIT_DEBUG_COMMANDS) {
+            initResults.add(myProcessHandler.executeAsync(command));
+        }
+
         myExecutor.execute(
                 new Runnable() {
                     @Override
                     public void run() {
                         try {
-                            for (final String command : RInterpreterConstants.INIT_DEBUG_COMMANDS) {
-                                myProcessHandler.execute(command);
+                            for (final CompletableFuture<RExecutionResult> initResult : initResults) {
+                                waitForResult(initResult);
                             }
 
                             RProcessUtils.executeInitGraphicsCommands(getSession().getProject(), myProcessHandler);
+
+                            myDebugger.setBreakpoints(getBreakpointLines());
                         } catch (final RDebuggerException e) {
                             handleException(e);
                         }
@@ -295,6 +316,22 @@ class RDebugProcess extends XDebugProcess implements RXProcessHandler.Listener {
     }
 
 
+    private static void waitForResult(@NotNull final CompletableFuture<RExecutionResult> result)
+            throws RDebuggerException {
+        try {
+            result.get();
+        } catch (final InterruptedException e) {
+            throw new RDebuggerException(e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RDebuggerException) {
+                throw (RDebuggerException) e.getCause();
+            }
+
+            throw new RDebuggerException(e);
+        }
+    }
+
+
     private boolean advance() throws RDebuggerException {
         final boolean executed = myDebugger.advance();
 
@@ -306,6 +343,40 @@ class RDebugProcess extends XDebugProcess implements RXProcessHandler.Listener {
     }
 
 
+    private boolean resumeNatively() throws RDebuggerException {
+        final boolean executed = myDebugger.resume();
+
+        if (!executed) {
+            getSession().stop();
+        }
+
+        return executed;
+    }
+
+
+    @NotNull
+    private Set<Integer> getBreakpointLines() {
+        final Set<Integer> result = new HashSet<Integer>();
+
+        for (final XSourcePositionWrapper wrapper : myBreakpoints.keySet()) {
+            addBreakpointLine(result, wrapper);
+        }
+
+        for (final XSourcePositionWrapper wrapper : myTempBreakpoints) {
+            addBreakpointLine(result, wrapper);
+        }
+
+        return result;
+    }
+
+
+    private void addBreakpointLine(@NotNull final Set<Integer> lines, @NotNull final XSourcePositionWrapper wrapper) {
+        if (wrapper.myPosition.getFile().getPath().equals(myScriptFile.getPath())) {
+            lines.add(wrapper.myPosition.getLine());
+        }
+    }
+
+
     private boolean isBreakpoint() {
         final XSourcePositionWrapper wrapper = new XSourcePositionWrapper(getCurrentPosition());
 
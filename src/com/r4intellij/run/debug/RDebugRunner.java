@@ -32,6 +32,7 @@ import com.r4intellij.run.RXProcessHandler;
 import com.r4intellij.run.configuration.RRunConfiguration;
 import com.r4intellij.run.debug.resolve.RResolvingSession;
 import com.r4intellij.run.debug.resolve.RResolvingSessionImpl;
+import com.r4intellij.settings.RSettings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -78,6 +79,7 @@ public class RDebugRunner extends GenericProgramRunner {
 
         final RRunConfiguration runConfiguration = (RRunConfiguration) environment.getRunProfile();
         final String scriptPath = runConfiguration.getScriptPath();
+        final VirtualFile scriptFile = getVirtualFile(scriptPath);
 
         final XDebugSession session = XDebuggerManager.getInstance(project).startSession(
                 environment,
@@ -88,8 +90,9 @@ public class RDebugRunner extends GenericProgramRunner {
                         outputReceiver,
                         createResolvingSession(
                                 project,
-                                getVirtualFile(scriptPath)
-                        )
+                                scriptFile
+                        ),
+                        scriptFile
                 )
         );
 
@@ -111,7 +114,8 @@ public class RDebugRunner extends GenericProgramRunner {
                                                            @NotNull final ExecutionConsole executionConsole,
                                                            @NotNull final RDebugger debugger,
                                                            @NotNull final ROutputReceiver outputReceiver,
-                                                           @NotNull final RResolvingSession resolvingSession) {
+                                                           @NotNull final RResolvingSession resolvingSession,
+                                                           @NotNull final VirtualFile scriptFile) {
         return new XDebugProcessStarter() {
             @NotNull
             @Override
@@ -123,7 +127,8 @@ public class RDebugRunner extends GenericProgramRunner {
                         debugger,
                         outputReceiver,
                         resolvingSession,
-                        ConcurrencyUtil.newSingleThreadExecutor(EXECUTOR_NAME)
+                        ConcurrencyUtil.newSingleThreadExecutor(EXECUTOR_NAME),
+                        scriptFile
                 );
             }
         };
@@ -138,7 +143,11 @@ public class RDebugRunner extends GenericProgramRunner {
             return new RDebugger(
                     processHandler,
                     new RFunctionDebuggerFactoryImpl(),
-                    new RVarsLoaderFactoryImpl(processHandler, outputReceiver),
+                    new RVarsLoaderFactoryImpl(
+                            processHandler,
+                            outputReceiver,
+                            RSettings.getInstance().getDebuggerValueLimitKb() * 1024
+                    ),
                     new RDebuggerEvaluatorFactoryImpl(),
                     new BufferedReader(new FileReader(scriptPath)),
                     outputReceiver,
@@ -15,8 +15,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.Map;
 
 public class RResolvingSessionImpl implements RResolvingSession {
 
@@ -32,14 +33,28 @@ public class RResolvingSessionImpl implements RResolvingSession {
     @NotNull
     private final VirtualFile myVirtualFile;
 
+    @NotNull
+    private final Document myDocument;
+
     @NotNull
     private final List<RResolvingSessionEntry> myEntries;
 
+    // positions are reused while the document is not modified
+    @NotNull
+    private final Map<Integer, XSourcePosition> myPositions;
+
+    private long myPositionsStamp;
+
 
     public RResolvingSessionImpl(@NotNull final Project project, @NotNull final VirtualFile virtualFile) throws IOException {
+        final PsiFile psiFile = getPsiFile(project, virtualFile);
+
         myVirtualFile = virtualFile;
-        myRoot = calculateRoot(project, getPsiFile(project));
+        myDocument = getDocument(project, psiFile);
+        myRoot = calculateRoot(psiFile, myDocument);
         myEntries = new ArrayList<RResolvingSessionEntry>();
+        myPositions = new HashMap<Integer, XSourcePosition>();
+        myPositionsStamp = myDocument.getModificationStamp();
     }
 
 
@@ -63,23 +78,18 @@ public class RResolvingSessionImpl implements RResolvingSession {
 
     @Override
     public void dropLast(final int number) {
-        final ListIterator<RResolvingSessionEntry> iterator = myEntries.listIterator(myEntries.size());
-        iterator.previous();
-
-        for (int i = 0; i < number; i++) {
-            iterator.remove();
-            iterator.previous();
-        }
+        myEntries.subList(myEntries.size() - number, myEntries.size()).clear();
     }
 
 
     @NotNull
-    private PsiFile getPsiFile(@NotNull final Project project) throws IOException {
-        final PsiFile psiFile = PsiManager.getInstance(project).findFile(myVirtualFile);
+    private static PsiFile getPsiFile(@NotNull final Project project, @NotNull final VirtualFile virtualFile)
+            throws IOException {
+        final PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
 
         if (psiFile == null) {
             throw new IOException(
-                    String.format(PSI_FILE_COULD_NOT_BE_LOADED, myVirtualFile.getPath())
+                    String.format(PSI_FILE_COULD_NOT_BE_LOADED, virtualFile.getPath())
             );
         }
 
@@ -88,8 +98,8 @@ public class RResolvingSessionImpl implements RResolvingSession {
 
 
     @NotNull
-    private RFunctionDescriptor calculateRoot(@NotNull final Project project, @NotNull final PsiFile psiFile) throws IOException {
-        final RFunctionDefinitionProcessor processor = new RFunctionDefinitionProcessor(getDocument(project, psiFile));
+    private static RFunctionDescriptor calculateRoot(@NotNull final PsiFile psiFile, @NotNull final Document document) {
+        final RFunctionDefinitionProcessor processor = new RFunctionDefinitionProcessor(document);
 
         PsiTreeUtil.processElements(psiFile, processor);
 
@@ -98,7 +108,7 @@ public class RResolvingSessionImpl implements RResolvingSession {
 
 
     @NotNull
-    private Document getDocument(@NotNull final Project project, @NotNull final PsiFile psiFile) throws IOException {
+    private static Document getDocument(@NotNull final Project project, @NotNull final PsiFile psiFile) throws IOException {
         final Document document = PsiDocumentManager.getInstance(project).getDocument(psiFile);
 
         if (document == null) {
@@ -130,7 +140,30 @@ public class RResolvingSessionImpl implements RResolvingSession {
             return null;
         }
 
-        return XDebuggerUtil.getInstance().createPosition(myVirtualFile, entry.myLine);
+        return getPosition(entry.myLine);
+    }
+
+
+    @Nullable
+    private XSourcePosition getPosition(final int line) {
+        final long stamp = myDocument.getModificationStamp();
+
+        if (stamp != myPositionsStamp) {
+            myPositions.clear();
+            myPositionsStamp = stamp;
+        }
+
+        XSourcePosition result = myPositions.get(line);
+
+        if (result == null) {
+            result = XDebuggerUtil.getInstance().createPosition(myVirtualFile, line);
+
+            if (result != null) {
+                myPositions.put(line, result);
+            }
+        }
+
+        return result;
     }
 
 
@@ -153,7 +186,7 @@ public class RResolvingSessionImpl implements RResolvingSession {
         if (myEntries.isEmpty()) {
             return myRoot.getName().equals(nextFunctionName) ? myRoot : null;
         } else {
-            return resolveNextFunction(myEntries.listIterator(myEntries.size()), nextFunctionName);
+            return resolveNextFunction(myEntries.size() - 1, nextFunctionName);
         }
     }
 
@@ -167,20 +200,32 @@ public class RResolvingSessionImpl implements RResolvingSession {
     }
 
 
+    /**
+     * Resolves the function in the scope of the entry at <code>index</code> or in the scopes of the entries below it.
+     * Each entry memoizes the result for itself, so that deep recursion doesn't lead to walking the whole stack again.
+     */
     @Nullable
-    private RFunctionDescriptor resolveNextFunction(@NotNull final ListIterator<RResolvingSessionEntry> entries,
-                                                    @NotNull final String nextFunctionName) {
-        if (!entries.hasPrevious()) {
-            return null;
+    private RFunctionDescriptor resolveNextFunction(final int index, @NotNull final String nextFunctionName) {
+        int resolved = index;
+
+        while (resolved >= 0 && !myEntries.get(resolved).myResolvedFunctions.containsKey(nextFunctionName)) {
+            resolved--;
         }
 
-        final RFunctionDescriptor candidate = resolveNextFunction(entries.previous(), nextFunctionName);
+        RFunctionDescriptor result = resolved < 0 ? null : myEntries.get(resolved).myResolvedFunctions.get(nextFunctionName);
 
-        if (candidate != null) {
-            return candidate;
+        for (int i = resolved + 1; i <= index; i++) {
+            final RResolvingSessionEntry entry = myEntries.get(i);
+            final RFunctionDescriptor candidate = resolveNextFunction(entry, nextFunctionName);
+
+            if (candidate != null) {
+                result = candidate;
+            }
+
+            entry.myResolvedFunctions.put(nextFunctionName, result);
         }
 
-        return resolveNextFunction(entries, nextFunctionName);
+        return result;
     }
 
 
@@ -219,10 +264,15 @@ public class RResolvingSessionImpl implements RResolvingSession {
 
         private final int myLine;
 
+        // function name -> function resolved in the scope of this entry or below, see resolveNextFunction(int, String)
+        @NotNull
+        private final Map<String, RFunctionDescriptor> myResolvedFunctions;
+
 
         public RResolvingSessionEntry(@Nullable final RFunctionDescriptor descriptor, final int line) {
             myDescriptor = descriptor;
             myLine = line;
+            myResolvedFunctions = new HashMap<String, RFunctionDescriptor>();
         }
     }
 }
@@ -12,13 +12,24 @@ final class RXPresentationUtils {
 
     public static void computePresentation(@NotNull final RVar var, @NotNull final XValueNode node) {
         if (isOneLine(var.getValue())) {
-            setVarPresentation(node, var.getType(), var.getValue());
+            setVarPresentation(node, var, var.getValue());
         } else {
             computeMultilineVarPresentation(var, node);
         }
     }
 
 
+    /**
+     * Presents a variable whose value was not loaded by its summary, the value is loaded by the given evaluator.
+     */
+    public static void computeSummaryPresentation(@NotNull final RVar var,
+                                                  @NotNull final XValueNode node,
+                                                  @NotNull final XFullValueEvaluator evaluator) {
+        setVarPresentation(node, var, var.getSummary());
+        node.setFullValueEvaluator(evaluator);
+    }
+
+
     public static void computePresentation(@NotNull final String value, @NotNull final XValueNode node) {
         if (isOneLine(value)) {
             setPresentation(node, value);
@@ -33,12 +44,12 @@ final class RXPresentationUtils {
     }
 
 
-    private static void setVarPresentation(@NotNull final XValueNode node, @NotNull final String type, @NotNull final String presentation) {
+    private static void setVarPresentation(@NotNull final XValueNode node, @NotNull final RVar var, @NotNull final String presentation) {
         node.setPresentation(
                 AllIcons.Debugger.Value,
-                type,
+                var.getType(),
                 presentation,
-                false
+                var.getLength() > 0 && var.getExpression() != null
         );
     }
 
@@ -46,7 +57,7 @@ final class RXPresentationUtils {
     private static void computeMultilineVarPresentation(@NotNull final RVar var, @NotNull final XValueNode node) {
         final String value = var.getValue();
 
-        setVarPresentation(node, var.getType(), calculatePreview(value));
+        setVarPresentation(node, var, calculatePreview(value));
         setFullValueEvaluator(node, value);
     }
 
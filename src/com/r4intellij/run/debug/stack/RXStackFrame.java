@@ -9,6 +9,7 @@ import com.intellij.xdebugger.frame.*;
 import com.r4intellij.debugger.exception.RDebuggerException;
 import com.r4intellij.debugger.frame.RStackFrame;
 import com.r4intellij.debugger.frame.RVar;
+import com.r4intellij.debugger.frame.RVarsLoader;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -68,8 +69,10 @@ class RXStackFrame extends XStackFrame {
                     public void run() {
                         try {
                             node.addChildren(
-                                    transform(
-                                            myFrame.getLoader().load()
+                                    RXVar.transform(
+                                            myFrame.getLoader().load(),
+                                            myFrame.getLoader(),
+                                            myExecutor
                                     ),
                                     true
                             );
@@ -93,18 +96,6 @@ class RXStackFrame extends XStackFrame {
     }
 
 
-    @NotNull
-    private XValueChildrenList transform(@NotNull final List<RVar> vars) {
-        final XValueChildrenList result = new XValueChildrenList();
-
-        for (final RVar var : vars) {
-            result.add(new RXVar(var, myExecutor));
-        }
-
-        return result;
-    }
-
-
     @NotNull
     private String getPresentationText() {
         assert myPosition != null; // see method usages
@@ -115,24 +106,81 @@ class RXStackFrame extends XStackFrame {
 
     private static class RXVar extends XNamedValue {
 
+        private static final int ELEMENTS_PAGE_SIZE = XCompositeNode.MAX_CHILDREN_TO_SHOW;
+
         @NotNull
         private final RVar myVar;
 
+        @NotNull
+        private final RVarsLoader myLoader;
+
         @NotNull
         private final ExecutorService myExecutor;
 
+        // accessed by the executor only
+        private int myLoadedElements;
 
-        public RXVar(@NotNull final RVar var, @NotNull final ExecutorService executor) {
+
+        public RXVar(@NotNull final RVar var, @NotNull final RVarsLoader loader, @NotNull final ExecutorService executor) {
             super(var.getName());
 
             myVar = var;
+            myLoader = loader;
             myExecutor = executor;
+            myLoadedElements = 0;
+        }
+
+
+        @NotNull
+        public static XValueChildrenList transform(@NotNull final List<RVar> vars,
+                                                   @NotNull final RVarsLoader loader,
+                                                   @NotNull final ExecutorService executor) {
+            final XValueChildrenList result = new XValueChildrenList();
+
+            for (final RVar var : vars) {
+                result.add(new RXVar(var, loader, executor));
+            }
+
+            return result;
         }
 
 
         @Override
         public void computePresentation(@NotNull final XValueNode node, @NotNull final XValuePlace place) {
-            RXPresentationUtils.computePresentation(myVar, node);
+            if (myVar.isValueLoaded()) {
+                RXPresentationUtils.computePresentation(myVar, node);
+            } else {
+                RXPresentationUtils.computeSummaryPresentation(myVar, node, new RXFullValueEvaluator());
+            }
+        }
+
+
+        @Override
+        public void computeChildren(@NotNull final XCompositeNode node) {
+            myExecutor.execute(
+                    new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                final List<RVar> elements = myLoader.loadElements(myVar, myLoadedElements, ELEMENTS_PAGE_SIZE);
+
+                                myLoadedElements += elements.size();
+
+                                final int remaining = myVar.getLength() - myLoadedElements;
+                                final boolean last = elements.isEmpty() || remaining <= 0;
+
+                                node.addChildren(transform(elements, myLoader, myExecutor), last);
+
+                                if (!last) {
+                                    // the next page is loaded once the user asks for more elements
+                                    node.tooManyChildren(remaining);
+                                }
+                            } catch (final RDebuggerException e) {
+                                node.setErrorMessage(e.getMessage());
+                            }
+                        }
+                    }
+            );
         }
 
 
@@ -145,5 +193,25 @@ class RXStackFrame extends XStackFrame {
                 return null;
             }
         }
+
+
+        private class RXFullValueEvaluator extends XFullValueEvaluator {
+
+            @Override
+            public void startEvaluation(@NotNull final XFullValueEvaluationCallback callback) {
+                myExecutor.execute(
+                        new Runnable() {
+                            @Override
+                            public void run() {
+                                try {
+                                    callback.evaluated(myLoader.loadValue(myVar));
+                                } catch (final RDebuggerException e) {
+                                    callback.errorOccurred(e.getMessage());
+                                }
+                            }
+                        }
+                );
+            }
+        }
     }
 }
@@ -8,7 +8,6 @@ import com.intellij.execution.runners.RunContentBuilder;
 import com.intellij.execution.ui.RunContentDescriptor;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
-import com.r4intellij.debugger.RDebuggerStringUtils;
 import com.r4intellij.debugger.ROutputReceiver;
 import com.r4intellij.debugger.data.RCommands;
 import com.r4intellij.debugger.exception.RDebuggerException;
@@ -104,14 +103,7 @@ class RRunProcess {
                             try {
                                 RProcessUtils.executeInitGraphicsCommands(myProject, myProcessHandler);
 
-                                RDebuggerStringUtils.appendResult(
-                                        RExecutorUtils.execute(
-                                                myProcessHandler,
-                                                RCommands.sourceCommand(myScriptPath),
-                                                outputReceiver
-                                        ),
-                                        outputReceiver
-                                );
+                                myProcessHandler.executeStreaming(RCommands.sourceCommand(myScriptPath));
 
                                 RExecutorUtils.execute(
                                         myProcessHandler,
@@ -19,6 +19,9 @@ public class RSettings implements PersistentStateComponent<RSettings> {
 
     public boolean resolveInModule = false;
 
+    // upper bound for the printed values which are transferred from the debugged interpreter with a single request
+    public int debuggerValueLimitKb = 64;
+
 
     public static RSettings getInstance() {
         return ServiceManager.getService(RSettings.class);
@@ -67,4 +70,14 @@ public class RSettings implements PersistentStateComponent<RSettings> {
     public void setResolveInModule(boolean resolveInModule) {
         this.resolveInModule = resolveInModule;
     }
+
+
+    public int getDebuggerValueLimitKb() {
+        return debuggerValueLimitKb;
+    }
+
+
+    public void setDebuggerValueLimitKb(int debuggerValueLimitKb) {
+        this.debuggerValueLimitKb = debuggerValueLimitKb;
+    }
 }
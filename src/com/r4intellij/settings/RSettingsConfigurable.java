@@ -26,6 +26,7 @@ public class RSettingsConfigurable implements SearchableConfigurable.Parent, Con
 
     private TextFieldWithBrowseButton interpreterPathField;
     private JCheckBox resolveVariablesInModuleCheckBox;
+    private JSpinner debuggerValueLimitSpinner;
 
 
     RSettingsConfigurable(Project project) {
@@ -72,7 +73,8 @@ public class RSettingsConfigurable implements SearchableConfigurable.Parent, Con
     public boolean isModified() {
         final RSettings rSettings = RSettings.getInstance();
         return !Objects.equals(rSettings.getInterpreterPath(), interpreterPathField.getText()) ||
-                rSettings.isResolveInModule() != (resolveVariablesInModuleCheckBox.isSelected());
+                rSettings.isResolveInModule() != (resolveVariablesInModuleCheckBox.isSelected()) ||
+                rSettings.getDebuggerValueLimitKb() != (Integer) debuggerValueLimitSpinner.getValue();
     }
 
 
@@ -101,6 +103,7 @@ public class RSettingsConfigurable implements SearchableConfigurable.Parent, Con
         rSettings.setInterpreterPath(interpreterPath);
 
         rSettings.setResolveInModule(resolveVariablesInModuleCheckBox.isSelected());
+        rSettings.setDebuggerValueLimitKb((Integer) debuggerValueLimitSpinner.getValue());
     }
 
 
@@ -131,6 +134,7 @@ public class RSettingsConfigurable implements SearchableConfigurable.Parent, Con
         interpreterPathField.setText(interpreterPath != null ? interpreterPath : "");
 
         resolveVariablesInModuleCheckBox.setSelected(rSettings.isResolveInModule());
+        debuggerValueLimitSpinner.setValue(rSettings.getDebuggerValueLimitKb());
     }
 
 
@@ -144,6 +148,8 @@ public class RSettingsConfigurable implements SearchableConfigurable.Parent, Con
 
         final FileChooserDescriptor interpreterDescriptor = FileChooserDescriptorFactory.createSingleLocalFileDescriptor();
         interpreterPathField.addBrowseFolderListener("Choose Interpreter Path", "Choose interpreter path", myProject, interpreterDescriptor);
+
+        debuggerValueLimitSpinner = new JSpinner(new SpinnerNumberModel(64, 1, 100 * 1024, 16));
     }
 
 
@@ -6,17 +6,16 @@ import com.intellij.psi.util.PsiTreeUtil;
 import com.r4intellij.RPsiUtils;
 import com.r4intellij.psi.RPsiImplUtil;
 import com.r4intellij.psi.api.*;
+import com.r4intellij.psi.stubs.RAssignmentStub;
 import com.r4intellij.typing.types.RFunctionType;
 import com.r4intellij.typing.types.RType;
 import com.r4intellij.typing.types.RUnknownType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class ArgumentMatcher {
 
@@ -63,10 +62,6 @@ public class ArgumentMatcher {
                 functionType = new RFunctionType(function);
                 pipeInfo = PipeInfo.NONE;
                 return;
-
-                // todo re-enable once type system is back
-                //        checkArgumentTypes(matchedParams, functionType);
-
             }
         }
 
@@ -81,7 +76,6 @@ public class ArgumentMatcher {
             functionType = new RFunctionType(function);
 
         } else {
-            //NOTE This will always return RUnknownType.INSTANCE as long as the type system is diabled
             RType type = RTypeProvider.getType(callExpression.getExpression());
 
             if (!RFunctionType.class.isInstance(type)) {
@@ -97,6 +91,93 @@ public class ArgumentMatcher {
     }
 
 
+    /**
+     * Matches the arguments of a call against the formals kept in the stub of the called function. This avoids loading
+     * the tree of library files for the common case of a correct call. Calls which would fail to match are not decided
+     * here, since their error reporting depends on the function body. Neither are calls of functions with type
+     * annotations, since their argument types are checked against the tree.
+     *
+     * @return <code>true</code> if the call is known to match, <code>false</code> if a full match is required
+     */
+    public static boolean matchesByStub(@NotNull RCallExpression callExpression) {
+        RExpression expression = callExpression.getExpression();
+        PsiReference reference = expression instanceof RReferenceExpression ? expression.getReference() : null;
+        if (reference == null) return false;
+
+        PsiElement resolved = reference.resolve();
+        if (!(resolved instanceof RAssignmentStatement)) return false;
+
+        RAssignmentStub stub = ((RAssignmentStatement) resolved).getStub();
+        if (stub == null || !stub.isFunctionDeclaration() || stub.hasTypeAnnotations()) return false;
+
+        List<String> parameterNames = stub.getParameterNames();
+        List<Integer> formals = IntStream.range(0, parameterNames.size()).boxed().collect(Collectors.toList());
+        List<RExpression> supplied = new ArrayList<>(callExpression.getArgumentList().getExpressionList());
+
+        // exact and partial matching of named arguments (see matchParams)
+        for (boolean usePartialMatching : new boolean[]{false, true}) {
+            Map<RExpression, Integer> matched = new HashMap<>();
+
+            for (RExpression namedArg : getNamedArguments(supplied)) {
+                List<Integer> matches = new ArrayList<>();
+
+                for (Integer formal : formals) {
+                    String paramName = parameterNames.get(formal);
+
+                    if (paramName.equals("...")) {
+                        if (usePartialMatching) break;
+                    } else if (usePartialMatching ? paramName.startsWith(namedArg.getName()) : paramName.equals(namedArg.getName())) {
+                        matches.add(formal);
+                    }
+                }
+
+                if (matches.size() > 1) return false;
+                if (matches.size() == 1) matched.put(namedArg, matches.get(0));
+            }
+
+            supplied.removeAll(matched.keySet());
+            formals.removeAll(matched.values());
+        }
+
+        // positional matching (see positionalMatching)
+        if (PipeInfo.fromCallExpression(callExpression).firstArgInjected && !formals.isEmpty()) {
+            formals.remove(0);
+        }
+
+        int numPositional = 0;
+        boolean wasTripleDot = false;
+
+        for (; numPositional < formals.size(); numPositional++) {
+            String paramName = parameterNames.get(formals.get(numPositional));
+            if (paramName.equals("...")) {
+                wasTripleDot = true;
+                break;
+            }
+
+            if (numPositional >= supplied.size()) break;
+
+            RExpression arg = supplied.get(numPositional);
+            if (arg instanceof RAssignmentStatement && ((RAssignmentStatement) arg).isEqual()) {
+                if (!((RAssignmentStatement) arg).getAssignee().getText().equals(paramName)) {
+                    wasTripleDot = true;
+                    break;
+                }
+            }
+        }
+
+        formals.subList(0, numPositional).clear();
+        supplied.subList(0, numPositional).clear();
+
+        if (wasTripleDot) supplied.clear();
+
+        // unmatched formals without defaults may still be optional, which requires the function body to tell
+        boolean hasUnmatched = formals.stream()
+                .anyMatch(formal -> !parameterNames.get(formal).equals("...") && !stub.hasDefaultValue(formal));
+
+        return !hasUnmatched && supplied.isEmpty();
+    }
+
+
     public ArgumentsMatchResult matchArgs(RArgumentList argumentList) throws MatchingException {
         return matchArgs(argumentList.getExpressionList());
     }
@@ -260,6 +341,17 @@ public class ArgumentMatcher {
     }
 
 
+    /**
+     * Checks the types of the matched arguments against the types of the parameters (see <code>@type</code>
+     * annotations). This is kept apart from the matching itself, since type inference also matches calls.
+     *
+     * @throws MatchingException if an argument is of the wrong type
+     */
+    public static void checkArgumentTypes(@NotNull ArgumentsMatchResult matchResult) throws MatchingException {
+        checkArgumentTypes(matchResult.matchedParams, matchResult.getFunctionType());
+    }
+
+
     private static void checkArgumentTypes(Map<RExpression, RParameter> matchedParams, RFunctionType functionType) throws MatchingException {
         for (Map.Entry<RExpression, RParameter> entry : matchedParams.entrySet()) {
             RParameter parameter = entry.getValue();
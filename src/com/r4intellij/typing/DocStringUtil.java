@@ -25,6 +25,20 @@ public class DocStringUtil {
     }
 
 
+    /**
+     * @return <code>true</code> if the doc string declares parameter types or rules (see {@link RAnnotationParser})
+     */
+    public static boolean hasTypeAnnotations(RAssignmentStatement statement) {
+        for (Substring line : getDocStringLines(statement)) {
+            if (line.startsWith(RAnnotationParser.TAG_PREFIX + RAnnotationParser.TYPE_TAG) ||
+                    line.startsWith(RAnnotationParser.TAG_PREFIX + RAnnotationParser.RULE_TAG)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
     private static Substring processComment(String text) {
         Substring substring = new Substring(text);
         return substring.substring(COMMENT_SYMBOL.length()).trim();
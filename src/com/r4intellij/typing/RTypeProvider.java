@@ -21,9 +21,7 @@ public class RTypeProvider {
 
 
     public static RType getType(RPsiElement element) {
-        // disabled because cache implementation is buggy
-//        return RTypeContext.getTypeFromCache(element);
-        return RUnknownType.INSTANCE;
+        return RTypeContext.getTypeFromCache(element);
     }
 
 
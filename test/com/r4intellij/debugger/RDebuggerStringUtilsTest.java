@@ -122,4 +122,16 @@ public class RDebuggerStringUtilsTest {
 
         assertEquals(3, findCurrentLineEnd(text, 0));
     }
-}
\ No newline at end of file
+
+
+    @Test
+    public void plainUnescape() {
+        assertEquals("[1] 1 2 3", unescape("[1] 1 2 3"));
+    }
+
+
+    @Test
+    public void ordinaryUnescape() {
+        assertEquals("function(x) {\n\tx \"\\\" \\w\n}\\", unescape("function(x) {\\n\\tx \\\"\\\\\\\" \\w\\n}\\"));
+    }
+}
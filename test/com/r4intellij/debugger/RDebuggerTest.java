@@ -21,9 +21,12 @@ import org.junit.Test;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
+import static com.r4intellij.debugger.data.RCommands.*;
 import static com.r4intellij.debugger.data.RFunctionConstants.MAIN_FUNCTION_NAME;
 import static com.r4intellij.debugger.mock.MockRExecutor.LS_FUNCTIONS_ERROR;
 import static org.junit.Assert.*;
@@ -63,13 +66,13 @@ public class RDebuggerTest {
 
         assertFalse(debugger.advance());
 
-        assertEquals(4, executor.getCounter());
+        assertEquals(3, executor.getCounter());
         assertEquals(0, loaderFactory.myCounter);
         assertEquals(0, evaluatorFactory.myCounter);
         assertTrue(scriptReader.isClosed());
         assertEquals(1, scriptReader.getCounter());
         assertEquals(Collections.emptyList(), outputReceiver.getOutputs());
-        assertEquals(Arrays.asList("error1", "error_complete", LS_FUNCTIONS_ERROR, "error_body"), outputReceiver.getErrors());
+        assertEquals(Arrays.asList("error_complete", LS_FUNCTIONS_ERROR, "error_body"), outputReceiver.getErrors());
         assertEquals(0, modifierFactory.myCounter);
         assertEquals(0, debugger.getStack().size());
     }
@@ -86,7 +89,7 @@ public class RDebuggerTest {
 
         final int scriptLength = 2;
 
-        final MockRExecutor executor = new MockRExecutor(scriptLength);
+        final MockRExecutor executor = new MockRExecutor();
         final MockRFunctionDebugger functionDebugger = new MockRFunctionDebugger(MAIN_FUNCTION_NAME, scriptLength, null);
         final MockRFunctionDebuggerFactory debuggerFactory = new MockRFunctionDebuggerFactory(functionDebugger);
         final MockRVarsLoaderFactory loaderFactory = new MockRVarsLoaderFactory();
@@ -125,7 +128,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(8, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(0, functionDebugger.getCounter());
         assertEquals(1, debuggerFactory.getCounter());
         assertEquals(0, loaderFactory.myCounter);
@@ -134,7 +137,7 @@ public class RDebuggerTest {
         assertEquals(scriptLength + 1, scriptReader.getCounter());
         assertEquals(Collections.emptyList(), outputReceiver.getOutputs());
         assertEquals(
-                Arrays.asList("error1", "error2", "error3", "error_complete", LS_FUNCTIONS_ERROR, "error_body", "error_call", "error0"),
+                Arrays.asList("error_complete", LS_FUNCTIONS_ERROR, "error_body", "error_call", "error0"),
                 outputReceiver.getErrors()
         );
         assertEquals(0, expressionHandler.myCounter);
@@ -146,7 +149,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(8, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(1, functionDebugger.getCounter());
         assertEquals(1, debuggerFactory.getCounter());
         assertEquals(0, loaderFactory.myCounter);
@@ -163,7 +166,7 @@ public class RDebuggerTest {
 
         assertFalse(debugger.advance());
 
-        assertEquals(8, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(2, functionDebugger.getCounter());
         assertEquals(1, debuggerFactory.getCounter());
         assertEquals(0, loaderFactory.myCounter);
@@ -194,7 +197,7 @@ public class RDebuggerTest {
 
         final int scriptLength = 6;
 
-        final MockRExecutor executor = new MockRExecutor(scriptLength);
+        final MockRExecutor executor = new MockRExecutor();
         final MockRFunctionDebugger secondFunctionDebugger = new MockRFunctionDebugger("abc", 2, null);
         final Stack21RFunctionDebugger firstFunctionDebugger = new Stack21RFunctionDebugger(secondFunctionDebugger);
         final MockRFunctionDebuggerFactory debuggerFactory = new MockRFunctionDebuggerFactory(firstFunctionDebugger);
@@ -235,7 +238,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(12, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
         assertEquals(0, firstFunctionDebugger.getCounter());
         assertEquals(1, debuggerFactory.getCounter());
@@ -246,7 +249,7 @@ public class RDebuggerTest {
         assertEquals(Collections.emptyList(), outputReceiver.getOutputs());
         assertEquals(
                 Arrays.asList(
-                        "error1", "error2", "error3", "error4", "error5", "error6", "error7", "error_complete", LS_FUNCTIONS_ERROR, "error_body",
+                        "error_complete", LS_FUNCTIONS_ERROR, "error_body",
                         "error_call", "error0"
                 ),
                 outputReceiver.getErrors()
@@ -260,7 +263,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(12, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
         assertEquals(1, firstFunctionDebugger.getCounter());
         assertEquals(1, debuggerFactory.getCounter());
@@ -278,7 +281,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(13, executor.getCounter());
+        assertEquals(6, executor.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
         assertEquals(1, debuggerFactory.getCounter());
@@ -298,7 +301,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(13, executor.getCounter());
+        assertEquals(6, executor.getCounter());
         assertEquals(1, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
         assertEquals(1, debuggerFactory.getCounter());
@@ -317,7 +320,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(13, executor.getCounter());
+        assertEquals(6, executor.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
         assertEquals(1, debuggerFactory.getCounter());
@@ -335,7 +338,7 @@ public class RDebuggerTest {
 
         assertFalse(debugger.advance());
 
-        assertEquals(13, executor.getCounter());
+        assertEquals(6, executor.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
         assertEquals(3, firstFunctionDebugger.getCounter());
         assertEquals(1, debuggerFactory.getCounter());
@@ -371,7 +374,7 @@ public class RDebuggerTest {
 
         final int scriptLength = 10;
 
-        final MockRExecutor executor = new MockRExecutor(scriptLength);
+        final MockRExecutor executor = new MockRExecutor();
         final MockRFunctionDebugger thirdFunctionDebugger = new Stack313RFunctionDebugger();
         final MockRFunctionDebugger secondFunctionDebugger = new Stack312RFunctionDebugger(thirdFunctionDebugger);
         final MockRFunctionDebugger firstFunctionDebugger = new Stack311RFunctionDebugger(secondFunctionDebugger);
@@ -414,7 +417,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(16, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
         assertEquals(0, firstFunctionDebugger.getCounter());
@@ -426,7 +429,7 @@ public class RDebuggerTest {
         assertEquals(Collections.emptyList(), outputReceiver.getOutputs());
         assertEquals(
                 Arrays.asList(
-                        "error1", "error2", "error3", "error4", "error5", "error6", "error7", "error8", "error9", "error10", "error11", "error_complete",
+                        "error_complete",
                         LS_FUNCTIONS_ERROR, "error_body", "error_call", "error0"
                 ),
                 outputReceiver.getErrors()
@@ -440,7 +443,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(16, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
         assertEquals(1, firstFunctionDebugger.getCounter());
@@ -459,7 +462,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(17, executor.getCounter());
+        assertEquals(6, executor.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -480,7 +483,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(17, executor.getCounter());
+        assertEquals(6, executor.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(1, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -500,7 +503,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(18, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -522,7 +525,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(18, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(1, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -543,7 +546,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(18, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(2, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -563,7 +566,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(18, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(2, thirdFunctionDebugger.getCounter());
         assertEquals(3, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -582,7 +585,7 @@ public class RDebuggerTest {
 
         assertFalse(debugger.advance());
 
-        assertEquals(18, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(2, thirdFunctionDebugger.getCounter());
         assertEquals(3, secondFunctionDebugger.getCounter());
         assertEquals(3, firstFunctionDebugger.getCounter());
@@ -618,7 +621,7 @@ public class RDebuggerTest {
 
         final int scriptLength = 9;
 
-        final MockRExecutor executor = new MockRExecutor(scriptLength);
+        final MockRExecutor executor = new MockRExecutor();
         final MockRFunctionDebugger thirdFunctionDebugger = new Stack323RFunctionDebugger();
         final MockRFunctionDebugger secondFunctionDebugger = new Stack322RFunctionDebugger(thirdFunctionDebugger);
         final MockRFunctionDebugger firstFunctionDebugger = new Stack321RFunctionDebugger(secondFunctionDebugger);
@@ -661,7 +664,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(15, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
         assertEquals(0, firstFunctionDebugger.getCounter());
@@ -673,7 +676,7 @@ public class RDebuggerTest {
         assertEquals(Collections.emptyList(), outputReceiver.getOutputs());
         assertEquals(
                 Arrays.asList(
-                        "error1", "error2", "error3", "error4", "error5", "error6", "error7", "error8", "error9", "error10", "error_complete",
+                        "error_complete",
                         LS_FUNCTIONS_ERROR, "error_body", "error_call", "error0"
                 ),
                 outputReceiver.getErrors()
@@ -687,7 +690,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(15, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
         assertEquals(1, firstFunctionDebugger.getCounter());
@@ -706,7 +709,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(16, executor.getCounter());
+        assertEquals(6, executor.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -727,7 +730,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(16, executor.getCounter());
+        assertEquals(6, executor.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(1, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -747,7 +750,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(17, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -769,7 +772,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(17, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(1, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -790,7 +793,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(17, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(2, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
         assertEquals(2, firstFunctionDebugger.getCounter());
@@ -809,7 +812,7 @@ public class RDebuggerTest {
 
         assertFalse(debugger.advance());
 
-        assertEquals(17, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(2, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
         assertEquals(3, firstFunctionDebugger.getCounter());
@@ -849,7 +852,7 @@ public class RDebuggerTest {
 
         final int scriptLength = 13;
 
-        final MockRExecutor executor = new MockRExecutor(scriptLength);
+        final MockRExecutor executor = new MockRExecutor();
         final MockRFunctionDebugger fourthFunctionDebugger = new Stack44RFunctionDebugger();
         final MockRFunctionDebugger thirdFunctionDebugger = new Stack43RFunctionDebugger(fourthFunctionDebugger);
         final MockRFunctionDebugger secondFunctionDebugger = new Stack42RFunctionDebugger(thirdFunctionDebugger);
@@ -894,7 +897,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(19, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(0, fourthFunctionDebugger.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
@@ -907,8 +910,7 @@ public class RDebuggerTest {
         assertEquals(Collections.emptyList(), outputReceiver.getOutputs());
         assertEquals(
                 Arrays.asList(
-                        "error1", "error2", "error3", "error4", "error5", "error6", "error7", "error8", "error9", "error10", "error11", "error12",
-                        "error13", "error14", "error_complete", LS_FUNCTIONS_ERROR, "error_body", "error_call", "error0"
+                        "error_complete", LS_FUNCTIONS_ERROR, "error_body", "error_call", "error0"
                 ),
                 outputReceiver.getErrors()
         );
@@ -921,7 +923,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(19, executor.getCounter());
+        assertEquals(5, executor.getCounter());
         assertEquals(0, fourthFunctionDebugger.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
@@ -941,7 +943,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(20, executor.getCounter());
+        assertEquals(6, executor.getCounter());
         assertEquals(0, fourthFunctionDebugger.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(0, secondFunctionDebugger.getCounter());
@@ -963,7 +965,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(20, executor.getCounter());
+        assertEquals(6, executor.getCounter());
         assertEquals(0, fourthFunctionDebugger.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(1, secondFunctionDebugger.getCounter());
@@ -984,7 +986,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(21, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(0, fourthFunctionDebugger.getCounter());
         assertEquals(0, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
@@ -1007,7 +1009,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(21, executor.getCounter());
+        assertEquals(7, executor.getCounter());
         assertEquals(0, fourthFunctionDebugger.getCounter());
         assertEquals(1, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
@@ -1029,7 +1031,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(22, executor.getCounter());
+        assertEquals(8, executor.getCounter());
         assertEquals(0, fourthFunctionDebugger.getCounter());
         assertEquals(2, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
@@ -1053,7 +1055,7 @@ public class RDebuggerTest {
         outputReceiver.reset();
         assertTrue(debugger.advance());
 
-        assertEquals(22, executor.getCounter());
+        assertEquals(8, executor.getCounter());
         assertEquals(1, fourthFunctionDebugger.getCounter());
         assertEquals(2, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
@@ -1076,7 +1078,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(22, executor.getCounter());
+        assertEquals(8, executor.getCounter());
         assertEquals(2, fourthFunctionDebugger.getCounter());
         assertEquals(2, thirdFunctionDebugger.getCounter());
         assertEquals(2, secondFunctionDebugger.getCounter());
@@ -1097,7 +1099,7 @@ public class RDebuggerTest {
 
         assertTrue(debugger.advance());
 
-        assertEquals(22, executor.getCounter());
+        assertEquals(8, executor.getCounter());
         assertEquals(2, fourthFunctionDebugger.getCounter());
         assertEquals(2, thirdFunctionDebugger.getCounter());
         assertEquals(3, secondFunctionDebugger.getCounter());
@@ -1117,7 +1119,7 @@ public class RDebuggerTest {
 
         assertFalse(debugger.advance());
 
-        assertEquals(22, executor.getCounter());
+        assertEquals(8, executor.getCounter());
         assertEquals(2, fourthFunctionDebugger.getCounter());
         assertEquals(2, thirdFunctionDebugger.getCounter());
         assertEquals(3, secondFunctionDebugger.getCounter());
@@ -1136,29 +1138,161 @@ public class RDebuggerTest {
     }
 
 
-    private static class MockRExecutor extends com.r4intellij.debugger.mock.MockRExecutor {
+    @Test
+    public void resumeToBreakpoint() throws RDebuggerException {
+        // `main` is continued natively up to the breakpoint at line 2
 
-        private final int myScriptLength;
+    /*
+    instruction1
+    instruction2
+    instruction3
+    instruction4
+    */
+
+        final int scriptLength = 4;
 
+        final ResumeRExecutor executor = new ResumeRExecutor("4 \n");
+        final BreakpointRFunctionDebugger functionDebugger = new BreakpointRFunctionDebugger(scriptLength, 2);
+        final MockROutputReceiver outputReceiver = new MockROutputReceiver();
+        final RDebugger debugger = createResumeDebugger(executor, functionDebugger, scriptLength, outputReceiver);
+
+        debugger.setBreakpoints(Collections.singletonList(2));
+
+        assertTrue(debugger.advance());
+        assertEquals(new RLocation(MAIN_FUNCTION_NAME, 0), debugger.getStack().get(0).getLocation());
+        assertTrue(debugger.canResume(Collections.singletonList(2)));
 
-        public MockRExecutor(final int scriptLength) {
-            myScriptLength = scriptLength;
+        executor.getCommands().clear();
+        outputReceiver.reset();
+        assertTrue(debugger.resume());
+
+        assertEquals(
+                Arrays.asList(UNDEBUG_FUNCTIONS_COMMAND, nativeBreakpointsCommand(true), nativeBreakpointsCommand(false)),
+                executor.getCommands()
+        );
+        assertEquals(2, functionDebugger.getCounter());
+        assertEquals(1, debugger.getStack().size());
+        assertEquals(new RLocation(MAIN_FUNCTION_NAME, 2), debugger.getStack().get(0).getLocation());
+        assertEquals(Collections.emptyList(), outputReceiver.getErrors());
+
+        // the breakpoint has been passed, so the next resume runs to the end
+        assertFalse(debugger.resume());
+
+        assertEquals(scriptLength, functionDebugger.getCounter());
+        assertEquals(0, debugger.getStack().size());
+    }
+
+
+    @Test
+    public void resumeToScriptEnd() throws RDebuggerException {
+        // `main` ends natively since the breakpoint at line 0 has been passed already
+
+    /*
+    instruction1
+    instruction2
+    instruction3
+    */
+
+        final int scriptLength = 3;
+
+        final ResumeRExecutor executor = new ResumeRExecutor("2 \n");
+        final MockRFunctionDebugger functionDebugger = new MockRFunctionDebugger(MAIN_FUNCTION_NAME, scriptLength, null);
+        final MockROutputReceiver outputReceiver = new MockROutputReceiver();
+        final RDebugger debugger = createResumeDebugger(executor, functionDebugger, scriptLength, outputReceiver);
+
+        debugger.setBreakpoints(Collections.singletonList(0));
+
+        assertTrue(debugger.advance());
+        assertTrue(debugger.canResume(Collections.singletonList(0)));
+
+        executor.getCommands().clear();
+        outputReceiver.reset();
+        assertFalse(debugger.resume());
+
+        assertEquals(
+                Arrays.asList(UNDEBUG_FUNCTIONS_COMMAND, nativeBreakpointsCommand(true), nativeBreakpointsCommand(false)),
+                executor.getCommands()
+        );
+        assertEquals(scriptLength, functionDebugger.getCounter());
+        assertEquals(0, debugger.getStack().size());
+        assertEquals(Collections.emptyList(), outputReceiver.getErrors());
+    }
+
+
+    @Test
+    public void canResume() throws RDebuggerException {
+        // stepping has to be used instead of resume for breakpoints without native ones and for function frames
+
+    /*
+    instruction1
+    abc() {
+      instruction1
+      instruction2
+    }
+    instruction2
+    */
+
+        final int scriptLength = 6;
+
+        final ResumeRExecutor executor = new ResumeRExecutor("3 \n"); // breakpoint inside of `abc` is not installed
+        final MockRFunctionDebugger secondFunctionDebugger = new MockRFunctionDebugger("abc", 2, null);
+        final Stack21RFunctionDebugger firstFunctionDebugger = new Stack21RFunctionDebugger(secondFunctionDebugger);
+        final MockROutputReceiver outputReceiver = new MockROutputReceiver();
+        final RDebugger debugger = createResumeDebugger(executor, firstFunctionDebugger, scriptLength, outputReceiver);
+
+        debugger.setBreakpoints(Arrays.asList(1, 3));
+
+        assertFalse(debugger.canResume(Collections.<Integer>emptyList()));
+
+        assertTrue(debugger.advance());
+
+        assertTrue(debugger.canResume(Collections.<Integer>emptyList()));
+        assertTrue(debugger.canResume(Collections.singletonList(1)));
+        assertFalse(debugger.canResume(Arrays.asList(1, 3)));
+
+        // breakpoints added after the start don't get native ones
+        debugger.setBreakpoints(Arrays.asList(1, 4));
+        assertFalse(debugger.canResume(Arrays.asList(1, 4)));
+
+        assertTrue(debugger.advance());
+        assertTrue(debugger.advance());
+
+        assertEquals(2, debugger.getStack().size());
+        assertFalse(debugger.canResume(Collections.singletonList(1)));
+
+        try {
+            debugger.resume();
+            fail("Resume with a function frame on top");
+        } catch (final IllegalStateException ignored) {
         }
+    }
 
 
+    @NotNull
+    private static RDebugger createResumeDebugger(@NotNull final ResumeRExecutor executor,
+                                                  @NotNull final MockRFunctionDebugger functionDebugger,
+                                                  final int scriptLength,
+                                                  @NotNull final MockROutputReceiver outputReceiver) {
+        return new RDebugger(
+                executor,
+                new MockRFunctionDebuggerFactory(functionDebugger),
+                new MockRVarsLoaderFactory(),
+                new MockRDebuggerEvaluatorFactory(),
+                new MockRScriptReader(scriptLength),
+                outputReceiver,
+                new MockRExpressionHandler(),
+                new MockRValueModifierFactory(),
+                new MockRValueModifierHandler()
+        );
+    }
+
+
+    private static class MockRExecutor extends com.r4intellij.debugger.mock.MockRExecutor {
+
         @NotNull
         @Override
         protected RExecutionResult doExecute(@NotNull final String command) throws RDebuggerException {
-            if (getCounter() < myScriptLength + 2) {
-                return new RExecutionResult(
-                        RResponseConstants.PLUS_AND_SPACE,
-                        RExecutionResultType.PLUS,
-                        TextRange.EMPTY_RANGE,
-                        "error" + getCounter()
-                );
-            }
-
-            if (getCounter() == myScriptLength + 2) {
+            if (getCounter() == 1) {
                 return new RExecutionResult(
                         "",
                         RExecutionResultType.EMPTY,
@@ -1167,7 +1301,7 @@ public class RDebuggerTest {
                 );
             }
 
-            if (getCounter() == myScriptLength + 4) {
+            if (getCounter() == 3) {
                 return new RExecutionResult(
                         " \n \n \n \n \n \n ",
                         RExecutionResultType.RESPONSE,
@@ -1176,7 +1310,7 @@ public class RDebuggerTest {
                 );
             }
 
-            if (getCounter() == myScriptLength + 5) {
+            if (getCounter() == 4) {
                 return new RExecutionResult(
                         "",
                         RExecutionResultType.DEBUGGING_IN,
@@ -1185,7 +1319,7 @@ public class RDebuggerTest {
                 );
             }
 
-            final int frameNumber = getCounter() - 1 - myScriptLength - 5;
+            final int frameNumber = getCounter() - 5;
 
             return new RExecutionResult(
                     "[1] " + frameNumber,
@@ -1199,17 +1333,12 @@ public class RDebuggerTest {
 
     private static class EmptyRExecutor extends MockRExecutor {
 
-        public EmptyRExecutor() {
-            super(0);
-        }
-
-
         @NotNull
         @Override
         protected RExecutionResult doExecute(@NotNull final String command) throws RDebuggerException {
-            if (getCounter() < 4) {
+            if (getCounter() < 3) {
                 return super.doExecute(command);
-            } else if (getCounter() == 4) {
+            } else if (getCounter() == 3) {
                 return new RExecutionResult(
                         " \n \n \n ",
                         RExecutionResultType.RESPONSE,
@@ -1630,4 +1759,87 @@ public class RDebuggerTest {
             }
         }
     }
+    private static class ResumeRExecutor extends com.r4intellij.debugger.mock.MockRExecutor {
+
+        @NotNull
+        private final String myInstalledBreakpoints;
+
+        @NotNull
+        private final List<String> myCommands = new ArrayList<String>();
+
+        private int myFrameNumber = 0;
+
+
+        public ResumeRExecutor(@NotNull final String installedBreakpoints) {
+            myInstalledBreakpoints = installedBreakpoints;
+        }
+
+
+        @NotNull
+        public List<String> getCommands() {
+            return myCommands;
+        }
+
+
+        @NotNull
+        @Override
+        protected RExecutionResult doExecute(@NotNull final String command) throws RDebuggerException {
+            myCommands.add(command);
+
+            if (command.contains(BREAKPOINT_STATEMENT)) {
+                return new RExecutionResult(
+                        myInstalledBreakpoints,
+                        RExecutionResultType.RESPONSE,
+                        TextRange.allOf(myInstalledBreakpoints),
+                        ""
+                );
+            }
+
+            if (command.equals(bodyCommand(MAIN_FUNCTION_NAME))) {
+                return new RExecutionResult(
+                        " \n \n \n \n \n \n ",
+                        RExecutionResultType.RESPONSE,
+                        TextRange.allOf(" \n \n \n \n \n \n "),
+                        ""
+                );
+            }
+
+            if (command.equals(MAIN_FUNCTION_NAME + "()")) {
+                return new RExecutionResult("", RExecutionResultType.DEBUGGING_IN, TextRange.EMPTY_RANGE, "");
+            }
+
+            if (command.equals(SYS_NFRAME_COMMAND)) {
+                final String output = "[1] " + myFrameNumber++;
+
+                return new RExecutionResult(output, RExecutionResultType.RESPONSE, TextRange.allOf(output), "");
+            }
+
+            return new RExecutionResult("", RExecutionResultType.EMPTY, TextRange.EMPTY_RANGE, "");
+        }
+    }
+
+
+    private static class BreakpointRFunctionDebugger extends MockRFunctionDebugger {
+
+        private final int myBreakpoint;
+
+
+        public BreakpointRFunctionDebugger(final int limit, final int breakpoint) {
+            super(MAIN_FUNCTION_NAME, limit, null);
+
+            myBreakpoint = breakpoint;
+        }
+
+
+        @Override
+        public void resume() throws RDebuggerException {
+            if (getCounter() < myBreakpoint) {
+                while (getCounter() < myBreakpoint) {
+                    advance();
+                }
+            } else {
+                super.resume();
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package com.r4intellij.debugger.executor;
+
+import com.intellij.openapi.util.TextRange;
+import com.r4intellij.debugger.exception.RDebuggerException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class RCommandQueueTest {
+
+    @NotNull
+    private static final String BLOCKING_COMMAND = "blocking";
+
+    private QueuedRExecutor myExecutor;
+
+
+    @Before
+    public void setUp() {
+        myExecutor = new QueuedRExecutor();
+    }
+
+
+    @After
+    public void tearDown() {
+        myExecutor.myUnblock.countDown();
+        myExecutor.myQueue.terminate();
+    }
+
+
+    @Test
+    public void submissionOrder() throws Exception {
+        final List<CompletableFuture<RExecutionResult>> results = new ArrayList<CompletableFuture<RExecutionResult>>();
+
+        for (final String command : Arrays.asList("a", "b", "c", "d")) {
+            results.add(myExecutor.executeAsync(command));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(Integer.toString(i), get(results.get(i)).getOutput());
+        }
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), myExecutor.getCommands());
+    }
+
+
+    @Test
+    public void executeWaitsForQueued() throws Exception {
+        final CompletableFuture<RExecutionResult> blocked = myExecutor.executeAsync(BLOCKING_COMMAND);
+        final CompletableFuture<RExecutionResult> queued = myExecutor.executeAsync("a");
+
+        assertTrue(myExecutor.myBlocked.await(10, TimeUnit.SECONDS));
+
+        final CompletableFuture<RExecutionResult> executed = new CompletableFuture<RExecutionResult>();
+
+        final Thread thread = new Thread(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            executed.complete(myExecutor.execute("b"));
+                        } catch (final RDebuggerException e) {
+                            executed.completeExceptionally(e);
+                        }
+                    }
+                }
+        );
+
+        thread.start();
+        thread.join(200);
+
+        assertFalse(executed.isDone());
+        assertEquals(Collections.singletonList(BLOCKING_COMMAND), myExecutor.getCommands());
+
+        myExecutor.myUnblock.countDown();
+
+        assertEquals("0", get(blocked).getOutput());
+        assertEquals("1", get(queued).getOutput());
+        assertEquals("2", get(executed).getOutput());
+        assertEquals(Arrays.asList(BLOCKING_COMMAND, "a", "b"), myExecutor.getCommands());
+    }
+
+
+    @Test
+    public void executeFromCallback() throws Exception {
+        // a command is dequeued before its future is completed, so that its callbacks could execute commands
+        final CompletableFuture<RExecutionResult> nested = myExecutor.executeAsync("a").thenApply(
+                result -> {
+                    try {
+                        return myExecutor.execute("b");
+                    } catch (final RDebuggerException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+        );
+
+        assertEquals("1", get(nested).getOutput());
+        assertEquals(Arrays.asList("a", "b"), myExecutor.getCommands());
+    }
+
+
+    @Test
+    public void failOnTermination() throws Exception {
+        final CompletableFuture<RExecutionResult> blocked = myExecutor.executeAsync(BLOCKING_COMMAND);
+        final CompletableFuture<RExecutionResult> queued1 = myExecutor.executeAsync("a");
+        final CompletableFuture<RExecutionResult> queued2 = myExecutor.executeAsync("b");
+
+        assertTrue(myExecutor.myBlocked.await(10, TimeUnit.SECONDS));
+
+        myExecutor.myQueue.terminate();
+
+        // the running command is interrupted since the process won't answer it anymore
+        assertFailed(blocked);
+        assertFailed(queued1);
+        assertFailed(queued2);
+        assertFailed(myExecutor.executeAsync("c"));
+
+        assertEquals(Collections.singletonList(BLOCKING_COMMAND), myExecutor.getCommands());
+
+        // nothing is left to wait for
+        myExecutor.myQueue.awaitQueued();
+    }
+
+
+    @NotNull
+    private static RExecutionResult get(@NotNull final CompletableFuture<RExecutionResult> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+
+    private static void assertFailed(@NotNull final CompletableFuture<RExecutionResult> future) throws Exception {
+        try {
+            get(future);
+            fail("Command has been executed");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof RDebuggerException);
+        }
+    }
+
+
+    private static class QueuedRExecutor implements RAsyncExecutor {
+
+        @NotNull
+        private final RCommandQueue myQueue = new RCommandQueue(this, Executors.newSingleThreadExecutor());
+
+        @NotNull
+        private final CountDownLatch myBlocked = new CountDownLatch(1);
+
+        @NotNull
+        private final CountDownLatch myUnblock = new CountDownLatch(1);
+
+        // guarded by itself
+        @NotNull
+        private final List<String> myCommands = new ArrayList<String>();
+
+
+        @NotNull
+        @Override
+        public RExecutionResult execute(@NotNull final String command) throws RDebuggerException {
+            myQueue.awaitQueued();
+
+            final String output;
+
+            synchronized (myCommands) {
+                output = Integer.toString(myCommands.size());
+                myCommands.add(command);
+            }
+
+            if (command.equals(BLOCKING_COMMAND)) {
+                myBlocked.countDown();
+
+                try {
+                    myUnblock.await();
+                } catch (final InterruptedException e) {
+                    throw new RDebuggerException(e);
+                }
+            }
+
+            return new RExecutionResult(output, RExecutionResultType.RESPONSE, TextRange.allOf(output), "");
+        }
+
+
+        @NotNull
+        @Override
+        public CompletableFuture<RExecutionResult> executeAsync(@NotNull final String command) {
+            return myQueue.submit(command);
+        }
+
+
+        @NotNull
+        public List<String> getCommands() {
+            synchronized (myCommands) {
+                return new ArrayList<String>(myCommands);
+            }
+        }
+    }
+}
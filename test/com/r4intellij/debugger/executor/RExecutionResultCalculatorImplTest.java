@@ -433,6 +433,31 @@ public class RExecutionResultCalculatorImplTest {
     }
 
 
+    @Test
+    public void calculateBreakpoint() {
+        check(
+                RCommands.CONTINUE_COMMAND,
+                CALLED_FROM_PREFIX + "jetbrains_ther_main()",
+                BROWSE_PREFIX + "2" + BROWSE_SUFFIX,
+                BREAKPOINT,
+                ""
+        );
+    }
+
+
+    @Test
+    public void calculateBreakpointWithOutput() {
+        check(
+                RCommands.CONTINUE_COMMAND,
+                "[1] 1 2 3\n" +
+                        CALLED_FROM_PREFIX + "jetbrains_ther_main()",
+                BROWSE_PREFIX + "2" + BROWSE_SUFFIX,
+                BREAKPOINT,
+                "[1] 1 2 3"
+        );
+    }
+
+
     @Test
     public void calculateOutputAndBrowse() {
         check(
@@ -0,0 +1,81 @@
+package com.r4intellij.debugger.executor;
+
+import org.junit.Test;
+
+import static com.r4intellij.debugger.data.RLanguageConstants.LINE_SEPARATOR;
+import static org.junit.Assert.*;
+
+public class ROutputBufferTest {
+
+    @Test
+    public void empty() {
+        final ROutputBuffer buffer = new ROutputBuffer();
+
+        assertEquals(1, buffer.getLineCount());
+        assertEquals("", buffer.getLine(0));
+        assertEquals("", buffer.getText(0, 1));
+    }
+
+
+    @Test
+    public void chunks() {
+        final ROutputBuffer buffer = new ROutputBuffer();
+
+        buffer.append("ls()\n[1] \"");
+        buffer.append("x\"\n");
+        buffer.append("Browse[1]> ");
+
+        assertEquals(3, buffer.getLineCount());
+        assertEquals("ls()", buffer.getLine(0));
+        assertEquals("[1] \"x\"", buffer.getLine(1));
+        assertEquals("Browse[1]> ", buffer.getLine(2));
+        assertTrue(buffer.lineStartsWith(2, "Browse["));
+        assertFalse(buffer.lineStartsWith(0, "ls() "));
+        assertEquals("ls()\n[1] \"x\"\nBrowse[1]> ", buffer.toString());
+    }
+
+
+    @Test
+    public void crLfBetweenChunks() {
+        final ROutputBuffer buffer = new ROutputBuffer();
+
+        buffer.append("a\r");
+        buffer.append("\nb\r\rc");
+
+        assertEquals(4, buffer.getLineCount());
+        assertEquals("a", buffer.getLine(0));
+        assertEquals("b", buffer.getLine(1));
+        assertEquals("", buffer.getLine(2));
+        assertEquals("c", buffer.getLine(3));
+        assertEquals("a" + LINE_SEPARATOR + "b" + LINE_SEPARATOR + LINE_SEPARATOR + "c", buffer.getText(0, 4));
+        assertEquals(("b" + LINE_SEPARATOR + LINE_SEPARATOR).length(), buffer.getTextOffset(1, 3));
+    }
+
+
+    @Test
+    public void clear() {
+        final ROutputBuffer buffer = new ROutputBuffer("a\nb\n");
+
+        assertEquals(3, buffer.getLineCount());
+
+        buffer.clear();
+        buffer.append("c");
+
+        assertEquals(1, buffer.getLineCount());
+        assertEquals("c", buffer.getLine(0));
+    }
+
+
+    @Test
+    public void manyLines() {
+        final ROutputBuffer buffer = new ROutputBuffer();
+
+        for (int i = 0; i < 1000; i++) {
+            buffer.append(i + "\n");
+        }
+
+        assertEquals(1001, buffer.getLineCount());
+        assertEquals("999", buffer.getLine(999));
+        assertEquals("1\n2", buffer.getText(1, 3).replace(LINE_SEPARATOR, "\n"));
+    }
+}
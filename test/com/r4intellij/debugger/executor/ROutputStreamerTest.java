@@ -0,0 +1,76 @@
+package com.r4intellij.debugger.executor;
+
+import com.r4intellij.debugger.mock.MockROutputReceiver;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class ROutputStreamerTest {
+
+    @Test
+    public void empty() {
+        final MockROutputReceiver receiver = new MockROutputReceiver();
+        final ROutputStreamer streamer = new ROutputStreamer(receiver);
+        final ROutputBuffer buffer = new ROutputBuffer();
+
+        append(streamer, buffer, "source(\"s.r\")\n> ");
+
+        assertEquals("\n> ", buffer.toString());
+
+        streamer.finish(buffer);
+
+        assertEquals(Collections.emptyList(), receiver.getOutputs());
+    }
+
+
+    @Test
+    public void chunks() {
+        final MockROutputReceiver receiver = new MockROutputReceiver();
+        final ROutputStreamer streamer = new ROutputStreamer(receiver);
+        final ROutputBuffer buffer = new ROutputBuffer();
+
+        append(streamer, buffer, "source(");
+        append(streamer, buffer, "\"s.r\")\n[1] 1\n[1]");
+        append(streamer, buffer, " 2\n");
+        append(streamer, buffer, "> ");
+
+        assertEquals("\n> ", buffer.toString());
+
+        streamer.finish(buffer);
+
+        assertEquals(Arrays.asList("[1] 1", "\n[1] 2", "\n"), receiver.getOutputs());
+        assertEquals("> ", buffer.toString());
+    }
+
+
+    @Test
+    public void longLastLine() {
+        final MockROutputReceiver receiver = new MockROutputReceiver();
+        final ROutputStreamer streamer = new ROutputStreamer(receiver);
+        final ROutputBuffer buffer = new ROutputBuffer();
+
+        final StringBuilder progress = new StringBuilder();
+
+        for (int i = 0; i <= ROutputStreamer.TAIL_WINDOW; i++) {
+            progress.append('.');
+        }
+
+        append(streamer, buffer, "source(\"s.r\")\n" + progress);
+
+        assertEquals("", buffer.toString());
+
+        append(streamer, buffer, "\n> ");
+        streamer.finish(buffer);
+
+        assertEquals(Arrays.asList(progress.toString(), "\n"), receiver.getOutputs());
+    }
+
+
+    private static void append(final ROutputStreamer streamer, final ROutputBuffer buffer, final String text) {
+        buffer.append(text);
+        streamer.drain(buffer);
+    }
+}
@@ -14,7 +14,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-import static com.r4intellij.debugger.data.RCommands.expressionOnFrameCommand;
+import static com.r4intellij.debugger.data.RCommands.frameVarExpression;
 import static com.r4intellij.debugger.data.RFunctionConstants.SERVICE_FUNCTION_PREFIX;
 import static com.r4intellij.debugger.data.RLanguageConstants.FUNCTION_TYPE;
 import static com.r4intellij.debugger.data.RResponseConstants.DEBUG_AT_LINE_PREFIX;
@@ -22,13 +22,15 @@ import static com.r4intellij.debugger.data.RResponseConstants.ENVIRONMENT_PREFIX
 import static com.r4intellij.debugger.executor.RExecutionResultType.DEBUG_AT;
 import static com.r4intellij.debugger.executor.RExecutionResultType.RESPONSE;
 import static com.r4intellij.debugger.mock.MockRExecutor.LS_FUNCTIONS_ERROR;
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class RVarsLoaderImplTest {
 
+    private static final int MAX_VALUE_LENGTH = 1024;
+
     @Test
     public void empty() throws RDebuggerException {
-        final String output = "character(0)";
+        final String output = "";
         final AlwaysSameResultRExecutor executor = new AlwaysSameResultRExecutor(output, RESPONSE, TextRange.allOf(output), "error");
         final MockROutputReceiver receiver = new MockROutputReceiver();
 
@@ -38,7 +40,8 @@ public class RVarsLoaderImplTest {
                         executor,
                         receiver,
                         new IllegalRValueModifier(),
-                        0
+                        0,
+                        MAX_VALUE_LENGTH
                 ).load().size()
         );
 
@@ -56,14 +59,18 @@ public class RVarsLoaderImplTest {
                 new OrdinaryRExecutor(),
                 receiver,
                 new IllegalRValueModifier(),
-                0
+                0,
+                MAX_VALUE_LENGTH
         ).load();
 
-        assertEquals(3, actual.size());
+        assertEquals(4, actual.size());
 
         assertEquals("a", actual.get(0).getName());
         assertEquals("[1] \"integer\"", actual.get(0).getType());
         assertEquals("[1] 1 2 3", actual.get(0).getValue());
+        assertEquals(64, actual.get(0).getSize());
+        assertEquals(3, actual.get(0).getLength());
+        assertTrue(actual.get(0).isValueLoaded());
 
         assertEquals("b", actual.get(1).getName());
         assertEquals(FUNCTION_TYPE, actual.get(1).getType());
@@ -83,9 +90,16 @@ public class RVarsLoaderImplTest {
                 actual.get(2).getValue()
         );
 
+        assertEquals("df", actual.get(3).getName());
+        assertEquals("[1] \"list\"", actual.get(3).getType());
+        assertFalse(actual.get(3).isValueLoaded());
+        assertEquals("data.frame [1000000 x 2]", actual.get(3).getSummary().substring(0, 24));
+        assertEquals(1000000, actual.get(3).getLength());
+        assertEquals(frameVarExpression("df"), actual.get(3).getExpression());
+
         assertEquals(Collections.emptyList(), receiver.getOutputs());
         assertEquals(
-                Arrays.asList(LS_FUNCTIONS_ERROR, "error_ta", "error_va", "error_t4", "error_vb", "error_t6", "error_vc", "error_t8"),
+                Collections.singletonList(LS_FUNCTIONS_ERROR),
                 receiver.getErrors()
         );
     }
@@ -99,7 +113,8 @@ public class RVarsLoaderImplTest {
                 new InDebugRExecutor(),
                 receiver,
                 new IllegalRValueModifier(),
-                0
+                0,
+                MAX_VALUE_LENGTH
         ).load();
 
         assertEquals(1, actual.size());
@@ -108,100 +123,77 @@ public class RVarsLoaderImplTest {
         assertEquals("[1] 1 2 3", actual.get(0).getValue());
 
         assertEquals(Collections.emptyList(), receiver.getOutputs());
-        assertEquals(Arrays.asList(LS_FUNCTIONS_ERROR, "error_ta", "error_dbg_at", "error_va"), receiver.getErrors());
+        assertEquals(Arrays.asList(LS_FUNCTIONS_ERROR, "error_va"), receiver.getErrors());
     }
 
 
-    private static class OrdinaryRExecutor extends MockRExecutor {
-
-        @NotNull
-        @Override
-        protected RExecutionResult doExecute(@NotNull final String command) throws RDebuggerException {
-            if (getCounter() == 1) {
-                final String output = "[1] \"a\" \"b\" \"c\"\n" +
-                        "[4] \"" + SERVICE_FUNCTION_PREFIX + "d" + "\"";
-                // list, function, inner function and service function
-
-                return new RExecutionResult(
-                        output,
-                        RESPONSE,
-                        TextRange.allOf(output),
-                        LS_FUNCTIONS_ERROR
-                );
-            }
+    @Test
+    public void elements() throws RDebuggerException {
+        final String output = "[[1]]\tx\tdouble\t56\tnumeric\t1\t0\t1\t[1] 1\n" +
+                "[[2]]\t[[2]]\tcharacter\t112\tcharacter\t1\t0\t1\t[1] \"a\"\n";
+        final AlwaysSameResultRExecutor executor = new AlwaysSameResultRExecutor(output, RESPONSE, TextRange.allOf(output), "");
+        final MockROutputReceiver receiver = new MockROutputReceiver();
 
-            if (getCounter() == 2) { // type of a
-                final String output = "[1] \"integer\"";
+        final RVar parent = new RVar("l", "[1] \"list\"", "", false, "list [3]", 1024, 3, "l", new IllegalRValueModifier());
 
-                return new RExecutionResult(
-                        output,
-                        RESPONSE,
-                        TextRange.allOf(output),
-                        "error_ta"
-                );
-            }
+        final List<RVar> actual = new RVarsLoaderImpl(
+                executor,
+                receiver,
+                new IllegalRValueModifier(),
+                0,
+                MAX_VALUE_LENGTH
+        ).loadElements(parent, 0, 100);
 
-            if (getCounter() == 3) { // value of a
-                final String output = "[1] 1 2 3";
+        assertEquals(2, actual.size());
 
-                return new RExecutionResult(
-                        output,
-                        RESPONSE,
-                        TextRange.allOf(output),
-                        "error_va"
-                );
-            }
+        assertEquals("x", actual.get(0).getName());
+        assertEquals("[1] 1", actual.get(0).getValue());
+        assertEquals("(l)[[1]]", actual.get(0).getExpression());
+        assertFalse(actual.get(0).getModifier().isEnabled());
 
-            if (getCounter() == 4 || getCounter() == 6 || getCounter() == 8 || getCounter() == 9) { // type of b, c, d, e
-                final String output = FUNCTION_TYPE;
+        assertEquals("[[2]]", actual.get(1).getName());
+        assertEquals("[1] \"a\"", actual.get(1).getValue());
+        assertEquals("(l)[[2]]", actual.get(1).getExpression());
 
-                return new RExecutionResult(
-                        output,
-                        RESPONSE,
-                        TextRange.allOf(output),
-                        "error_t" + getCounter()
-                );
-            }
+        assertEquals(1, executor.getCounter());
+        assertEquals(Collections.emptyList(), receiver.getErrors());
+    }
 
-            if (getCounter() == 5) { // value of b
-                final String output = "function(x) {\n" +
-                        "    x ^ 2\n" +
-                        "}";
 
-                return new RExecutionResult(
-                        output,
-                        RESPONSE,
-                        TextRange.allOf(output),
-                        "error_vb"
-                );
-            }
+    @Test
+    public void lazyValue() throws RDebuggerException {
+        final String output = "  x\n1 1\n";
+        final AlwaysSameResultRExecutor executor = new AlwaysSameResultRExecutor(output, RESPONSE, TextRange.allOf(output), "");
 
-            if (getCounter() == 7) { // value of c
-                final String output = "function(x) {\n" +
-                        "    x ^ 2\n" +
-                        "}\n" +
-                        ENVIRONMENT_PREFIX + "0xfffffff>";
+        final RVar var = new RVar("df", "[1] \"list\"", "", false, "data.frame [1 x 1]", 1024, 0, "df", new IllegalRValueModifier());
 
-                return new RExecutionResult(
-                        output,
-                        RESPONSE,
-                        TextRange.allOf(output),
-                        "error_vc"
-                );
-            }
+        assertEquals(
+                "  x\n1 1",
+                new RVarsLoaderImpl(
+                        executor,
+                        new MockROutputReceiver(),
+                        new IllegalRValueModifier(),
+                        0,
+                        MAX_VALUE_LENGTH
+                ).loadValue(var)
+        );
 
-            throw new IllegalStateException("Unexpected command");
-        }
+        assertEquals(1, executor.getCounter());
     }
 
 
-    private static class InDebugRExecutor extends MockRExecutor {
+    private static class OrdinaryRExecutor extends MockRExecutor {
 
         @NotNull
         @Override
         protected RExecutionResult doExecute(@NotNull final String command) throws RDebuggerException {
             if (getCounter() == 1) {
-                final String output = "[1] \"a\"";
+                // vector, function, inner function, service function and data frame
+                final String output = "a\tinteger\t64\tinteger\t3\t3\t1\t[1] 1 2 3\n" +
+                        "b\tclosure\t4504\tfunction\t1\t0\t1\tfunction(x) {\\n    x ^ 2\\n}\n" +
+                        "c\tclosure\t4504\tfunction\t1\t0\t1\tfunction(x) {\\n    x ^ 2\\n}\\n" + ENVIRONMENT_PREFIX + "0xfffffff>\n" +
+                        SERVICE_FUNCTION_PREFIX + "d\tclosure\t4504\tfunction\t1\t0\t1\tfunction() NULL\n" +
+                        "df\tlist\t16000848\tdata.frame\t1000000 x 2\t1000000\t0\t\n";
 
                 return new RExecutionResult(
                         output,
@@ -211,30 +203,29 @@ public class RVarsLoaderImplTest {
                 );
             }
 
-            if (getCounter() == 2) {
-                final String output = "[1] \"integer\"";
+            throw new IllegalStateException("Unexpected command");
+        }
+    }
 
-                return new RExecutionResult(
-                        output,
-                        RESPONSE,
-                        TextRange.allOf(output),
-                        "error_ta"
-                );
-            }
 
-            if (getCounter() == 3) {
-                final String output = DEBUG_AT_LINE_PREFIX + "2: print(" + expressionOnFrameCommand(0, "a") + ")";
+    private static class InDebugRExecutor extends MockRExecutor {
+
+        @NotNull
+        @Override
+        protected RExecutionResult doExecute(@NotNull final String command) throws RDebuggerException {
+            if (getCounter() == 1) {
+                final String output = DEBUG_AT_LINE_PREFIX + "2: print(.v)";
 
                 return new RExecutionResult(
                         output,
                         DEBUG_AT,
                         TextRange.EMPTY_RANGE,
-                        "error_dbg_at"
+                        LS_FUNCTIONS_ERROR
                 );
             }
 
-            if (getCounter() == 4) {
-                final String output = "[1] 1 2 3";
+            if (getCounter() == 2) {
+                final String output = "a\tinteger\t64\tinteger\t3\t3\t1\t[1] 1 2 3";
 
                 return new RExecutionResult(
                         output,
@@ -247,4 +238,4 @@ public class RVarsLoaderImplTest {
             throw new IllegalStateException("Unexpected command");
         }
     }
-}
\ No newline at end of file
+}
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static com.r4intellij.debugger.data.RCommands.EXECUTE_AND_STEP_COMMAND;
+import static com.r4intellij.debugger.data.RCommands.TRACE_AND_DEBUG_FUNCTIONS_COMMAND;
 import static com.r4intellij.debugger.data.RFunctionConstants.*;
 import static com.r4intellij.debugger.data.RResponseConstants.*;
 import static com.r4intellij.debugger.mock.MockRExecutor.LS_FUNCTIONS_ERROR;
@@ -830,7 +831,7 @@ public class RBraceFunctionDebuggerTest {
         final RExecutor executor = MockitoUtils.setupExecutor(
                 new ContainerUtil.ImmutableMapBuilder<String, List<RExecutionResult>>()
                         .put(EXECUTE_AND_STEP_COMMAND, Arrays.asList(firstResult, thirdResult))
-                        .put(RTraceAndDebugUtilsTest.LS_FUNCTIONS_COMMAND, Collections.singletonList(RTraceAndDebugUtilsTest.NO_FUNCTIONS_RESULT))
+                        .put(TRACE_AND_DEBUG_FUNCTIONS_COMMAND, Collections.singletonList(RTraceAndDebugUtilsTest.NO_FUNCTIONS_RESULT))
                         .build()
         );
 
@@ -846,7 +847,7 @@ public class RBraceFunctionDebuggerTest {
         );
 
         final List<String> currentCommands =
-                new ArrayList<String>(Arrays.asList(EXECUTE_AND_STEP_COMMAND, RTraceAndDebugUtilsTest.LS_FUNCTIONS_COMMAND));
+                new ArrayList<String>(Arrays.asList(EXECUTE_AND_STEP_COMMAND, TRACE_AND_DEBUG_FUNCTIONS_COMMAND));
 
         assertTrue(debugger.hasNext());
         assertEquals(new RLocation(functionName, 0), debugger.getLocation());
@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static com.r4intellij.debugger.data.RCommands.EXECUTE_AND_STEP_COMMAND;
+import static com.r4intellij.debugger.data.RCommands.TRACE_AND_DEBUG_FUNCTIONS_COMMAND;
 import static com.r4intellij.debugger.data.RFunctionConstants.SERVICE_ENTER_FUNCTION_SUFFIX;
 import static com.r4intellij.debugger.data.RFunctionConstants.SERVICE_FUNCTION_PREFIX;
 import static com.r4intellij.debugger.data.RResponseConstants.*;
@@ -509,7 +510,7 @@ public class RUnbraceFunctionDebuggerTest {
             throws RDebuggerException {
         final RExecutor executor = MockitoUtils.setupExecutor(
                 new ContainerUtil.ImmutableMapBuilder<String, List<RExecutionResult>>()
-                        .put(RTraceAndDebugUtilsTest.LS_FUNCTIONS_COMMAND, Collections.singletonList(RTraceAndDebugUtilsTest.NO_FUNCTIONS_RESULT))
+                        .put(TRACE_AND_DEBUG_FUNCTIONS_COMMAND, Collections.singletonList(RTraceAndDebugUtilsTest.NO_FUNCTIONS_RESULT))
                         .put(EXECUTE_AND_STEP_COMMAND, Collections.singletonList(secondResult))
                         .build()
         );
@@ -525,7 +526,7 @@ public class RUnbraceFunctionDebuggerTest {
                 "abc"
         );
 
-        final List<String> currentCommands = new ArrayList<String>(Collections.singletonList(RTraceAndDebugUtilsTest.LS_FUNCTIONS_COMMAND));
+        final List<String> currentCommands = new ArrayList<String>(Collections.singletonList(TRACE_AND_DEBUG_FUNCTIONS_COMMAND));
 
         assertTrue(debugger.hasNext());
         assertEquals(new RLocation("abc", 0), debugger.getLocation());
@@ -555,7 +556,7 @@ public class RUnbraceFunctionDebuggerTest {
             throws RDebuggerException {
         final RExecutor executor = MockitoUtils.setupExecutor(
                 new ContainerUtil.ImmutableMapBuilder<String, List<RExecutionResult>>()
-                        .put(RTraceAndDebugUtilsTest.LS_FUNCTIONS_COMMAND, Collections.singletonList(RTraceAndDebugUtilsTest.NO_FUNCTIONS_RESULT))
+                        .put(TRACE_AND_DEBUG_FUNCTIONS_COMMAND, Collections.singletonList(RTraceAndDebugUtilsTest.NO_FUNCTIONS_RESULT))
                         .put(EXECUTE_AND_STEP_COMMAND, Collections.singletonList(secondResult))
                         .build()
         );
@@ -573,7 +574,7 @@ public class RUnbraceFunctionDebuggerTest {
 
         assertTrue(debugger.hasNext());
         assertEquals(new RLocation("abc", 0), debugger.getLocation());
-        MockitoUtils.verifyExecutor(executor, Collections.singletonList(RTraceAndDebugUtilsTest.LS_FUNCTIONS_COMMAND));
+        MockitoUtils.verifyExecutor(executor, Collections.singletonList(TRACE_AND_DEBUG_FUNCTIONS_COMMAND));
         verifyZeroInteractions(handler);
         assertEquals(Collections.emptyList(), receiver.getOutputs());
         assertEquals(Collections.singletonList(LS_FUNCTIONS_ERROR), receiver.getErrors());
@@ -584,7 +585,7 @@ public class RUnbraceFunctionDebuggerTest {
         assertFalse(debugger.hasNext());
         assertEquals(new RLocation("abc", -1), debugger.getLocation());
         assertEquals("[1] 1 2 3", debugger.getResult());
-        MockitoUtils.verifyExecutor(executor, Arrays.asList(RTraceAndDebugUtilsTest.LS_FUNCTIONS_COMMAND, EXECUTE_AND_STEP_COMMAND));
+        MockitoUtils.verifyExecutor(executor, Arrays.asList(TRACE_AND_DEBUG_FUNCTIONS_COMMAND, EXECUTE_AND_STEP_COMMAND));
         if (returnLineNumber != -1) verify(handler, times(1)).setReturnLineNumber(returnLineNumber);
         assertEquals(Collections.singletonList("[1] 1 2 3"), receiver.getOutputs());
         assertEquals(Collections.singletonList("error_exit"), receiver.getErrors());
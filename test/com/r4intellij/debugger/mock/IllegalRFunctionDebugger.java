@@ -28,4 +28,10 @@ public class IllegalRFunctionDebugger extends MockRFunctionDebugger {
     public void advance() throws RDebuggerException {
         throw new IllegalStateException("Advance shouldn't be called");
     }
+
+
+    @Override
+    public void resume() throws RDebuggerException {
+        throw new IllegalStateException("Resume shouldn't be called");
+    }
 }
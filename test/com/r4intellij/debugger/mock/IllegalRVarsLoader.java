@@ -14,4 +14,18 @@ public class IllegalRVarsLoader implements RVarsLoader {
     public List<RVar> load() throws RDebuggerException {
         throw new IllegalStateException("Load shouldn't be called");
     }
+
+
+    @NotNull
+    @Override
+    public String loadValue(@NotNull final RVar var) throws RDebuggerException {
+        throw new IllegalStateException("LoadValue shouldn't be called");
+    }
+
+
+    @NotNull
+    @Override
+    public List<RVar> loadElements(@NotNull final RVar var, final int offset, final int count) throws RDebuggerException {
+        throw new IllegalStateException("LoadElements shouldn't be called");
+    }
 }
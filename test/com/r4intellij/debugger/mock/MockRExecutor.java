@@ -5,7 +5,7 @@ import com.r4intellij.debugger.executor.RExecutionResult;
 import com.r4intellij.debugger.executor.RExecutor;
 import org.jetbrains.annotations.NotNull;
 
-import static com.r4intellij.debugger.function.RTraceAndDebugUtilsTest.LS_FUNCTIONS_COMMAND;
+import static com.r4intellij.debugger.data.RCommands.TRACE_AND_DEBUG_FUNCTIONS_COMMAND;
 import static com.r4intellij.debugger.function.RTraceAndDebugUtilsTest.NO_FUNCTIONS_RESULT;
 
 public abstract class MockRExecutor implements RExecutor {
@@ -21,7 +21,7 @@ public abstract class MockRExecutor implements RExecutor {
     public RExecutionResult execute(@NotNull final String command) throws RDebuggerException {
         myCounter++;
 
-        if (useNoFunctionsResult() && command.equals(LS_FUNCTIONS_COMMAND)) {
+        if (useNoFunctionsResult() && command.equals(TRACE_AND_DEBUG_FUNCTIONS_COMMAND)) {
             return NO_FUNCTIONS_RESULT;
         }
 
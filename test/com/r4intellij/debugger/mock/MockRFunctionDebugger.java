@@ -49,6 +49,12 @@ public class MockRFunctionDebugger implements RFunctionDebugger {
     }
 
 
+    @Override
+    public void resume() throws RDebuggerException {
+        myCounter = myLimit;
+    }
+
+
     @NotNull
     @Override
     public String getResult() {
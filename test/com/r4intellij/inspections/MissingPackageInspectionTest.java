@@ -45,6 +45,12 @@ public class MissingPackageInspectionTest extends RInspectionTest {
     }
 
 
+    public void testMissingPckgInNestedNamespaceCall() {
+        doExprTest("head(x = <error descr=\"'foobar' is not yet installed\">foobar</error>::myData, " +
+                "n = nrow(<error descr=\"'foobaz' is not yet installed\">foobaz</error>:::myFun()))");
+    }
+
+
     @NotNull
     @Override
     Class<? extends RInspection> getInspection() {
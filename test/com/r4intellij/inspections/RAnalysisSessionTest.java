@@ -0,0 +1,83 @@
+package com.r4intellij.inspections;
+
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Computable;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.r4intellij.RTestCase;
+import com.r4intellij.psi.api.ROperator;
+import com.r4intellij.psi.api.RReferenceExpression;
+import com.r4intellij.psi.references.ResolveResultWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+public class RAnalysisSessionTest extends RTestCase {
+
+    private static final int THREADS = 4;
+
+
+    public void testSessionSharedByInspections() {
+        PsiFile file = myFixture.configureByText("a.R", "x <- 1");
+        LocalInspectionToolSession session = new LocalInspectionToolSession(file, 0, file.getTextLength());
+
+        assertSame(RAnalysisSession.getInstance(session), RAnalysisSession.getInstance(session));
+    }
+
+
+    public void testResolveOnce() throws Exception {
+        PsiFile file = myFixture.configureByText("a.R", "" +
+                "x <- 1\n" +
+                "f <- function(y) y + x\n" +
+                "f(x)\n" +
+                "print(f(y = 2) * x)\n");
+
+        Collection<RReferenceExpression> references = PsiTreeUtil.findChildrenOfType(file, RReferenceExpression.class);
+        Collection<ROperator> operators = PsiTreeUtil.findChildrenOfType(file, ROperator.class);
+        assertNotEmpty(references);
+        assertNotEmpty(operators);
+
+        RAnalysisSession analysisSession = new RAnalysisSession();
+
+        // inspections of a highlighting pass ask for the same references in parallel
+        List<Future<Map<PsiElement, ResolveResultWrapper>>> passes = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            passes.add(ApplicationManager.getApplication().executeOnPooledThread(
+                    () -> ApplicationManager.getApplication().runReadAction(
+                            (Computable<Map<PsiElement, ResolveResultWrapper>>) () -> {
+                                Map<PsiElement, ResolveResultWrapper> results = new HashMap<>();
+
+                                for (RReferenceExpression reference : references) {
+                                    results.put(reference, analysisSession.resolve(reference));
+                                }
+
+                                for (ROperator operator : operators) {
+                                    results.put(operator, analysisSession.resolve(operator));
+                                }
+
+                                return results;
+                            })));
+        }
+
+        Map<PsiElement, ResolveResultWrapper> expected = passes.get(0).get();
+
+        for (Future<Map<PsiElement, ResolveResultWrapper>> pass : passes) {
+            Map<PsiElement, ResolveResultWrapper> results = pass.get();
+
+            for (PsiElement element : expected.keySet()) {
+                assertSame(element.getText(), expected.get(element), results.get(element));
+            }
+        }
+
+        for (RReferenceExpression reference : references) {
+            assertSame(expected.get(reference), analysisSession.resolve(reference));
+        }
+    }
+}
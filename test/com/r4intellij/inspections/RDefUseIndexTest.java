@@ -0,0 +1,81 @@
+package com.r4intellij.inspections;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.r4intellij.RPsiUtils;
+import com.r4intellij.RTestCase;
+import com.r4intellij.psi.api.RParameter;
+import com.r4intellij.psi.api.RReferenceExpression;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RDefUseIndexTest extends RTestCase {
+
+    public void testReadsInFileOrder() {
+        PsiFile file = myFixture.configureByText("a.R", "" +
+                "x <- 1\n" +
+                "y <- x + 1\n" +
+                "print(x)\n");
+
+        List<RReferenceExpression> reads = findReads(file, "x");
+        assertSize(2, reads);
+
+        PsiElement definition = reads.get(0).getReference().resolve();
+        assertNotNull(definition);
+
+        assertEquals(reads, new RDefUseIndex(file).getReads(definition));
+    }
+
+
+    public void testParameterReads() {
+        PsiFile file = myFixture.configureByText("a.R", "f <- function(a, b) { b <- a; 1 }");
+        RDefUseIndex index = new RDefUseIndex(file);
+
+        assertTrue(index.isRead(findParameter(file, "a")));
+        assertFalse(index.isRead(findParameter(file, "b")));
+    }
+
+
+    public void testNamedArgumentIsNoRead() {
+        // a named argument passes a value for a parameter, but it doesn't read it, no matter where the call is
+        PsiFile file = myFixture.configureByText("a.R", "" +
+                "f <- function(x, y) y\n" +
+                "f(x = 1, y = 2)\n");
+
+        RDefUseIndex index = new RDefUseIndex(file);
+
+        assertFalse(index.isRead(findParameter(file, "x")));
+        assertEmpty(index.getReads(findParameter(file, "x")));
+
+        List<PsiElement> reads = index.getReads(findParameter(file, "y"));
+        assertSize(1, reads);
+        assertFalse(RPsiUtils.isNamedArgument((RReferenceExpression) reads.get(0)));
+    }
+
+
+    @NotNull
+    private static List<RReferenceExpression> findReads(@NotNull PsiFile file, @NotNull String name) {
+        List<RReferenceExpression> result = new ArrayList<>();
+
+        for (RReferenceExpression reference : PsiTreeUtil.findChildrenOfType(file, RReferenceExpression.class)) {
+            if (name.equals(reference.getText()) && reference.getReference() != null && !RPsiUtils.isNamedArgument(reference)) {
+                result.add(reference);
+            }
+        }
+
+        return result;
+    }
+
+
+    @NotNull
+    private static RParameter findParameter(@NotNull PsiFile file, @NotNull String name) {
+        for (RParameter parameter : PsiTreeUtil.findChildrenOfType(file, RParameter.class)) {
+            if (name.equals(parameter.getName())) return parameter;
+        }
+
+        throw new AssertionError("no parameter " + name);
+    }
+}
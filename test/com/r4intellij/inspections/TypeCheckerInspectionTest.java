@@ -1,9 +1,14 @@
 package com.r4intellij.inspections;
 
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static com.r4intellij.inspections.InspectionTestUtilKt.errorMissingArg;
 import static com.r4intellij.inspections.UnresolvedReferenceInspection.missingImportMsg;
@@ -150,10 +155,10 @@ public class TypeCheckerInspectionTest extends RInspectionTest {
         doTest("TestOptional.R");
     }
 
-    // tests below require type system to be active, disabled for now until types are brought back
+    // type checks, see @type and @rule annotations
 
 
-    public void _testWrongTypeParameter() {
+    public void testWrongTypeParameter() {
         doTest("WrongTypeParameter.R");
     }
 
@@ -163,41 +168,69 @@ public class TypeCheckerInspectionTest extends RInspectionTest {
     }
 
 
-    public void _testGuessReturnFromBody() {
+    public void testGuessReturnFromBody() {
         doTest("GuessReturnFromBody.R");
     }
 
 
-    public void _testIfElseType() {
+    public void testIfElseType() {
         doTest("IfElseType.R");
     }
 
 
-    public void _testList() {
+    public void testList() {
         doTest("List.R");
     }
 
 
-    public void _testBinary() {
+    public void testBinary() {
         doTest("Binary.R");
     }
 
 
-    public void _testSlice() {
+    public void testSlice() {
         doTest("Slice.R");
     }
 
 
-    public void _testVector() {
+    public void testVector() {
         doTest("Vector.R");
     }
 
 
-    public void _testExpectedCharacterFoundNumeric() {
+    public void testExpectedCharacterFoundNumeric() {
         doTest();
     }
 
 
+    public void testTypeCacheDroppedOnEdit() {
+        doExprTest("## @type x : numeric\nf <- function(x) x\n\nz <- 1\nf(z)");
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            Document document = myFixture.getEditor().getDocument();
+            int offset = document.getText().indexOf("z <- 1") + "z <- ".length();
+
+            document.replaceString(offset, offset + 1, "'a'");
+            PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+        });
+
+        List<String> descriptions = myFixture.doHighlighting().stream()
+                .map(HighlightInfo::getDescription)
+                .collect(Collectors.toList());
+
+        assertContainsElements(descriptions, "x expected to be of type numeric, found type character");
+    }
+
+
+    public void testAnnotatedFunctionInOtherFile() {
+        // the function is resolved to its stub, since the other file is not opened
+        myFixture.addFileToProject("annotated.R", "## @type x : numeric\nannotated_fun <- function(x) x\n");
+
+        doExprTest("z <- 'a'\n" +
+                "<warning descr=\"x expected to be of type numeric, found type character\">annotated_fun(z)</warning>");
+    }
+
+
     @NotNull
     @Override
     Class<? extends RInspection> getInspection() {
@@ -10,6 +10,11 @@ public class UnusedParameterInspectionTest extends RInspectionTest {
     assertUnused(readTestDataFile());
   }
 
+  public void testNamedArgumentIsNoUsage() {
+    // callers in other files are not considered either
+    assertUnused("myFun = function(arg) 1; myFun(arg = 2)");
+  }
+
   // False positive tests: Unused annotation might be present (or was by regression) but should not
 
   /**
@@ -3,6 +3,9 @@ package com.r4intellij.lexer;
 import com.intellij.lexer.Lexer;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class RHighlightingLexerTest extends TestCase {
 
     public void testLogicTrue() {
@@ -252,6 +255,72 @@ public class RHighlightingLexerTest extends TestCase {
     }
 
 
+    public void testRestartWithinBrackets() {
+        doRestartTest("x <- l[[f(y[1])]]\n" +
+                "z <- l[[ g[[2]] ]][\"}\"]\n" +
+                "l[[1]][[2]]\n");
+    }
+
+
+    public void testRestartWithinUnbalancedBrackets() {
+        doRestartTest("x[[1]\n" +
+                "y]]] # ]]\n" +
+                "z[1]]\n");
+    }
+
+
+    public void testDeeplyNestedBrackets() {
+        StringBuilder text = new StringBuilder();
+
+        // deeper than the brackets tracked in the state
+        for (int i = 0; i < 40; i++) text.append(i % 2 == 0 ? "x[[" : "x[");
+        text.append("y[[1]]");
+        for (int i = 39; i >= 0; i--) text.append(i % 2 == 0 ? " ]]" : " ]");
+
+        doRestartTest(text.toString());
+
+        // no double bracket is split and the brackets are closed afterwards
+        text.append(" + l[[1]]");
+        List<String> tokens = lex(text.toString(), 0, 0);
+        assertEquals(22, tokens.stream().filter(token -> token.contains(":]]:")).count());
+        assertEquals(20, tokens.stream().filter(token -> token.contains(":]:")).count());
+        assertTrue(tokens.get(tokens.size() - 3).endsWith(":[[:0"));
+    }
+
+
+    // lexing restarted at any token with the state reported for it has to yield the same tokens
+    private static void doRestartTest(String text) {
+        List<String> tokens = lex(text, 0, 0);
+
+        Lexer lexer = new RLexer();
+        lexer.start(text);
+
+        for (int i = 0; lexer.getTokenType() != null; i++) {
+            if (i > 0) {
+                assertEquals("Tokens after restart at " + lexer.getTokenStart(),
+                        tokens.subList(i, tokens.size()), lex(text, lexer.getTokenStart(), lexer.getState()));
+            }
+
+            lexer.advance();
+        }
+    }
+
+
+    private static List<String> lex(String text, int start, int initialState) {
+        List<String> tokens = new ArrayList<String>();
+
+        Lexer lexer = new RLexer();
+        lexer.start(text, start, text.length(), initialState);
+
+        while (lexer.getTokenType() != null) {
+            tokens.add(lexer.getTokenStart() + ":" + lexer.getTokenType() + ":" + lexer.getState());
+            lexer.advance();
+        }
+
+        return tokens;
+    }
+
+
     private static void doTest(String text, String... expectedTokens) {
         doLexerTest(text, new RLexer(), expectedTokens);
     }
@@ -0,0 +1,51 @@
+package com.r4intellij.packages;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RIndexDictionaryTest {
+
+    @Test
+    public void loadedOnFirstUse() {
+        AtomicInteger loads = new AtomicInteger();
+        RIndexDictionary dictionary = new RIndexDictionary(() -> {
+            loads.incrementAndGet();
+            return Arrays.asList("mutate", "dplyr", "mutate");
+        });
+
+        assertFalse(dictionary.isLoaded());
+        assertEquals(Boolean.TRUE, dictionary.contains("dplyr"));
+        assertNull(dictionary.contains("dplyrr"));
+        assertEquals(Arrays.asList("dplyr", "mutate"), Arrays.asList(dictionary.getWords().toArray()));
+        assertEquals(1, loads.get());
+    }
+
+
+    @Test
+    public void updateBeforeLoad() {
+        RIndexDictionary dictionary = new RIndexDictionary(() -> Collections.singletonList("dplyr"));
+
+        dictionary.update(Collections.singletonList("tidyr"), Collections.emptyList());
+
+        assertFalse(dictionary.isLoaded());
+        assertNull(dictionary.contains("tidyr"));
+    }
+
+
+    @Test
+    public void update() {
+        RIndexDictionary dictionary = new RIndexDictionary(() -> Arrays.asList("dplyr", "filter", "mutate"));
+        dictionary.getWords();
+
+        dictionary.update(Arrays.asList("tidyr", "gather", "mutate"), Collections.singletonList("filter"));
+
+        assertEquals(Arrays.asList("dplyr", "gather", "mutate", "tidyr"), Arrays.asList(dictionary.getWords().toArray()));
+        assertNull(dictionary.contains("filter"));
+        assertEquals(Boolean.TRUE, dictionary.contains("gather"));
+    }
+}
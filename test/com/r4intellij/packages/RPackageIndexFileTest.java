@@ -0,0 +1,179 @@
+package com.r4intellij.packages;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class RPackageIndexFileTest {
+
+    private File indexFile;
+
+
+    @Before
+    public void setUp() throws IOException {
+        indexFile = Files.createTempFile("r4j_index_", ".bin").toFile();
+        //noinspection ResultOfMethodCallIgnored
+        indexFile.delete();
+    }
+
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        indexFile.delete();
+    }
+
+
+    @Test
+    public void emptyIfMissing() throws IOException {
+        RPackageIndexFile index = RPackageIndexFile.open(indexFile);
+
+        assertTrue(index.isEmpty());
+        assertNull(index.read("dplyr"));
+    }
+
+
+    @Test
+    public void roundTrip() throws IOException {
+        RPackageIndexFile index = RPackageIndexFile.open(indexFile);
+        index.write(Arrays.asList(createPackage("dplyr", "0.7.4"), createPackage("tidyr", "0.8.0")), Collections.emptyList());
+
+        RPackageIndexFile reopened = RPackageIndexFile.open(indexFile);
+        assertEquals(Arrays.asList("dplyr", "tidyr"), reopened.getPackageNames());
+
+        RPackage dplyr = reopened.read("dplyr");
+        assertNotNull(dplyr);
+        assertEquals("0.7.4", dplyr.getVersion());
+        assertEquals("Title of dplyr", dplyr.getTitle());
+        assertEquals(Collections.singleton("R"), dplyr.getDependencies());
+        assertEquals(Collections.singleton("Rcpp"), dplyr.getImports());
+        assertEquals(Arrays.asList("dplyr_fun", "mutate"), dplyr.getFunctionNames());
+        assertEquals("function (x) ", dplyr.getFunction("dplyr_fun").getRawSignature());
+        assertEquals("short desc", dplyr.getFunction("dplyr_fun").getShortDesc());
+        assertNull(dplyr.getFunction("mutate").getShortDesc());
+        assertEquals(Collections.singletonList("dplyr_data"), dplyr.getDataSetNames());
+    }
+
+
+    @Test
+    public void readSymbolsWithoutDecoding() throws IOException {
+        RPackageIndexFile index = RPackageIndexFile.open(indexFile);
+        index.write(Arrays.asList(createPackage("dplyr", "0.7.4"), createPackage("tidyr", "0.8.0")), Collections.emptyList());
+
+        RPackageIndexFile reopened = RPackageIndexFile.open(indexFile);
+        assertEquals(Arrays.asList("dplyr_fun", "mutate", "dplyr_data"), reopened.readSymbols("dplyr"));
+        assertEquals(Arrays.asList("tidyr_fun", "mutate", "tidyr_data"), reopened.readSymbols("tidyr"));
+        assertTrue(reopened.readSymbols("plyr").isEmpty());
+
+        // the symbols are part of the string table which is shared with the other fields
+        assertEquals("0.7.4", reopened.read("dplyr").getVersion());
+    }
+
+
+    @Test
+    public void replaceAndRemove() throws IOException {
+        RPackageIndexFile index = RPackageIndexFile.open(indexFile);
+        index.write(Arrays.asList(createPackage("dplyr", "0.7.4"), createPackage("tidyr", "0.8.0")), Collections.emptyList());
+        index.write(Collections.singletonList(createPackage("dplyr", "0.7.5")), Collections.singletonList("tidyr"));
+
+        assertEquals("0.7.5", index.read("dplyr").getVersion());
+        assertNull(index.read("tidyr"));
+
+        RPackageIndexFile reopened = RPackageIndexFile.open(indexFile);
+        assertEquals(Collections.singletonList("dplyr"), reopened.getPackageNames());
+        assertEquals("0.7.5", reopened.read("dplyr").getVersion());
+    }
+
+
+    @Test
+    public void compactDropsDeadRecords() throws IOException {
+        RPackageIndexFile index = RPackageIndexFile.open(indexFile);
+        index.write(Collections.singletonList(createPackage("dplyr", "0.7.4")), Collections.emptyList());
+        long initialSize = indexFile.length();
+
+        for (int i = 0; i < 10; i++) {
+            index.write(Collections.singletonList(createPackage("dplyr", "0.7." + i)), Collections.emptyList());
+        }
+
+        // the file must not grow with each update since dead records are compacted away
+        assertTrue(indexFile.length() < 3 * initialSize);
+        assertEquals("0.7.9", RPackageIndexFile.open(indexFile).read("dplyr").getVersion());
+    }
+
+
+    @Test
+    public void compactMappedFile() throws IOException {
+        RPackageIndexFile index = RPackageIndexFile.open(indexFile);
+        index.write(Arrays.asList(createPackage("dplyr", "0.7.4"), createPackage("tidyr", "0.8.0")), Collections.emptyList());
+        index.write(Collections.singletonList(createPackage("tidyr", "0.8.1")), Collections.emptyList());
+
+        // decoding maps the file
+        assertEquals("0.7.4", index.read("dplyr").getVersion());
+
+        index.compact();
+
+        assertEquals(Arrays.asList("dplyr", "tidyr"), index.getPackageNames());
+        assertEquals("0.8.1", index.read("tidyr").getVersion());
+        assertFalse(new File(indexFile.getPath() + ".tmp").exists());
+
+        // the mapping of the replaced file must be released, otherwise it can't be deleted on all platforms
+        RPackageIndexFile reopened = RPackageIndexFile.open(indexFile);
+        assertEquals("0.7.4", reopened.read("dplyr").getVersion());
+        reopened.compact();
+
+        Files.delete(indexFile.toPath());
+    }
+
+
+    @Test
+    public void ignoreTruncatedRecord() throws IOException {
+        RPackageIndexFile index = RPackageIndexFile.open(indexFile);
+        index.write(Arrays.asList(createPackage("dplyr", "0.7.4"), createPackage("tidyr", "0.8.0")), Collections.emptyList());
+
+        // simulate a crash while appending the last record
+        try (RandomAccessFile raf = new RandomAccessFile(indexFile, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        RPackageIndexFile reopened = RPackageIndexFile.open(indexFile);
+        assertEquals(Collections.singletonList("dplyr"), reopened.getPackageNames());
+
+        reopened.write(Collections.singletonList(createPackage("tidyr", "0.8.1")), Collections.emptyList());
+        assertEquals("0.8.1", RPackageIndexFile.open(indexFile).read("tidyr").getVersion());
+    }
+
+
+    @Test
+    public void discardUnknownFormat() throws IOException {
+        Files.write(indexFile.toPath(), "not an index at all".getBytes());
+
+        assertTrue(RPackageIndexFile.open(indexFile).isEmpty());
+        assertFalse(indexFile.exists());
+    }
+
+
+    @NotNull
+    private static RPackage createPackage(String name, String version) {
+        RPackage rPackage = new RPackage(name, version, "Title of " + name,
+                Collections.singleton("R"), Collections.singleton("Rcpp"));
+
+        PckgFunction function = new PckgFunction(name + "_fun");
+        function.setRawSignature("function (x) ");
+        function.setShortDesc("short desc");
+
+        rPackage.setFunctions(Arrays.asList(function, new PckgFunction("mutate")));
+        rPackage.setDatSets(Collections.singletonList(new PckgDataSet(name + "_data")));
+
+        return rPackage;
+    }
+}
@@ -0,0 +1,102 @@
+package com.r4intellij.packages;
+
+import com.google.common.base.Strings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class RSkeletonFileInfoTest {
+
+    private static final String PACKAGE_INFO = "\n\n\n## Package Info\n\n" +
+            ".skeleton_package_title = \"A Grammar of Data Manipulation\"\n\n" +
+            ".skeleton_package_version = \"0.7.4\"\n\n" +
+            ".skeleton_package_depends = \"R\"\n\n" +
+            ".skeleton_package_imports = \"Rcpp,rlang\"\n\n" +
+            "\n## Internal\n\n" +
+            ".skeleton_version = 5\n\n" +
+            "\n## EOF";
+
+    private File skeletonFile;
+
+
+    @Before
+    public void setUp() throws IOException {
+        skeletonFile = Files.createTempFile("r4j_skel_", ".R").toFile();
+    }
+
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        skeletonFile.delete();
+    }
+
+
+    @Test
+    public void readSmallSkeleton() throws IOException {
+        writeSkeleton("mutate <- function(x) x\n\n" + PACKAGE_INFO);
+
+        RSkeletonFileInfo info = RSkeletonFileInfo.of(skeletonFile);
+
+        assertTrue(info.isComplete());
+        assertEquals("\"0.7.4\"", info.getProperties().get(".skeleton_package_version"));
+        assertEquals("5", info.getProperties().get(".skeleton_version"));
+    }
+
+
+    @Test
+    public void readLargeSkeletonFromTail() throws IOException {
+        // the package info section does not fit into the initial tail window
+        String longImports = ".skeleton_package_imports = \"" + Strings.repeat("pkg,", RSkeletonFileInfo.INITIAL_TAIL_SIZE) + "\"";
+        String body = Strings.repeat("mutate <- function(x) x\n\n", 100000);
+
+        writeSkeleton(body + PACKAGE_INFO.replace(".skeleton_package_imports = \"Rcpp,rlang\"", longImports));
+
+        RSkeletonFileInfo info = RSkeletonFileInfo.of(skeletonFile);
+
+        assertTrue(info.isComplete());
+        assertEquals("\"A Grammar of Data Manipulation\"", info.getProperties().get(".skeleton_package_title"));
+        assertEquals("5", info.getProperties().get(".skeleton_version"));
+    }
+
+
+    @Test
+    public void detectIncompleteSkeleton() throws IOException {
+        writeSkeleton("mutate <- function(x) x\n\n" + PACKAGE_INFO.replace("## EOF", "") + "\n\nfilter <- function(");
+
+        assertFalse(RSkeletonFileInfo.of(skeletonFile).isComplete());
+    }
+
+
+    @Test
+    public void detectMissingSkeleton() {
+        //noinspection ResultOfMethodCallIgnored
+        skeletonFile.delete();
+
+        RSkeletonFileInfo info = RSkeletonFileInfo.of(skeletonFile);
+
+        assertFalse(info.isComplete());
+        assertTrue(info.getProperties().isEmpty());
+    }
+
+
+    @Test
+    public void rereadModifiedSkeleton() throws IOException {
+        writeSkeleton("mutate <- function(x) x\n\n");
+        assertFalse(RSkeletonFileInfo.of(skeletonFile).isComplete());
+
+        writeSkeleton("mutate <- function(x) x\n\n" + PACKAGE_INFO);
+        assertTrue(RSkeletonFileInfo.of(skeletonFile).isComplete());
+    }
+
+
+    private void writeSkeleton(String content) throws IOException {
+        Files.write(skeletonFile.toPath(), content.getBytes());
+    }
+}
@@ -0,0 +1,113 @@
+package com.r4intellij.packages;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the skeleton helpers with the <code>Rscript</code> found on the path, and is skipped if there is none.
+ */
+public class RSkeletonizeWorkerTest {
+
+    private static final File HELPERS_DIR = new File("r-helpers");
+
+    // both export plot() and summary(), which stats4 defines as S4 generics in its own namespace
+    private static final String[] PACKAGES = {"graphics", "stats4"};
+
+    private File tempDir;
+
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("r4j_skel_").toFile();
+    }
+
+
+    @After
+    public void tearDown() {
+        File[] files = tempDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+
+        //noinspection ResultOfMethodCallIgnored
+        tempDir.delete();
+    }
+
+
+    @Test
+    public void sharedWorkerMatchesFreshSessions() throws Exception {
+        Assume.assumeTrue("Rscript is not available", runRscript("--version") == 0);
+
+        Process worker = new ProcessBuilder("Rscript", helper("skeletonize_worker.R"), helper("skeletonize_package.R"))
+                .redirectErrorStream(true)
+                .redirectOutput(new File(tempDir, "worker.log"))
+                .start();
+
+        try (Writer requests = new OutputStreamWriter(worker.getOutputStream(), StandardCharsets.UTF_8)) {
+            for (String packageName : PACKAGES) {
+                requests.write(packageName + "\t" + skeletonFile(packageName, "worker") + "\n");
+            }
+        }
+
+        assertTrue(worker.waitFor(5, TimeUnit.MINUTES));
+
+        for (String packageName : PACKAGES) {
+            assertEquals(0, runRscript(helper("skeletonize_package.R"), packageName, skeletonFile(packageName, "fresh")));
+
+            assertEquals(packageName, read(skeletonFile(packageName, "fresh")), read(skeletonFile(packageName, "worker")));
+        }
+    }
+
+
+    private int runRscript(@NotNull String... args) throws Exception {
+        String[] command = new String[args.length + 1];
+        command[0] = "Rscript";
+        System.arraycopy(args, 0, command, 1, args.length);
+
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(new File(tempDir, "rscript.log"))
+                    .start();
+
+            return process.waitFor(5, TimeUnit.MINUTES) ? process.exitValue() : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+
+    @NotNull
+    private static String helper(@NotNull String name) {
+        return new File(HELPERS_DIR, name).getAbsolutePath();
+    }
+
+
+    @NotNull
+    private String skeletonFile(@NotNull String packageName, @NotNull String session) {
+        return new File(tempDir, packageName + "." + session + ".skeleton").getAbsolutePath();
+    }
+
+
+    @NotNull
+    private static String read(@NotNull String path) throws IOException {
+        return new String(Files.readAllBytes(new File(path).toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.r4intellij.parser;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.PsiTestUtil;
+import com.r4intellij.RTestCase;
+import com.r4intellij.psi.RBlockElementType;
+import com.r4intellij.psi.api.RBlockExpression;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Edits lazily parsed blocks and checks that the incrementally reparsed tree is the one of a full parse.
+ */
+public class RBlockReparseTest extends RTestCase {
+
+    private static final String SCRIPT = "f <- function(x, n = 10) {\n" +
+            "    if (x > 0) { x <- x - 1 }\n" +
+            "    y <- x<body> * n\n" +
+            "}\n" +
+            "<top>\n" +
+            "g <- function() { f(1) }\n";
+
+
+    public void testTypeInFunctionBody() {
+        configure("<body>", "<top>");
+
+        type(" + 1");
+
+        RBlockExpression block = getFunctionBody();
+        assertTrue(RBlockElementType.isBalancedBlock(block.getText()));
+        assertTrue(block.getText().contains("y <- x + 1 * n"));
+
+        checkFileStructure(false);
+    }
+
+
+    public void testTypeAtTopLevel() {
+        configure("<top>", "<body>");
+
+        type("h <- function(z) { z }");
+
+        checkFileStructure(false);
+    }
+
+
+    public void testUnbalanceBlock() {
+        configure("<body>", "<top>");
+
+        // the block isn't parsable on its own anymore, so the file is parsed again
+        type(" + { 1");
+
+        assertFalse(RBlockElementType.isBalancedBlock(getFunctionBody().getText()));
+
+        checkFileStructure(true);
+    }
+
+
+    private void configure(@NotNull String caretMarker, @NotNull String otherMarker) {
+        PsiFile file = myFixture.configureByText("a.R", SCRIPT.replace(caretMarker, "<caret>").replace(otherMarker, ""));
+
+        // expand all blocks, as they would be after the first highlighting pass
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+        });
+    }
+
+
+    // inserted into the document directly, so that no closing braces are added on typing
+    private void type(@NotNull String text) {
+        Editor editor = myFixture.getEditor();
+
+        WriteCommandAction.runWriteCommandAction(myFixture.getProject(), () -> {
+            editor.getDocument().insertString(editor.getCaretModel().getOffset(), text);
+            PsiDocumentManager.getInstance(myFixture.getProject()).commitDocument(editor.getDocument());
+        });
+    }
+
+
+    @NotNull
+    private RBlockExpression getFunctionBody() {
+        RBlockExpression block = PsiTreeUtil.findChildOfType(myFixture.getFile(), RBlockExpression.class);
+        assertNotNull(block);
+
+        return block;
+    }
+
+
+    private void checkFileStructure(boolean hasErrors) {
+        PsiFile file = myFixture.getFile();
+
+        // compares the reparsed tree with the one of a full parse of the file text
+        PsiTestUtil.checkFileStructure(file);
+
+        assertEquals(hasErrors, PsiTreeUtil.hasErrorElements(file));
+    }
+}
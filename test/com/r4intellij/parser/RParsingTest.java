@@ -3,6 +3,7 @@ package com.r4intellij.parser;
 import com.intellij.testFramework.ParsingTestCase;
 import com.intellij.testFramework.TestDataPath;
 import com.r4intellij.parsing.RParserDefinition;
+import com.r4intellij.psi.RBlockElementType;
 
 @TestDataPath("/testData/psi/")
 public class RParsingTest extends ParsingTestCase {
@@ -273,6 +274,14 @@ public class RParsingTest extends ParsingTestCase {
     }
 
 
+    public void testBalancedBlock() {
+        assertTrue(RBlockElementType.isBalancedBlock("{\n  x <- \"}\" # }\n  { y }\n}"));
+        assertFalse(RBlockElementType.isBalancedBlock("{ x } + 1"));
+        assertFalse(RBlockElementType.isBalancedBlock("{ x <- { 1 }"));
+        assertFalse(RBlockElementType.isBalancedBlock(" { x }"));
+    }
+
+
     public void doTest() {
         doTest(true);
     }
@@ -251,6 +251,43 @@ public class RResolvingSessionImplTest extends PlatformTestCase {
     }
 
 
+    public void testNext_Recursion() throws IOException {
+        final String text = "f <- function(x) {\n" +
+                "    if (x > 0) f(x - 1)\n" +
+                "}\n" +
+                "f(100)";
+
+        final VirtualFile virtualFile = createVirtualFile(text);
+        final RResolvingSessionImpl resolvingSession = new RResolvingSessionImpl(getProject(), virtualFile);
+
+        checkPosition(
+                resolvingSession.resolveNext(
+                        new RLocation(MAIN_FUNCTION_NAME, 4)
+                ),
+                virtualFile,
+                3
+        );
+
+        for (int i = 0; i < 100; i++) {
+            checkPosition(
+                    resolvingSession.resolveNext(
+                            new RLocation("f", 2)
+                    ),
+                    virtualFile,
+                    1
+            );
+        }
+
+        resolvingSession.dropLast(100);
+
+        checkPosition(
+                resolvingSession.resolveCurrent(4),
+                virtualFile,
+                3
+        );
+    }
+
+
     public void testCurrent() throws IOException {
         final String text = "print(\"1\")\n" +
                 "print(\"2\")";
@@ -9,7 +9,6 @@ import com.r4intellij.debugger.data.RLocation;
 import com.r4intellij.debugger.exception.RDebuggerException;
 import com.r4intellij.debugger.frame.RStackFrame;
 import com.r4intellij.debugger.frame.RVar;
-import com.r4intellij.debugger.frame.RVarsLoader;
 import com.r4intellij.debugger.mock.IllegalRDebuggerEvaluator;
 import com.r4intellij.debugger.mock.IllegalRValueModifier;
 import com.r4intellij.debugger.mock.IllegalRVarsLoader;
@@ -148,7 +147,7 @@ public class RXStackFrameTest {
     }
 
 
-    private static class OrdinaryRVarsLoader implements RVarsLoader {
+    private static class OrdinaryRVarsLoader extends IllegalRVarsLoader {
 
         private int myCounter = 0;
 
@@ -187,7 +186,7 @@ public class RXStackFrameTest {
     }
 
 
-    private static class ErrorRVarsLoader implements RVarsLoader {
+    private static class ErrorRVarsLoader extends IllegalRVarsLoader {
 
         private int myCounter = 0;
 